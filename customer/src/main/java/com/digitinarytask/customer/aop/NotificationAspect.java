@@ -1,12 +1,14 @@
 package com.digitinarytask.customer.aop;
 
+import com.digitinarytask.customer.service.OutboxService;
 import com.digitinarytask.shared.annotation.Notifiable;
 import com.digitinarytask.shared.event.NotificationEvent;
 import lombok.RequiredArgsConstructor;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Method;
@@ -14,12 +16,19 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.UUID;
 
+/**
+ * Writes a notification event to the outbox for every {@link Notifiable} method that returns a result.
+ * <p>
+ * Runs inside the transaction of the annotated method (see {@code DatabaseConfig}), so the event
+ * is only published if that transaction commits.
+ */
 @Aspect
 @Component
+@Order(Ordered.LOWEST_PRECEDENCE)
 @RequiredArgsConstructor
 public class NotificationAspect {
 
-    private final KafkaTemplate<String, NotificationEvent> kafkaTemplate;
+    private final OutboxService outboxService;
 
     @Around("@annotation(notifiable)")
     public Object handleNotification(ProceedingJoinPoint joinPoint, Notifiable notifiable) throws Throwable {
@@ -40,7 +49,7 @@ public class NotificationAspect {
                 .timestamp(LocalDateTime.now())
                 .build();
 
-            kafkaTemplate.send("notification", event);
+            outboxService.enqueue(event);
         }
 
         return result;
@@ -0,0 +1,157 @@
+package com.digitinarytask.customer.cache;
+
+import com.digitinarytask.customer.config.CacheTuningProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resizes the caches by hill climbing on the hit ratio of each interval, within a shared heap budget.
+ * <ul>
+ *     <li>A cache that is full and still evicting grows by one step, the caches with the most misses first.
+ *     Caffeine counts expirations as evictions too, so a cache below its maximum never grows.</li>
+ *     <li>A growth step is undone if the next interval's hit ratio did not rise by at least
+ *     {@code min-hit-ratio-gain}: the curve is flat there and the extra entries are not worth their heap.</li>
+ *     <li>A cache holding far fewer entries than its maximum shrinks, returning budget to the others.</li>
+ * </ul>
+ * A cache whose step was undone probes again on a later interval, which picks up changes in the workload.
+ * Manual changes through the {@code cachetuning} endpoint are taken as the new starting point.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "cache.auto-tune.enabled", havingValue = "true")
+public class CacheAutoTuner {
+    /**
+     * Intervals with fewer requests than this say too little about the hit ratio to act on.
+     */
+    private static final long MIN_REQUESTS = 100;
+
+    private final CacheTuner cacheTuner;
+    private final CacheTuningProperties properties;
+
+    private final Map<String, Sample> previous = new HashMap<>();
+
+
+    @Scheduled(fixedDelayString = "${cache.auto-tune.interval-ms}", initialDelayString = "${cache.auto-tune.interval-ms}")
+    public synchronized void tune() {
+        CacheTuningProperties.AutoTune settings = properties.getAutoTune();
+        List<Candidate> candidates = new ArrayList<>();
+        long usedBytes = 0;
+
+        for (Map.Entry<String, CacheTuningProperties.Spec> entry : properties.getCaches().entrySet()) {
+            String cacheName = entry.getKey();
+            Cache<Object, Object> cache = cacheTuner.nativeCache(cacheName).orElse(null);
+            Policy.Eviction<Object, Object> eviction = cache == null ? null : cache.policy().eviction().orElse(null);
+            if (eviction == null) {
+                continue;
+            }
+
+            long entryBytes = entry.getValue().getEstimatedEntrySize().toBytes();
+            long maximumSize = eviction.getMaximum();
+            CacheStats stats = cache.stats();
+            Sample last = previous.get(cacheName);
+            Candidate candidate = new Candidate(cacheName, entryBytes, maximumSize, cache.estimatedSize(),
+                last == null ? null : stats.minus(last.stats()), last);
+
+            candidates.add(candidate);
+            usedBytes += maximumSize * entryBytes;
+            previous.put(cacheName, new Sample(stats, maximumSize, Double.NaN, Action.NONE));
+        }
+
+        // Shrinking first frees budget for the caches that want to grow
+        for (Candidate candidate : candidates) {
+            if (candidate.interval() == null || candidate.interval().requestCount() < MIN_REQUESTS) {
+                continue;
+            }
+            long target = shrinkTarget(candidate, settings);
+            if (target < candidate.maximumSize()) {
+                usedBytes -= (candidate.maximumSize() - target) * candidate.entryBytes();
+                resize(candidate, target, Action.SHRUNK);
+            } else {
+                record(candidate, candidate.maximumSize(), Action.NONE);
+            }
+        }
+
+        long budget = settings.getHeapBudget().toBytes();
+        List<Candidate> growing = candidates.stream()
+            .filter(this::wantsToGrow)
+            .sorted(Comparator.comparingLong((Candidate candidate) -> candidate.interval().missCount()).reversed())
+            .toList();
+        for (Candidate candidate : growing) {
+            long target = (long) Math.ceil(candidate.maximumSize() * settings.getStep());
+            long extraBytes = (target - candidate.maximumSize()) * candidate.entryBytes();
+            if (usedBytes + extraBytes > budget) {
+                log.debug("Not growing cache {}: heap budget of {} reached", candidate.cacheName(), settings.getHeapBudget());
+                continue;
+            }
+            usedBytes += extraBytes;
+            resize(candidate, target, Action.GREW);
+        }
+    }
+
+    /**
+     * The size to shrink to, or the current size if the cache should keep it.
+     */
+    private long shrinkTarget(Candidate candidate, CacheTuningProperties.AutoTune settings) {
+        Sample last = candidate.last();
+        double hitRatio = candidate.interval().hitRate();
+        long maximumSize = candidate.maximumSize();
+
+        // The last growth step did not pay off
+        if (last.action() == Action.GREW && maximumSize == last.maximumSize()
+            && hitRatio - last.hitRatio() < settings.getMinHitRatioGain()) {
+            return Math.max(settings.getMinimumSize(), (long) Math.floor(maximumSize / settings.getStep()));
+        }
+
+        // Far from full, even with a step of headroom. Evictions are not checked: Caffeine counts
+        // expired entries as evicted too, and a cache this empty is not evicting for size
+        double headroom = settings.getStep() * settings.getStep();
+        if (candidate.estimatedSize() * headroom < maximumSize) {
+            return Math.max(settings.getMinimumSize(), (long) Math.ceil(candidate.estimatedSize() * settings.getStep()));
+        }
+        return maximumSize;
+    }
+
+    private boolean wantsToGrow(Candidate candidate) {
+        CacheStats interval = candidate.interval();
+        // Only a full cache evicts for size; evictions of a cache below its maximum are expirations
+        return interval != null
+            && interval.requestCount() >= MIN_REQUESTS
+            && interval.evictionCount() > 0
+            && candidate.estimatedSize() >= candidate.maximumSize()
+            && previous.get(candidate.cacheName()).action() == Action.NONE;
+    }
+
+    private void resize(Candidate candidate, long target, Action action) {
+        cacheTuner.tune(candidate.cacheName(), target, null);
+        record(candidate, target, action);
+        log.info("Auto-tuned cache {} from {} to {} entries (hit ratio {})",
+            candidate.cacheName(), candidate.maximumSize(), target, candidate.interval().hitRate());
+    }
+
+    private void record(Candidate candidate, long maximumSize, Action action) {
+        previous.computeIfPresent(candidate.cacheName(), (name, sample) ->
+            new Sample(sample.stats(), maximumSize, candidate.interval().hitRate(), action));
+    }
+
+    private enum Action { NONE, GREW, SHRUNK }
+
+    private record Sample(CacheStats stats, long maximumSize, double hitRatio, Action action) {
+    }
+
+    private record Candidate(String cacheName, long entryBytes, long maximumSize, long estimatedSize,
+                             CacheStats interval, Sample last) {
+    }
+}
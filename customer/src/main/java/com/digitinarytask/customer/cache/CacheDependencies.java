@@ -0,0 +1,53 @@
+package com.digitinarytask.customer.cache;
+
+import com.digitinarytask.customer.dto.domain.AccountDTO;
+import com.digitinarytask.customer.dto.domain.AddressDTO;
+import com.digitinarytask.customer.dto.domain.CustomerDTO;
+import com.digitinarytask.customer.dto.domain.OrganizationCustomerDTO;
+import com.digitinarytask.customer.dto.domain.OrganizationDTO;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Works out which entities a cached value was built from.
+ * <p>
+ * A customer depends on itself and on every account, address and organization it carries, so a
+ * change to any of them evicts it. Collections and pages depend on everything they hold.
+ */
+public final class CacheDependencies {
+
+    private CacheDependencies() {
+    }
+
+    public static Set<EntityRef> of(Object value) {
+        Set<EntityRef> refs = new HashSet<>();
+        collect(value, refs);
+        return refs;
+    }
+
+    private static void collect(Object value, Set<EntityRef> refs) {
+        if (value instanceof Iterable<?> values) {
+            values.forEach(element -> collect(element, refs));
+        } else if (value instanceof CustomerDTO customer) {
+            add(refs, EntityRef.CUSTOMER, customer.getId());
+            collect(customer.getAccounts(), refs);
+            collect(customer.getAddresses(), refs);
+            if (customer instanceof OrganizationCustomerDTO organizationCustomer) {
+                collect(organizationCustomer.getOrganization(), refs);
+            }
+        } else if (value instanceof AccountDTO account) {
+            add(refs, EntityRef.ACCOUNT, account.getId());
+        } else if (value instanceof AddressDTO address) {
+            add(refs, EntityRef.ADDRESS, address.getId());
+        } else if (value instanceof OrganizationDTO organization) {
+            add(refs, EntityRef.ORGANIZATION, organization.getId());
+        }
+    }
+
+    private static void add(Set<EntityRef> refs, String type, Long id) {
+        if (id != null) {
+            refs.add(new EntityRef(type, id));
+        }
+    }
+}
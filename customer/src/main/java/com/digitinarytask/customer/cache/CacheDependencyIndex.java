@@ -0,0 +1,120 @@
+package com.digitinarytask.customer.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records which cache entries depend on which entities, in both directions, so the entries built
+ * from an entity can be found without scanning the caches.
+ * <p>
+ * It also remembers the version each entity was last invalidated at for a while, so a value loaded
+ * before an invalidation can be recognised when it is stored after it.
+ */
+public class CacheDependencyIndex {
+    private static final Duration DEFAULT_TOMBSTONE_RETENTION = Duration.ofMinutes(1);
+
+    /**
+     * A single entry of a named cache.
+     */
+    public record CachedEntry(String cacheName, Object key) {
+    }
+
+    private final ConcurrentHashMap<EntityRef, Set<CachedEntry>> dependents = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<CachedEntry, Set<EntityRef>> dependencies = new ConcurrentHashMap<>();
+    private final Cache<EntityRef, Long> invalidatedAt;
+
+    public CacheDependencyIndex() {
+        this(DEFAULT_TOMBSTONE_RETENTION);
+    }
+
+    /**
+     * @param tombstoneRetention how long invalidation versions are remembered; loads that take longer
+     *                           than this are not checked against them
+     */
+    public CacheDependencyIndex(Duration tombstoneRetention) {
+        this.invalidatedAt = Caffeine.newBuilder()
+            .expireAfterWrite(tombstoneRetention)
+            .build();
+    }
+
+    /**
+     * Records the entities an entry was built from, replacing what was recorded for it before.
+     */
+    public void record(CachedEntry entry, Set<EntityRef> refs) {
+        forget(entry);
+        dependencies.put(entry, refs);
+        for (EntityRef ref : refs) {
+            dependents.compute(ref, (key, entries) -> {
+                Set<CachedEntry> updated = entries != null ? entries : ConcurrentHashMap.newKeySet();
+                updated.add(entry);
+                return updated;
+            });
+        }
+    }
+
+    /**
+     * Drops everything recorded for an entry.
+     */
+    public void forget(CachedEntry entry) {
+        Set<EntityRef> refs = dependencies.remove(entry);
+        if (refs == null) {
+            return;
+        }
+        for (EntityRef ref : refs) {
+            dependents.computeIfPresent(ref, (key, entries) -> {
+                entries.remove(entry);
+                return entries.isEmpty() ? null : entries;
+            });
+        }
+    }
+
+    /**
+     * Drops everything recorded for the entries of a cache.
+     */
+    public void forgetCache(String cacheName) {
+        dependencies.keySet().stream()
+            .filter(entry -> entry.cacheName().equals(cacheName))
+            .toList()
+            .forEach(this::forget);
+    }
+
+    /**
+     * Remembers that the given entities were invalidated at a version. Versions only move forward, so
+     * an invalidation that arrives late cannot make an entity look older than it is.
+     */
+    public void markInvalidated(Collection<EntityRef> refs, long version) {
+        for (EntityRef ref : refs) {
+            invalidatedAt.asMap().merge(ref, version, Math::max);
+        }
+    }
+
+    /**
+     * Whether any of the given entities was invalidated after the given version.
+     */
+    public boolean invalidatedSince(Collection<EntityRef> refs, long version) {
+        for (EntityRef ref : refs) {
+            Long invalidated = invalidatedAt.getIfPresent(ref);
+            if (invalidated != null && invalidated > version) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the entries that depend on any of the given entities.
+     */
+    public Set<CachedEntry> dependentsOf(Collection<EntityRef> refs) {
+        Set<CachedEntry> entries = new HashSet<>();
+        for (EntityRef ref : refs) {
+            entries.addAll(dependents.getOrDefault(ref, Set.of()));
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,48 @@
+package com.digitinarytask.customer.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * An invalidation broadcast to the other instances: which entities changed, on which instance, and
+ * the {@link HybridLogicalClock} version it was stamped with there.
+ * <p>
+ * On the wire it is a single line such as {@code 3f2a...;112233445566;ACCOUNT:10,CUSTOMER:*}, where
+ * {@code *} stands for the membership of a type.
+ */
+public record CacheInvalidation(String origin, long version, List<EntityRef> refs) {
+    private static final String MEMBERSHIP = "*";
+
+    public String encode() {
+        StringJoiner joiner = new StringJoiner(",", origin + ";" + version + ";", "");
+        for (EntityRef ref : refs) {
+            joiner.add(ref.type() + ":" + (ref.id() != null ? ref.id() : MEMBERSHIP));
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the message is malformed
+     */
+    public static CacheInvalidation decode(String message) {
+        String[] parts = message.split(";", 3);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed cache invalidation: " + message);
+        }
+
+        List<EntityRef> refs = new ArrayList<>();
+        for (String ref : parts[2].split(",")) {
+            if (ref.isEmpty()) {
+                continue;
+            }
+            int separator = ref.lastIndexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Malformed entity in cache invalidation: " + ref);
+            }
+            String id = ref.substring(separator + 1);
+            refs.add(new EntityRef(ref.substring(0, separator), MEMBERSHIP.equals(id) ? null : Long.valueOf(id)));
+        }
+        return new CacheInvalidation(parts[0], Long.parseLong(parts[1]), refs);
+    }
+}
@@ -0,0 +1,72 @@
+package com.digitinarytask.customer.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Evicts the cache entries built from entities a write changed, on this instance and, through the
+ * {@link InvalidationBus}, on every other one.
+ * <p>
+ * Services call this instead of clearing whole caches. Inside a transaction the eviction waits for
+ * the commit, so a concurrent read cannot cache the old state again in between.
+ */
+@Component
+@Slf4j
+public class CacheInvalidator {
+    private final CacheManager cacheManager;
+    private final InvalidationBus invalidationBus;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public CacheInvalidator(CacheManager cacheManager, InvalidationBus invalidationBus) {
+        this.cacheManager = cacheManager;
+        this.invalidationBus = invalidationBus;
+        invalidationBus.subscribe(this::receive);
+    }
+
+
+    public void invalidate(EntityRef... refs) {
+        invalidate(List.of(refs));
+    }
+
+    public void invalidate(Collection<EntityRef> refs) {
+        if (refs.isEmpty() || !(cacheManager instanceof DependencyTrackingCacheManager tracking)) {
+            return;
+        }
+
+        List<EntityRef> changed = List.copyOf(refs);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(tracking, changed);
+                }
+            });
+        } else {
+            evict(tracking, changed);
+        }
+    }
+
+    private void evict(DependencyTrackingCacheManager tracking, List<EntityRef> refs) {
+        log.debug("Evicting cache entries that depend on {}", refs);
+        long version = tracking.evictDependents(refs);
+        invalidationBus.publish(new CacheInvalidation(instanceId, version, refs));
+    }
+
+    private void receive(CacheInvalidation invalidation) {
+        if (instanceId.equals(invalidation.origin())
+            || !(cacheManager instanceof DependencyTrackingCacheManager tracking)) {
+            return;
+        }
+
+        log.debug("Evicting cache entries that depend on {} after a change on {}",
+            invalidation.refs(), invalidation.origin());
+        tracking.applyRemote(invalidation.refs(), invalidation.version());
+    }
+}
@@ -0,0 +1,19 @@
+package com.digitinarytask.customer.cache;
+
+/**
+ * Current settings and cumulative statistics of one cache.
+ *
+ * @param expireAfterWrite ISO-8601 duration, or null if entries do not expire
+ */
+public record CacheReport(
+    String name,
+    long estimatedSize,
+    Long maximumSize,
+    String expireAfterWrite,
+    long hitCount,
+    long missCount,
+    double hitRatio,
+    long evictionCount,
+    double averageLoadPenaltyMillis
+) {
+}
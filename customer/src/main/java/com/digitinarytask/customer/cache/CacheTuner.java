@@ -0,0 +1,81 @@
+package com.digitinarytask.customer.cache;
+
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reads and changes the size and TTL of the Caffeine caches at runtime, without a restart.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class CacheTuner {
+    private final CacheManager cacheManager;
+
+
+    public List<CacheReport> report() {
+        return cacheManager.getCacheNames().stream()
+            .sorted()
+            .map(this::report)
+            .flatMap(Optional::stream)
+            .toList();
+    }
+
+    public Optional<CacheReport> report(String cacheName) {
+        return nativeCache(cacheName).map(cache -> {
+            CacheStats stats = cache.stats();
+            return new CacheReport(
+                cacheName,
+                cache.estimatedSize(),
+                cache.policy().eviction().map(Policy.Eviction::getMaximum).orElse(null),
+                cache.policy().expireAfterWrite().map(expiration -> expiration.getExpiresAfter().toString()).orElse(null),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount(),
+                stats.averageLoadPenalty() / 1_000_000.0);
+        });
+    }
+
+    /**
+     * Changes the maximum size and/or TTL of a cache. Shrinking evicts the excess entries right away.
+     *
+     * @return the cache's report after the change, or empty if there is no such cache
+     */
+    public Optional<CacheReport> tune(String cacheName, Long maximumSize, Duration expireAfterWrite) {
+        Optional<com.github.benmanes.caffeine.cache.Cache<Object, Object>> cache = nativeCache(cacheName);
+        if (cache.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Policy<Object, Object> policy = cache.get().policy();
+        if (maximumSize != null) {
+            policy.eviction().ifPresent(eviction -> eviction.setMaximum(maximumSize));
+        }
+        if (expireAfterWrite != null) {
+            policy.expireAfterWrite().ifPresent(expiration -> expiration.setExpiresAfter(expireAfterWrite));
+        }
+        log.info("Tuned cache {}: maximumSize={}, expireAfterWrite={}", cacheName, maximumSize, expireAfterWrite);
+        return report(cacheName);
+    }
+
+    /**
+     * The Caffeine cache behind a Spring cache, or empty if the name is unknown or not Caffeine backed.
+     */
+    @SuppressWarnings("unchecked")
+    Optional<com.github.benmanes.caffeine.cache.Cache<Object, Object>> nativeCache(String cacheName) {
+        org.springframework.cache.Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null || !(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?>)) {
+            return Optional.empty();
+        }
+        return Optional.of((com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache.getNativeCache());
+    }
+}
@@ -0,0 +1,47 @@
+package com.digitinarytask.customer.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * {@code /actuator/cachetuning}: statistics of every cache, and a write operation to resize a cache or
+ * change its TTL at runtime.
+ */
+@Component
+@Endpoint(id = "cachetuning")
+@RequiredArgsConstructor
+public class CacheTuningEndpoint {
+    private final CacheTuner cacheTuner;
+
+
+    @ReadOperation
+    public List<CacheReport> caches() {
+        return cacheTuner.report();
+    }
+
+    @ReadOperation
+    public CacheReport cache(@Selector String name) {
+        return cacheTuner.report(name).orElse(null);
+    }
+
+    @WriteOperation
+    public CacheReport tune(@Selector String name, @Nullable Long maximumSize, @Nullable Duration expireAfterWrite) {
+        if (maximumSize != null && maximumSize < 0) {
+            throw new InvalidEndpointRequestException("maximumSize must not be negative", "Invalid maximumSize");
+        }
+        if (expireAfterWrite != null && expireAfterWrite.isNegative()) {
+            throw new InvalidEndpointRequestException("expireAfterWrite must not be negative", "Invalid expireAfterWrite");
+        }
+        return cacheTuner.tune(name, maximumSize, expireAfterWrite)
+            .orElseThrow(() -> new InvalidEndpointRequestException("No cache named " + name, "Unknown cache"));
+    }
+}
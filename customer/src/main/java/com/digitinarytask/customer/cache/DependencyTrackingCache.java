@@ -0,0 +1,211 @@
+package com.digitinarytask.customer.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Cache decorator that records the entities every stored value depends on in a
+ * {@link CacheDependencyIndex}, and drops the record again when the entry is evicted.
+ * <p>
+ * A miss notes the clock before the value is loaded. When the loaded value is stored, it is evicted
+ * again if any entity it depends on was invalidated in the meantime, since it may have been read
+ * before the change. The entry is recorded before the check, so an invalidation racing the store
+ * either sees the entry or is seen by the check.
+ * <p>
+ * With refresh-ahead, a hit through {@link #get(Object, Callable)} on an entry older than the refresh
+ * age reloads it in the background, at most once per key at a time, so hot entries are replaced
+ * before they expire instead of all their readers missing at once.
+ */
+@Slf4j
+public class DependencyTrackingCache implements Cache {
+    private final Cache delegate;
+    private final CacheDependencyIndex index;
+    private final HybridLogicalClock clock;
+    private final Set<EntityRef> membership;
+    private final ThreadLocal<PendingLoad> pendingLoad = new ThreadLocal<>();
+    private final Duration refreshAhead;
+    private final Executor refreshExecutor;
+    private final Set<Object> refreshing = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The last miss on this thread. A miss is followed by a put of the same key once the value is
+     * loaded, unless loading fails; only the last one is kept so failed loads cannot pile up.
+     */
+    private record PendingLoad(Object key, long startedAt) {
+    }
+
+    /**
+     * @param membership entity types whose membership every entry depends on, for caches of pages or
+     *                   query results
+     */
+    public DependencyTrackingCache(Cache delegate, CacheDependencyIndex index, HybridLogicalClock clock,
+                                   Set<String> membership) {
+        this(delegate, index, clock, membership, null, null);
+    }
+
+    /**
+     * @param refreshAhead    age at which a read reloads the entry in the background, or null to disable
+     * @param refreshExecutor runs the background reloads
+     */
+    public DependencyTrackingCache(Cache delegate, CacheDependencyIndex index, HybridLogicalClock clock,
+                                   Set<String> membership, Duration refreshAhead, Executor refreshExecutor) {
+        this.delegate = delegate;
+        this.index = index;
+        this.clock = clock;
+        this.membership = new HashSet<>();
+        membership.forEach(type -> this.membership.add(EntityRef.membership(type)));
+        this.refreshAhead = refreshExecutor == null ? null : refreshAhead;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper value = delegate.get(key);
+        if (value == null) {
+            pendingLoad.set(new PendingLoad(key, clock.now()));
+        }
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    /**
+     * Returns the cached value or loads it. Loads of the same key are coalesced by the underlying cache:
+     * one caller runs the loader and the others wait for its value.
+     */
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        long startedAt = clock.now();
+        Set<EntityRef> loaded = new HashSet<>();
+        boolean[] missed = {false};
+        T result = delegate.get(key, () -> {
+            missed[0] = true;
+            T value = valueLoader.call();
+            loaded.addAll(track(key, value));
+            return value;
+        });
+        if (missed[0]) {
+            evictIfInvalidatedSince(key, loaded, startedAt);
+        } else {
+            refreshIfDue(key, valueLoader);
+        }
+        return result;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        PendingLoad load = pendingLoad.get();
+        pendingLoad.remove();
+        delegate.put(key, value);
+        Set<EntityRef> refs = track(key, value);
+        if (load != null && load.key().equals(key)) {
+            evictIfInvalidatedSince(key, refs, load.startedAt());
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null) {
+            track(key, value);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        index.forget(new CacheDependencyIndex.CachedEntry(getName(), key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = delegate.evictIfPresent(key);
+        index.forget(new CacheDependencyIndex.CachedEntry(getName(), key));
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        index.forgetCache(getName());
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = delegate.invalidate();
+        index.forgetCache(getName());
+        return invalidated;
+    }
+
+    private Set<EntityRef> track(Object key, Object value) {
+        Set<EntityRef> refs = CacheDependencies.of(value);
+        refs.addAll(membership);
+        index.record(new CacheDependencyIndex.CachedEntry(getName(), key), refs);
+        return refs;
+    }
+
+    private void refreshIfDue(Object key, Callable<?> valueLoader) {
+        if (refreshAhead == null || !isOlderThan(key, refreshAhead) || !refreshing.add(key)) {
+            return;
+        }
+
+        long startedAt = clock.now();
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    Object value = valueLoader.call();
+                    delegate.put(key, value);
+                    evictIfInvalidatedSince(key, track(key, value), startedAt);
+                } catch (Exception e) {
+                    // The entry stays until it expires and is then loaded by a reader
+                    log.warn("Failed to refresh {} entry {}: {}", getName(), key, e.getMessage());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+            log.debug("Skipped refreshing {} entry {}: refresh executor is busy", getName(), key);
+        }
+    }
+
+    private boolean isOlderThan(Object key, Duration age) {
+        if (!(getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache)) {
+            return false;
+        }
+        @SuppressWarnings("unchecked")
+        com.github.benmanes.caffeine.cache.Cache<Object, ?> cache = (com.github.benmanes.caffeine.cache.Cache<Object, ?>) nativeCache;
+        return cache.policy().expireAfterWrite()
+            .flatMap(expiration -> expiration.ageOf(key))
+            .map(entryAge -> entryAge.compareTo(age) >= 0)
+            .orElse(false);
+    }
+
+    private void evictIfInvalidatedSince(Object key, Set<EntityRef> refs, long startedAt) {
+        if (index.invalidatedSince(refs, startedAt)) {
+            evict(key);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.digitinarytask.customer.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Cache manager decorator that hands out {@link DependencyTrackingCache}s, so entries can be evicted
+ * by the entities they were built from instead of clearing whole caches.
+ * <p>
+ * Every eviction is stamped with a {@link HybridLogicalClock} version, which also orders it against
+ * invalidations received from other instances.
+ */
+public class DependencyTrackingCacheManager implements CacheManager {
+    private final CacheManager delegate;
+    private final CacheDependencyIndex index;
+    private final HybridLogicalClock clock = new HybridLogicalClock();
+    private final Map<String, Set<String>> membership;
+    private final ConcurrentHashMap<String, Cache> caches = new ConcurrentHashMap<>();
+    private Map<String, Duration> refreshAhead = Map.of();
+    private Executor refreshExecutor;
+
+    /**
+     * @param membership entity types whose membership the entries of a cache depend on, by cache name
+     */
+    public DependencyTrackingCacheManager(CacheManager delegate, CacheDependencyIndex index,
+                                          Map<String, Set<String>> membership) {
+        this.delegate = delegate;
+        this.index = index;
+        this.membership = membership;
+    }
+
+    /**
+     * Enables refresh-ahead for the given caches. Must be called before the caches are first used.
+     *
+     * @param refreshAhead age at which a read reloads an entry in the background, by cache name
+     */
+    public void setRefreshAhead(Map<String, Duration> refreshAhead, Executor refreshExecutor) {
+        this.refreshAhead = refreshAhead;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+
+        Cache target = delegate.getCache(name);
+        if (target == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, key ->
+            new DependencyTrackingCache(target, index, clock, membership.getOrDefault(name, Set.of()),
+                refreshAhead.get(name), refreshExecutor));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    /**
+     * Evicts every entry that depends on any of the given entities.
+     *
+     * @return the version the invalidation was stamped with
+     */
+    public long evictDependents(Collection<EntityRef> refs) {
+        long version = clock.now();
+        evict(refs, version);
+        return version;
+    }
+
+    /**
+     * Applies an invalidation made on another instance at the given version of its clock.
+     */
+    public void applyRemote(Collection<EntityRef> refs, long remoteVersion) {
+        evict(refs, clock.receive(remoteVersion));
+    }
+
+    private void evict(Collection<EntityRef> refs, long version) {
+        index.markInvalidated(refs, version);
+        for (CacheDependencyIndex.CachedEntry entry : index.dependentsOf(refs)) {
+            Cache cache = getCache(entry.cacheName());
+            if (cache != null) {
+                cache.evict(entry.key());
+            }
+        }
+    }
+}
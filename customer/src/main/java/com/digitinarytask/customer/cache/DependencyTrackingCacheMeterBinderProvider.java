@@ -0,0 +1,24 @@
+package com.digitinarytask.customer.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+
+/**
+ * Exposes the hit, miss, eviction and load-time statistics of the Caffeine caches behind
+ * {@link DependencyTrackingCache}s, which the built-in Caffeine binder does not recognise.
+ */
+public class DependencyTrackingCacheMeterBinderProvider implements CacheMeterBinderProvider<DependencyTrackingCache> {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public MeterBinder getMeterBinder(DependencyTrackingCache cache, Iterable<Tag> tags) {
+        if (!(cache.getNativeCache() instanceof Cache<?, ?>)) {
+            return null;
+        }
+        Cache<Object, Object> nativeCache = (Cache<Object, Object>) cache.getNativeCache();
+        return new CaffeineCacheMetrics<>(nativeCache, cache.getName(), tags);
+    }
+}
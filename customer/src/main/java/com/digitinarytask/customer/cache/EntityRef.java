@@ -0,0 +1,48 @@
+package com.digitinarytask.customer.cache;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * An entity that cached values can depend on.
+ * <p>
+ * A ref without an ID stands for the membership of a whole type. Paged results depend on it, since
+ * creating or deleting any entity of that type can shift which entities a page holds.
+ */
+public record EntityRef(String type, Long id) {
+    public static final String ACCOUNT = "ACCOUNT";
+    public static final String ADDRESS = "ADDRESS";
+    public static final String CUSTOMER = "CUSTOMER";
+    public static final String ORGANIZATION = "ORGANIZATION";
+
+    public static EntityRef account(Long id) {
+        return new EntityRef(ACCOUNT, id);
+    }
+
+    public static EntityRef address(Long id) {
+        return new EntityRef(ADDRESS, id);
+    }
+
+    public static EntityRef customer(Long id) {
+        return new EntityRef(CUSTOMER, id);
+    }
+
+    public static EntityRef organization(Long id) {
+        return new EntityRef(ORGANIZATION, id);
+    }
+
+    /**
+     * The membership of a type, changed by every create and delete of an entity of that type.
+     */
+    public static EntityRef membership(String type) {
+        return new EntityRef(type, null);
+    }
+
+    public static List<EntityRef> accounts(Collection<Long> ids) {
+        return ids.stream().map(EntityRef::account).toList();
+    }
+
+    public static List<EntityRef> addresses(Collection<Long> ids) {
+        return ids.stream().map(EntityRef::address).toList();
+    }
+}
@@ -0,0 +1,45 @@
+package com.digitinarytask.customer.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Hybrid logical clock packed into a long: wall-clock milliseconds in the high bits, a logical counter
+ * in the low {@value #LOGICAL_BITS}.
+ * <p>
+ * Timestamps never go backwards on one instance, and receiving a remote timestamp moves the local clock
+ * past it, so a version stamped after seeing another instance's invalidation is always newer than it,
+ * whatever the skew between the two wall clocks.
+ */
+public class HybridLogicalClock {
+    private static final int LOGICAL_BITS = 16;
+
+    private final LongSupplier wallClock;
+    private final AtomicLong last = new AtomicLong();
+
+    public HybridLogicalClock() {
+        this(System::currentTimeMillis);
+    }
+
+    public HybridLogicalClock(LongSupplier wallClock) {
+        this.wallClock = wallClock;
+    }
+
+    /**
+     * Returns a timestamp newer than every timestamp this clock returned or received before.
+     */
+    public long now() {
+        return last.updateAndGet(previous -> Math.max(previous + 1, physical()));
+    }
+
+    /**
+     * Merges a timestamp from another instance and returns a local timestamp newer than both.
+     */
+    public long receive(long remote) {
+        return last.updateAndGet(previous -> Math.max(Math.max(previous, remote) + 1, physical()));
+    }
+
+    private long physical() {
+        return wallClock.getAsLong() << LOGICAL_BITS;
+    }
+}
@@ -0,0 +1,23 @@
+package com.digitinarytask.customer.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Invalidation bus that delivers synchronously to subscribers in the same JVM. Used for single
+ * instance deployments and for tests that wire several cache managers to one bus.
+ */
+public class InProcessInvalidationBus implements InvalidationBus {
+    private final List<Consumer<CacheInvalidation>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        subscribers.forEach(subscriber -> subscriber.accept(invalidation));
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> subscriber) {
+        subscribers.add(subscriber);
+    }
+}
@@ -0,0 +1,14 @@
+package com.digitinarytask.customer.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries cache invalidations between the instances of the service. Subscribers receive every
+ * invalidation published, including their own instance's, and are expected to skip those.
+ */
+public interface InvalidationBus {
+
+    void publish(CacheInvalidation invalidation);
+
+    void subscribe(Consumer<CacheInvalidation> subscriber);
+}
@@ -0,0 +1,60 @@
+package com.digitinarytask.customer.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Invalidation bus over a Kafka topic. Every instance consumes the topic in a consumer group of its
+ * own, so each one sees every invalidation.
+ * <p>
+ * A lost message leaves another instance's entries stale until they expire, so publishing failures
+ * are logged rather than retried; the cache TTLs bound the damage.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "cache.invalidation.bus", havingValue = "kafka", matchIfMissing = true)
+public class KafkaInvalidationBus implements InvalidationBus {
+    private final KafkaTemplate<String, String> cacheInvalidationKafkaTemplate;
+    private final List<Consumer<CacheInvalidation>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Value("${cache.invalidation.topic}")
+    private String topic;
+
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        cacheInvalidationKafkaTemplate.send(topic, invalidation.encode())
+            .whenComplete((result, e) -> {
+                if (e != null) {
+                    log.error("Failed to publish cache invalidation {}: {}", invalidation, e.getMessage());
+                }
+            });
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    @KafkaListener(topics = "${cache.invalidation.topic}", containerFactory = "cacheInvalidationListenerContainerFactory")
+    public void consume(String message) {
+        CacheInvalidation invalidation;
+        try {
+            invalidation = CacheInvalidation.decode(message);
+        } catch (IllegalArgumentException e) {
+            log.warn("Skipping cache invalidation: {}", e.getMessage());
+            return;
+        }
+        subscribers.forEach(subscriber -> subscriber.accept(invalidation));
+    }
+}
@@ -1,95 +1,122 @@
 
 package com.digitinarytask.customer.config;
 
-import org.springframework.cache.CacheManager;
+import com.digitinarytask.customer.cache.CacheDependencyIndex;
+import com.digitinarytask.customer.cache.DependencyTrackingCacheManager;
+import com.digitinarytask.customer.cache.DependencyTrackingCacheMeterBinderProvider;
+import com.digitinarytask.customer.cache.EntityRef;
+import com.digitinarytask.customer.cache.InProcessInvalidationBus;
+import com.digitinarytask.customer.cache.InvalidationBus;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import com.github.benmanes.caffeine.cache.Caffeine;
 
-import java.util.Arrays;
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
 
 @EnableCaching
 @Configuration
+@EnableConfigurationProperties(CacheTuningProperties.class)
 public class CacheConfig {
 
+    @Value("${cache.invalidation.tombstone-retention}")
+    private Duration tombstoneRetention;
+
     /**
-     * Configure different TTLs for different cache types
+     * Registers every cache configured under {@code cache.caches}, for example:
+     * <ul>
+     *     <li>{@code accounts}: individual accounts</li>
+     *     <li>{@code customers}: individual customers</li>
+     *     <li>{@code customerPages}: pages of customers</li>
+     *     <li>{@code organizations}, {@code organizationsByCustomer}: organizations by ID and by customer</li>
+     * </ul>
+     * Reads through {@code @Cacheable(sync = true)} load each missing key once, while concurrent readers
+     * of the same key wait for that load.
      */
-    private static final int SHORT_TTL = 5;
-    private static final int MEDIUM_TTL = 15;
-    private static final int LONG_TTL = 60;
-
     @Bean
-    public CacheManager cacheManager() {
+    public DependencyTrackingCacheManager cacheManager(CacheTuningProperties properties,
+                                                       @Qualifier("cacheRefreshExecutor") Executor refreshExecutor,
+                                                       PlatformTransactionManager transactionManager) {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager();
-
-        // Configure default cache settings
-        cacheManager.setCaffeine(Caffeine.newBuilder()
-            .maximumSize(1000)
-            .expireAfterWrite(MEDIUM_TTL, TimeUnit.MINUTES)
-            .recordStats());
-
-        // Register all caches
-        cacheManager.setCacheNames(Arrays.asList(
-            // Account related caches
-            "accounts",                    // Individual accounts// Account summaries by customer
-            "customerAccounts",           // All accounts for a customer
-            "topAccounts",               // Top accounts by balance
-
-            // Organization related caches
-            "organizations",              // Individual organizations
-            "organizationsByCustomer",    // Organizations by customer
-
-            // Customer related caches
-            "customers",                  // Individual customers// Customer summaries
-
-            // Address related caches
-            "addresses"                   // Individual addresses
-        ));
-
-        customizeCaches(cacheManager);
-
-        return cacheManager;
+        CacheDependencyIndex index = new CacheDependencyIndex(tombstoneRetention);
+        Map<String, Duration> refreshAhead = new HashMap<>();
+
+        cacheManager.setCacheNames(properties.getCaches().keySet());
+        properties.getCaches().forEach((cacheName, spec) ->
+            configureCacheSettings(cacheManager, index, cacheName,
+                Caffeine.newBuilder()
+                    .maximumSize(spec.getMaximumSize())
+                    .expireAfterWrite(spec.getExpireAfterWrite())
+                    .recordStats()));
+        properties.getCaches().forEach((cacheName, spec) -> {
+            if (spec.getRefreshAhead() != null) {
+                refreshAhead.put(cacheName, spec.getRefreshAhead());
+            }
+        });
+
+        // Pages shift whenever a customer is created, deleted or updated, as an update may change its sort position
+        DependencyTrackingCacheManager trackingCacheManager = new DependencyTrackingCacheManager(cacheManager, index,
+            Map.of("customerPages", Set.of(EntityRef.CUSTOMER)));
+
+        // A background reload re-runs only the cached method itself, so it gets its own read-only transaction
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        trackingCacheManager.setRefreshAhead(refreshAhead,
+            task -> refreshExecutor.execute(() -> readOnly.executeWithoutResult(status -> task.run())));
+        return trackingCacheManager;
     }
 
     /**
-     * Configure specific caches with custom settings
+     * Runs refresh-ahead reloads. Small and without a caller-runs fallback: when it is busy a refresh is
+     * skipped, and the entry is loaded on its next miss instead.
      */
-    private void customizeCaches(CaffeineCacheManager cacheManager) {
-
-        configureCacheSettings(cacheManager, "topAccounts",
-            Caffeine.newBuilder()
-                .maximumSize(100)
-                .expireAfterWrite(SHORT_TTL, TimeUnit.MINUTES)
-                .recordStats());
-
-        // Medium TTL for semi-static data
-        configureCacheSettings(cacheManager, "customers",
-            Caffeine.newBuilder()
-                .maximumSize(10000)
-                .expireAfterWrite(MEDIUM_TTL, TimeUnit.MINUTES)
-                .recordStats());
-
-        configureCacheSettings(cacheManager, "customerAccounts",
-            Caffeine.newBuilder()
-                .maximumSize(5000)
-                .expireAfterWrite(MEDIUM_TTL, TimeUnit.MINUTES)
-                .recordStats());
+    @Bean(name = "cacheRefreshExecutor")
+    public Executor cacheRefreshExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("cacheRefresh-");
+        return executor;
+    }
 
-        // Long TTL for relatively static data
-        configureCacheSettings(cacheManager, "organizations",
-            Caffeine.newBuilder()
-                .maximumSize(5000)
-                .expireAfterWrite(LONG_TTL, TimeUnit.MINUTES)
-                .recordStats());
+    /**
+     * Single instance alternative to the Kafka bus, selected with {@code cache.invalidation.bus=in-process}.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "cache.invalidation.bus", havingValue = "in-process")
+    public InvalidationBus inProcessInvalidationBus() {
+        return new InProcessInvalidationBus();
+    }
 
+    /**
+     * Binds the Caffeine statistics behind the tracking caches to the {@code cache.*} meters.
+     */
+    @Bean
+    public DependencyTrackingCacheMeterBinderProvider dependencyTrackingCacheMeterBinderProvider() {
+        return new DependencyTrackingCacheMeterBinderProvider();
     }
 
-    private void configureCacheSettings(CaffeineCacheManager cacheManager, String cacheName,
-                                        Caffeine<Object, Object> settings) {
-        cacheManager.registerCustomCache(cacheName, settings.build());
+    /**
+     * Registers a cache whose size and expiry evictions also drop the entry's recorded dependencies.
+     * The eviction listener runs as part of the eviction, so it cannot race a new put of the same key.
+     */
+    private void configureCacheSettings(CaffeineCacheManager cacheManager, CacheDependencyIndex index,
+                                        String cacheName, Caffeine<Object, Object> settings) {
+        cacheManager.registerCustomCache(cacheName, settings
+            .evictionListener((key, value, cause) -> index.forget(new CacheDependencyIndex.CachedEntry(cacheName, key)))
+            .build());
     }
 }
@@ -0,0 +1,70 @@
+package com.digitinarytask.customer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Initial size and TTL of every cache, and the settings of the optional auto-tuner. Both can be
+ * changed at runtime through the {@code cachetuning} actuator endpoint.
+ */
+@Data
+@ConfigurationProperties(prefix = "cache")
+public class CacheTuningProperties {
+
+    /**
+     * Settings per cache name. Only the caches listed here exist.
+     */
+    private Map<String, Spec> caches = new LinkedHashMap<>();
+
+    private AutoTune autoTune = new AutoTune();
+
+    @Data
+    public static class Spec {
+        private long maximumSize = 1000;
+        private Duration expireAfterWrite = Duration.ofMinutes(15);
+
+        /**
+         * Age at which a read reloads the entry in the background, shorter than the TTL. Unset to only
+         * load on a miss.
+         */
+        private Duration refreshAhead;
+
+        /**
+         * Rough heap cost of one entry, used to keep the auto-tuner within its heap budget.
+         */
+        private DataSize estimatedEntrySize = DataSize.ofKilobytes(1);
+    }
+
+    @Data
+    public static class AutoTune {
+        private boolean enabled = false;
+
+        /**
+         * Heap the caches may take together, estimated as maximum size times entry size.
+         */
+        private DataSize heapBudget = DataSize.ofMegabytes(64);
+
+        private long intervalMs = 60000;
+
+        /**
+         * Factor a cache grows or shrinks by in one step.
+         */
+        private double step = 1.25;
+
+        /**
+         * Hit ratio a growth step has to gain to be kept; a flatter curve means the extra entries are
+         * not worth their heap.
+         */
+        private double minHitRatioGain = 0.01;
+
+        /**
+         * Smallest maximum size the tuner shrinks a cache to.
+         */
+        private long minimumSize = 100;
+    }
+}
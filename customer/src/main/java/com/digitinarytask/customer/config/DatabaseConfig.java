@@ -1,9 +1,13 @@
 package com.digitinarytask.customer.config;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 @EnableJpaAuditing(auditorAwareRef = "springAware")
+// Transactions wrap the other advice, so aspects such as NotificationAspect run inside them
+@EnableTransactionManagement(proxyTargetClass = true, order = Ordered.LOWEST_PRECEDENCE - 10)
 @Configuration
 public class DatabaseConfig {
 }
@@ -0,0 +1,36 @@
+package com.digitinarytask.customer.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Async request handling used by streaming responses such as bulk exports.
+ * <p>
+ * The executor itself is unbounded; exports are capped where they start, by
+ * {@link com.digitinarytask.customer.service.export.ExportConcurrencyLimiter}.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final Environment environment;
+
+    @Value("${export.request-timeout}")
+    private Duration requestTimeout;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("mvc-async-");
+        executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        configurer.setTaskExecutor(executor);
+        configurer.setDefaultTimeout(requestTimeout.toMillis());
+    }
+}
@@ -1,7 +1,12 @@
 package com.digitinarytask.customer.controller;
 
 import com.digitinarytask.customer.dto.domain.AccountDTO;
+import com.digitinarytask.customer.dto.domain.BalancePostingDTO;
+import com.digitinarytask.customer.dto.projection.AccountSummary;
 import com.digitinarytask.customer.dto.search.AccountSearchDTO;
+import com.digitinarytask.customer.dto.reposnse.AccountBalanceDTO;
+import com.digitinarytask.customer.dto.reposnse.BalancePostingResultDTO;
+import com.digitinarytask.customer.dto.reposnse.CursorPageDTO;
 import com.digitinarytask.customer.dto.reposnse.CustomerAccountsSummaryDTO;
 import com.digitinarytask.customer.service.AccountService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -9,15 +14,21 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/accounts")
@@ -105,6 +116,29 @@ public class AccountController {
         return ResponseEntity.ok(accountService.search(searchDTO));
     }
 
+    @Operation(summary = "Search Account Summaries", description = "Returns read-only rows with only the columns listed in fields (all columns when omitted)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Accounts found", content = @Content(mediaType = "application/json")),
+        @ApiResponse(responseCode = "400", description = "Invalid input or unknown field", content = @Content(mediaType = "application/json")),
+    })
+    @PostMapping("/search/summaries")
+    public ResponseEntity<Page<AccountSummary>> searchAccountSummaries(@RequestBody AccountSearchDTO searchDTO,
+                                                                       @RequestParam(required = false) Set<String> fields) {
+        return ResponseEntity.ok(accountService.searchSummaries(searchDTO, fields));
+    }
+
+    @Operation(summary = "Search Accounts By Cursor", description = "Pass the returned nextCursor to fetch the following slice; the total is only counted when withCount is set")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Accounts found", content = @Content(mediaType = "application/json")),
+        @ApiResponse(responseCode = "400", description = "Invalid input or cursor", content = @Content(mediaType = "application/json")),
+    })
+    @PostMapping("/search/cursor")
+    public ResponseEntity<CursorPageDTO<AccountDTO>> searchAccountsByCursor(@RequestBody AccountSearchDTO searchDTO,
+                                                                            @RequestParam(required = false) String cursor,
+                                                                            @RequestParam(defaultValue = "false") boolean withCount) {
+        return ResponseEntity.ok(accountService.searchByCursor(searchDTO, cursor, withCount));
+    }
+
     @Operation(summary = "Update Account Balance")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Account balance updated", content = @Content(mediaType = "application/json")),
@@ -117,6 +151,28 @@ public class AccountController {
         return ResponseEntity.ok().build();
     }
 
+    @Operation(summary = "Get Account Balance", description = "Retrieve the current balance of an account, or its balance at a point in time")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Balance found", content = @Content(mediaType = "application/json")),
+        @ApiResponse(responseCode = "404", description = "Account not found", content = @Content(mediaType = "application/json")),
+    })
+    @GetMapping("/{accountId}/balance")
+    public ResponseEntity<AccountBalanceDTO> getBalance(@PathVariable Long accountId,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        return ResponseEntity.ok(accountService.getBalance(accountId, at));
+    }
+
+    @Operation(summary = "Post Account Balances", description = "Apply a batch of balance postings in a single transaction")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Balance postings applied", content = @Content(mediaType = "application/json")),
+        @ApiResponse(responseCode = "400", description = "Invalid input or insufficient balance", content = @Content(mediaType = "application/json")),
+        @ApiResponse(responseCode = "404", description = "Account not found", content = @Content(mediaType = "application/json")),
+    })
+    @PostMapping("/balance-postings")
+    public ResponseEntity<BalancePostingResultDTO> postBalances(@RequestBody @NotEmpty List<@Valid BalancePostingDTO> postings) {
+        return ResponseEntity.ok(accountService.postBalances(postings));
+    }
+
     @Operation(summary = "Get Customer Accounts", description = "Retrieve accounts of a customer by its ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Accounts found successfully", content = @Content(mediaType = "application/json")),
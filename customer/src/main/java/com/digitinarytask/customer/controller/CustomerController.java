@@ -1,6 +1,8 @@
 package com.digitinarytask.customer.controller;
 
 import com.digitinarytask.customer.dto.domain.CustomerDTO;
+import com.digitinarytask.customer.dto.projection.CustomerSummary;
+import com.digitinarytask.customer.dto.reposnse.CursorPageDTO;
 import com.digitinarytask.customer.dto.search.CustomerSearchDTO;
 import com.digitinarytask.customer.service.CustomerService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -17,6 +19,7 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/customers")
@@ -77,8 +80,47 @@ public class CustomerController {
         @ApiResponse(responseCode = "200", description = "Customers found successfully", content = @Content(mediaType = "application/json"))
     })
     @PostMapping("/search")
-    public ResponseEntity<Page<CustomerDTO>> searchCustomers(@Valid @RequestBody CustomerSearchDTO searchDTO) {
-        Page<CustomerDTO> result = customerService.searchCustomers(searchDTO);
+    public ResponseEntity<Page<CustomerDTO>> searchCustomers(@Valid @RequestBody CustomerSearchDTO searchDTO,
+                                                             @RequestParam(defaultValue = "true") boolean includeRelations) {
+        Page<CustomerDTO> result = customerService.searchCustomers(searchDTO, includeRelations);
+        return ResponseEntity.ok(result);
+    }
+
+    @Operation(summary = "Search Customer Summaries", description = "Returns read-only rows with only the columns listed in fields (all columns when omitted)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Customers found successfully", content = @Content(mediaType = "application/json")),
+        @ApiResponse(responseCode = "400", description = "Invalid input or unknown field", content = @Content(mediaType = "application/json"))
+    })
+    @PostMapping("/search/summaries")
+    public ResponseEntity<Page<CustomerSummary>> searchCustomerSummaries(@Valid @RequestBody CustomerSearchDTO searchDTO,
+                                                                         @RequestParam(required = false) Set<String> fields) {
+        Page<CustomerSummary> result = customerService.searchCustomerSummaries(searchDTO, fields);
+        return ResponseEntity.ok(result);
+    }
+
+    @Operation(summary = "Get Customer Summaries", description = "Retrieve read-only customer rows with only the columns listed in fields (all columns when omitted)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Customers found successfully", content = @Content(mediaType = "application/json")),
+        @ApiResponse(responseCode = "400", description = "Unknown field", content = @Content(mediaType = "application/json"))
+    })
+    @GetMapping("/summaries")
+    public ResponseEntity<Page<CustomerSummary>> getCustomerSummaries(@org.springdoc.core.annotations.ParameterObject Pageable pageable,
+                                                                      @RequestParam(required = false) Set<String> fields) {
+        Page<CustomerSummary> result = customerService.getCustomerSummaries(pageable, fields);
+        return ResponseEntity.ok(result);
+    }
+
+    @Operation(summary = "Search Customers By Cursor", description = "Pass the returned nextCursor to fetch the following slice; the total is only counted when withCount is set")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Customers found successfully", content = @Content(mediaType = "application/json")),
+        @ApiResponse(responseCode = "400", description = "Invalid input or cursor", content = @Content(mediaType = "application/json"))
+    })
+    @PostMapping("/search/cursor")
+    public ResponseEntity<CursorPageDTO<CustomerDTO>> searchCustomersByCursor(@Valid @RequestBody CustomerSearchDTO searchDTO,
+                                                                              @RequestParam(required = false) String cursor,
+                                                                              @RequestParam(defaultValue = "false") boolean withCount,
+                                                                              @RequestParam(defaultValue = "true") boolean includeRelations) {
+        CursorPageDTO<CustomerDTO> result = customerService.searchCustomersByCursor(searchDTO, cursor, withCount, includeRelations);
         return ResponseEntity.ok(result);
     }
 
@@ -87,8 +129,9 @@ public class CustomerController {
         @ApiResponse(responseCode = "200", description = "Customers found successfully", content = @Content(mediaType = "application/json"))
     })
     @GetMapping
-    public ResponseEntity<Page<CustomerDTO>> getAllCustomers(@org.springdoc.core.annotations.ParameterObject Pageable pageable) {
-        Page<CustomerDTO> result = customerService.getAllCustomers(pageable);
+    public ResponseEntity<Page<CustomerDTO>> getAllCustomers(@org.springdoc.core.annotations.ParameterObject Pageable pageable,
+                                                             @RequestParam(defaultValue = "true") boolean includeRelations) {
+        Page<CustomerDTO> result = customerService.getAllCustomers(pageable, includeRelations);
         return ResponseEntity.ok(result);
     }
 
@@ -97,8 +140,9 @@ public class CustomerController {
         @ApiResponse(responseCode = "200", description = "Customers found successfully", content = @Content(mediaType = "application/json"))
     })
     @GetMapping("/type/{type}")
-    public ResponseEntity<Page<CustomerDTO>> getCustomerByType(@PathVariable String type, @org.springdoc.core.annotations.ParameterObject Pageable pageable) {
-        Page<CustomerDTO> customers = customerService.getCustomersByType(type, pageable);
+    public ResponseEntity<Page<CustomerDTO>> getCustomerByType(@PathVariable String type, @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+                                                               @RequestParam(defaultValue = "true") boolean includeRelations) {
+        Page<CustomerDTO> customers = customerService.getCustomersByType(type, pageable, includeRelations);
         return ResponseEntity.ok(customers);
     }
 }
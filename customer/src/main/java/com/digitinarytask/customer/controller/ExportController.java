@@ -0,0 +1,84 @@
+package com.digitinarytask.customer.controller;
+
+import com.digitinarytask.customer.dto.search.AccountSearchDTO;
+import com.digitinarytask.customer.dto.search.CustomerSearchDTO;
+import com.digitinarytask.customer.service.export.ExportConcurrencyLimiter;
+import com.digitinarytask.customer.service.export.ExportFormat;
+import com.digitinarytask.customer.service.export.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/v1/export")
+@RequiredArgsConstructor
+@Tag(name = "Bulk Export", description = "APIs for streaming bulk exports")
+@Validated
+public class ExportController {
+
+    private final ExportService exportService;
+    private final ExportConcurrencyLimiter exportLimiter;
+
+    @Operation(summary = "Export Accounts", description = "Streams every account matching the criteria as NDJSON or CSV; paging fields are ignored")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export streamed", content = {
+            @Content(mediaType = "application/x-ndjson"),
+            @Content(mediaType = "text/csv")
+        }),
+        @ApiResponse(responseCode = "400", description = "Invalid input or format", content = @Content(mediaType = "application/json")),
+        @ApiResponse(responseCode = "503", description = "Too many exports in progress", content = @Content(mediaType = "application/json")),
+    })
+    @PostMapping("/accounts")
+    public ResponseEntity<StreamingResponseBody> exportAccounts(@RequestBody AccountSearchDTO searchDTO,
+                                                                @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        return streaming("accounts", exportFormat, out -> exportService.exportAccounts(searchDTO, exportFormat, out));
+    }
+
+    @Operation(summary = "Export Customers", description = "Streams every customer matching the criteria as NDJSON or CSV, without relations; paging fields are ignored")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export streamed", content = {
+            @Content(mediaType = "application/x-ndjson"),
+            @Content(mediaType = "text/csv")
+        }),
+        @ApiResponse(responseCode = "400", description = "Invalid input or format", content = @Content(mediaType = "application/json")),
+        @ApiResponse(responseCode = "503", description = "Too many exports in progress", content = @Content(mediaType = "application/json")),
+    })
+    @PostMapping("/customers")
+    public ResponseEntity<StreamingResponseBody> exportCustomers(@Valid @RequestBody CustomerSearchDTO searchDTO,
+                                                                 @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        return streaming("customers", exportFormat, out -> exportService.exportCustomers(searchDTO, exportFormat, out));
+    }
+
+    /**
+     * Wraps the body as a file attachment of the given format, holding an export slot until it is written.
+     */
+    private ResponseEntity<StreamingResponseBody> streaming(String name, ExportFormat format, StreamingResponseBody body) {
+        exportLimiter.acquire();
+        ContentDisposition disposition = ContentDisposition.attachment()
+            .filename(name + "." + format.getExtension())
+            .build();
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(format.getMediaType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+            .body(out -> {
+                try {
+                    body.writeTo(out);
+                } finally {
+                    exportLimiter.release();
+                }
+            });
+    }
+}
@@ -1,6 +1,8 @@
 package com.digitinarytask.customer.controller;
 
 import com.digitinarytask.customer.dto.domain.OrganizationDTO;
+import com.digitinarytask.customer.dto.projection.OrganizationSummary;
+import com.digitinarytask.customer.dto.reposnse.CursorPageDTO;
 import com.digitinarytask.customer.dto.search.OrganizationSearchDTO;
 import com.digitinarytask.customer.service.OrganizationService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -17,6 +19,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Set;
+
 @RestController
 @RequestMapping("/api/v1/organizations")
 @RequiredArgsConstructor
@@ -47,6 +51,43 @@ public class OrganizationController {
         return ResponseEntity.ok(result);
     }
 
+    @Operation(summary = "Search organization summaries", description = "Returns read-only rows with only the columns listed in fields (all columns when omitted)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Organizations found successfully", content = @Content(mediaType = "application/json")),
+        @ApiResponse(responseCode = "400", description = "Invalid input or unknown field", content = @Content(mediaType = "application/json"))
+    })
+    @PostMapping("/search/summaries")
+    public ResponseEntity<Page<OrganizationSummary>> searchOrganizationSummaries(@Valid @RequestBody OrganizationSearchDTO searchDTO,
+                                                                                 @RequestParam(required = false) Set<String> fields) {
+        Page<OrganizationSummary> result = organizationService.searchOrganizationSummaries(searchDTO, fields);
+        return ResponseEntity.ok(result);
+    }
+
+    @Operation(summary = "Get organization summaries", description = "Retrieve read-only organization rows with only the columns listed in fields (all columns when omitted)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Organizations found successfully", content = @Content(mediaType = "application/json")),
+        @ApiResponse(responseCode = "400", description = "Unknown field", content = @Content(mediaType = "application/json"))
+    })
+    @GetMapping("/summaries")
+    public ResponseEntity<Page<OrganizationSummary>> getOrganizationSummaries(@org.springdoc.core.annotations.ParameterObject Pageable pageable,
+                                                                              @RequestParam(required = false) Set<String> fields) {
+        Page<OrganizationSummary> result = organizationService.getOrganizationSummaries(pageable, fields);
+        return ResponseEntity.ok(result);
+    }
+
+    @Operation(summary = "Search organizations by cursor", description = "Pass the returned nextCursor to fetch the following slice; the total is only counted when withCount is set")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Organizations found successfully", content = @Content(mediaType = "application/json")),
+        @ApiResponse(responseCode = "400", description = "Invalid input or cursor", content = @Content(mediaType = "application/json"))
+    })
+    @PostMapping("/search/cursor")
+    public ResponseEntity<CursorPageDTO<OrganizationDTO>> searchOrganizationsByCursor(@Valid @RequestBody OrganizationSearchDTO searchDTO,
+                                                                                      @RequestParam(required = false) String cursor,
+                                                                                      @RequestParam(defaultValue = "false") boolean withCount) {
+        CursorPageDTO<OrganizationDTO> result = organizationService.searchOrganizationsByCursor(searchDTO, cursor, withCount);
+        return ResponseEntity.ok(result);
+    }
+
     @Operation(summary = "Get organization by ID", description = "Retrieve an organization by its ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Organization found successfully", content = @Content(mediaType = "application/json")),
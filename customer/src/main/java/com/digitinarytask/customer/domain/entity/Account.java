@@ -3,10 +3,13 @@ package com.digitinarytask.customer.domain.entity;
 import com.digitinarytask.customer.domain.enumeration.AccountStatus;
 import com.digitinarytask.customer.domain.enumeration.AccountType;
 import com.digitinarytask.shared.domain.BaseEntity;
+import com.digitinarytask.shared.domain.IdAllocation;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Formula;
+import org.hibernate.annotations.Synchronize;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
@@ -16,16 +19,22 @@ import java.time.LocalDate;
  * Represents an account entity.
  */
 @Entity
-@Table(name = "account")
+@Table(name = "account", uniqueConstraints = {
+    @UniqueConstraint(name = Account.ACCOUNT_NUMBER_CONSTRAINT, columnNames = "account_number")
+})
+@Synchronize("balance_ledger")
 @Data
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
 @EqualsAndHashCode(of = "id")
 public class Account extends BaseEntity implements Serializable {
+    public static final String ACCOUNT_NUMBER_CONSTRAINT = "uk_account_account_number";
+    public static final String CURRENT_BALANCE = "currentBalance";
+
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_seq")
-    @SequenceGenerator(name = "account_seq", sequenceName = "account_seq", allocationSize = 1)
+    @SequenceGenerator(name = "account_seq", sequenceName = "account_seq", allocationSize = IdAllocation.ALLOCATION_SIZE)
     private Long id;
 
     @NotNull
@@ -38,9 +47,21 @@ public class Account extends BaseEntity implements Serializable {
     @Column(name = "account_name", length = 30, nullable = false)
     private String accountName;
 
+    /**
+     * Balance as of the last ledger compaction.
+     */
     @Column(name = "balance", precision = 15, scale = 2, nullable = false)
     private BigDecimal balance;
 
+    /**
+     * Snapshot balance plus the ledger entries not yet compacted into it, read along with the account.
+     * Queries that filter, sort or aggregate by balance use this property.
+     */
+    @Formula("balance + (select coalesce(sum(l.amount), 0) from balance_ledger l "
+        + "where l.account_id = id and l.compacted_at is null)")
+    @Setter(AccessLevel.NONE)
+    private BigDecimal currentBalance;
+
     @Column(name = "date_opened", updatable = false)
     private LocalDate dateOpened = LocalDate.now();
 
@@ -57,4 +78,11 @@ public class Account extends BaseEntity implements Serializable {
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "customer_id", referencedColumnName = "id")
     private Customer customer;
+
+    /**
+     * Falls back to the snapshot balance for an account that was not read from the database yet.
+     */
+    public BigDecimal getCurrentBalance() {
+        return currentBalance != null ? currentBalance : balance;
+    }
 }
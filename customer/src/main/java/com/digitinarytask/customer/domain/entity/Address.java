@@ -1,6 +1,7 @@
 package com.digitinarytask.customer.domain.entity;
 
 import com.digitinarytask.customer.domain.enumeration.AddressType;
+import com.digitinarytask.shared.domain.IdAllocation;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
@@ -25,7 +26,7 @@ public class Address implements Serializable {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "address_seq")
-    @SequenceGenerator(name = "address_seq", sequenceName = "address_seq", allocationSize = 1)
+    @SequenceGenerator(name = "address_seq", sequenceName = "address_seq", allocationSize = IdAllocation.ALLOCATION_SIZE)
     @Column(name = "id")
     private Long id;
 
@@ -0,0 +1,57 @@
+package com.digitinarytask.customer.domain.entity;
+
+import com.digitinarytask.shared.domain.IdAllocation;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Represents one balance posting in the append-only ledger.
+ * <p>
+ * Entries are never changed or removed. The compactor only stamps {@code compactedAt} and the
+ * {@link BalanceSnapshot} it rolled the amount into, once the amount is part of the account balance.
+ */
+@Entity
+@Table(name = "balance_ledger", indexes = {
+    @Index(name = "idx_balance_ledger_account_posted", columnList = "account_id, posted_at"),
+    @Index(name = "idx_balance_ledger_compacted", columnList = "compacted_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceLedgerEntry implements Serializable {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "balance_ledger_seq")
+    @SequenceGenerator(name = "balance_ledger_seq", sequenceName = "balance_ledger_seq", allocationSize = IdAllocation.ALLOCATION_SIZE)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false, updatable = false)
+    private Long accountId;
+
+    @Column(name = "amount", precision = 15, scale = 2, nullable = false, updatable = false)
+    private BigDecimal amount;
+
+    @Column(name = "posted_at", nullable = false, updatable = false)
+    private LocalDateTime postedAt;
+
+    @Column(name = "compacted_at")
+    private LocalDateTime compactedAt;
+
+    @Column(name = "snapshot_id")
+    private Long snapshotId;
+
+    public static BalanceLedgerEntry of(Long accountId, BigDecimal amount, LocalDateTime postedAt) {
+        return BalanceLedgerEntry.builder()
+            .accountId(accountId)
+            .amount(amount)
+            .postedAt(postedAt)
+            .build();
+    }
+}
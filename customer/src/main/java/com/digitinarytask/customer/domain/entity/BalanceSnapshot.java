@@ -0,0 +1,40 @@
+package com.digitinarytask.customer.domain.entity;
+
+import com.digitinarytask.shared.domain.IdAllocation;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Represents the balance of an account right after a compaction run, including every ledger entry
+ * compacted at or before {@code takenAt}.
+ */
+@Entity
+@Table(name = "balance_snapshot", indexes = {
+    @Index(name = "idx_balance_snapshot_account_taken", columnList = "account_id, taken_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceSnapshot implements Serializable {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "balance_snapshot_seq")
+    @SequenceGenerator(name = "balance_snapshot_seq", sequenceName = "balance_snapshot_seq", allocationSize = IdAllocation.ALLOCATION_SIZE)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false, updatable = false)
+    private Long accountId;
+
+    @Column(name = "balance", precision = 15, scale = 2, nullable = false, updatable = false)
+    private BigDecimal balance;
+
+    @Column(name = "taken_at", nullable = false, updatable = false)
+    private LocalDateTime takenAt;
+}
@@ -1,6 +1,7 @@
 package com.digitinarytask.customer.domain.entity;
 
 import com.digitinarytask.shared.domain.BaseEntity;
+import com.digitinarytask.shared.domain.IdAllocation;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import jakarta.persistence.*;
@@ -34,7 +35,7 @@ import java.util.Set;
 public class Customer extends BaseEntity implements Serializable {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customer_seq")
-    @SequenceGenerator(name = "customer_seq", sequenceName = "customer_seq", allocationSize = 1)
+    @SequenceGenerator(name = "customer_seq", sequenceName = "customer_seq", allocationSize = IdAllocation.ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "name", length = 100)
@@ -1,6 +1,7 @@
 package com.digitinarytask.customer.domain.entity;
 
 import com.digitinarytask.shared.domain.BaseEntity;
+import com.digitinarytask.shared.domain.IdAllocation;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -21,7 +22,7 @@ public class Organization extends BaseEntity implements Serializable {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customer_org_seq")
-    @SequenceGenerator(name = "customer_org_seq", sequenceName = "customer_org_seq", allocationSize = 1)
+    @SequenceGenerator(name = "customer_org_seq", sequenceName = "customer_org_seq", allocationSize = IdAllocation.ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "registration_no", length = 100, nullable = false)
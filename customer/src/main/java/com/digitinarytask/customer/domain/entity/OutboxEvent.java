@@ -0,0 +1,86 @@
+package com.digitinarytask.customer.domain.entity;
+
+import com.digitinarytask.shared.domain.IdAllocation;
+import com.digitinarytask.shared.enumeration.NotificationType;
+import com.digitinarytask.shared.event.NotificationEvent;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Represents a notification event waiting to be relayed to Kafka.
+ * <p>
+ * Rows are written in the same transaction as the change that produced the event and removed
+ * once the broker has acknowledged them. A failed row is not retried before {@code nextAttemptAt}.
+ */
+@Entity
+@Table(name = "notification_outbox", indexes = {
+    @Index(name = "idx_notification_outbox_entity", columnList = "entity_type, entity_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent implements Serializable {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_outbox_seq")
+    @SequenceGenerator(name = "notification_outbox_seq", sequenceName = "notification_outbox_seq", allocationSize = IdAllocation.ALLOCATION_SIZE)
+    private Long id;
+
+    @Column(name = "event_id", length = 36, nullable = false, updatable = false)
+    private String eventId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "notification_type", nullable = false, updatable = false)
+    private NotificationType type;
+
+    @Column(name = "entity_type", nullable = false, updatable = false)
+    private String entityType;
+
+    @Column(name = "entity_id", updatable = false)
+    private Long entityId;
+
+    @Column(name = "title", updatable = false)
+    private String title;
+
+    @Column(name = "payload", length = 1000, updatable = false)
+    private String payload;
+
+    @Column(name = "event_timestamp", nullable = false, updatable = false)
+    private LocalDateTime eventTimestamp;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    public static OutboxEvent from(NotificationEvent event) {
+        return OutboxEvent.builder()
+            .eventId(event.getEventId())
+            .type(event.getType())
+            .entityType(event.getEntityType())
+            .entityId(event.getEntityId())
+            .title(event.getTitle())
+            .payload(event.getPayload())
+            .eventTimestamp(event.getTimestamp())
+            .build();
+    }
+
+    public NotificationEvent toNotificationEvent() {
+        return NotificationEvent.builder()
+            .eventId(eventId)
+            .type(type)
+            .entityType(entityType)
+            .entityId(entityId)
+            .title(title)
+            .payload(payload)
+            .timestamp(eventTimestamp)
+            .build();
+    }
+}
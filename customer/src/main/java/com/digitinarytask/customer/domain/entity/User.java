@@ -2,6 +2,7 @@ package com.digitinarytask.customer.domain.entity;
 
 import com.digitinarytask.customer.domain.enumeration.UserRole;
 import com.digitinarytask.shared.domain.BaseEntity;
+import com.digitinarytask.shared.domain.IdAllocation;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -17,7 +18,7 @@ import lombok.NoArgsConstructor;
 public class User extends BaseEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
-    @SequenceGenerator(name = "user_seq", sequenceName = "user_seq", allocationSize = 1)
+    @SequenceGenerator(name = "user_seq", sequenceName = "user_seq", allocationSize = IdAllocation.ALLOCATION_SIZE)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -14,7 +14,8 @@ public enum AccountErrorCode {
     ACCOUNT_DELETION_ERROR(500, "Account deletion error"),
     ACCOUNT_UPDATE_ERROR(500, "Account update error"),
     ACCOUNT_CREATION_ERROR(500,"Account creation error"),
-    INVALID_ACCOUNT_ID(400, "Invalid account ID");
+    INVALID_ACCOUNT_ID(400, "Invalid account ID"),
+    BALANCE_POSTING_LIMIT_EXCEEDED(400, "Too many balance postings");
 
     private final int code;
     private final String message;
@@ -0,0 +1,24 @@
+package com.digitinarytask.customer.dto.domain;
+
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BalancePostingDTO {
+
+    @NotNull(message = "Account ID is required")
+    private Long accountId;
+
+    @NotNull(message = "Amount is required")
+    @Digits(integer = 13, fraction = 2, message = "Invalid amount format")
+    private BigDecimal amount;
+}
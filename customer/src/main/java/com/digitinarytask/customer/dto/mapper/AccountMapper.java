@@ -12,11 +12,16 @@ public interface AccountMapper {
 
     @Named("toDTO")
     @Mappings({
-        @Mapping(target = "customerId", source = "customer.id")
+        @Mapping(target = "customerId", source = "customer.id"),
+        @Mapping(target = "balance", source = "currentBalance")
     })
     AccountDTO toDTO(Account account);
 
     @Named("toEntity")
     @InheritInverseConfiguration(name = "toDTO")
+    @Mappings({
+        @Mapping(target = "balance", source = "balance"),
+        @Mapping(target = "currentBalance", ignore = true)
+    })
     Account toEntity(AccountDTO accountDTO);
 }
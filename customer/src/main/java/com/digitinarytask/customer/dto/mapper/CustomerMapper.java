@@ -39,6 +39,27 @@ public interface CustomerMapper {
         throw new CustomerException("Unknown customer DTO type, supported only INDIVIDUAL and ORGANIZATION", CustomerErrorCode.CREATE_CUSTOMER_FAILED);
     }
 
+    @Named("individualCustomerToDTOWithoutRelations")
+    @Mapping(target = "accounts", ignore = true)
+    @Mapping(target = "addresses", ignore = true)
+    IndividualCustomerDTO individualCustomerToDTOWithoutRelations(IndividualCustomer customer);
+
+    @Named("organizationCustomerToDTOWithoutRelations")
+    @Mapping(target = "accounts", ignore = true)
+    @Mapping(target = "addresses", ignore = true)
+    @Mapping(target = "organization", ignore = true)
+    OrganizationCustomerDTO organizationCustomerToDTOWithoutRelations(OrganizationCustomer customer);
+
+    @Named("toDTOWithoutRelations")
+    default CustomerDTO toDTOWithoutRelations(Customer customer) {
+        if (customer instanceof IndividualCustomer) {
+            return individualCustomerToDTOWithoutRelations((IndividualCustomer) customer);
+        } else if (customer instanceof OrganizationCustomer) {
+            return organizationCustomerToDTOWithoutRelations((OrganizationCustomer) customer);
+        }
+        throw new CustomerException("Unknown customer DTO type, supported only INDIVIDUAL and ORGANIZATION", CustomerErrorCode.CREATE_CUSTOMER_FAILED);
+    }
+
     @Named("toEntityWithRelations")
     default Customer toEntityWithRelations(CustomerDTO dto) {
         if (dto instanceof IndividualCustomerDTO)  {
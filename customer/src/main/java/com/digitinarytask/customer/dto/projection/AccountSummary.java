@@ -0,0 +1,24 @@
+package com.digitinarytask.customer.dto.projection;
+
+import com.digitinarytask.customer.domain.enumeration.AccountStatus;
+import com.digitinarytask.customer.domain.enumeration.AccountType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Read-only account row for list endpoints. Fields that were not selected are null and omitted from JSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AccountSummary(
+    Long id,
+    String accountNumber,
+    String accountName,
+    BigDecimal balance,
+    LocalDate dateOpened,
+    AccountStatus status,
+    AccountType accountType,
+    Long customerId
+) {
+}
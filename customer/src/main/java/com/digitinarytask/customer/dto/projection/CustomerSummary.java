@@ -0,0 +1,15 @@
+package com.digitinarytask.customer.dto.projection;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Read-only customer row for list endpoints. Fields that were not selected are null and omitted from JSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CustomerSummary(
+    Long id,
+    String customerType,
+    String name,
+    String mobileNo
+) {
+}
@@ -0,0 +1,15 @@
+package com.digitinarytask.customer.dto.projection;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Read-only organization row for list endpoints. Fields that were not selected are null and omitted from JSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record OrganizationSummary(
+    Long id,
+    String registrationNumber,
+    String legalName,
+    String trademarkName
+) {
+}
@@ -0,0 +1,18 @@
+package com.digitinarytask.customer.dto.reposnse;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalancePostingResultDTO {
+    private Integer postings;
+    private Integer accounts;
+    private BigDecimal netAmount;
+}
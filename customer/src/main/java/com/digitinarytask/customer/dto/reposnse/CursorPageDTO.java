@@ -0,0 +1,29 @@
+package com.digitinarytask.customer.dto.reposnse;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A slice of results addressed by an opaque continuation token instead of a page number.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+    private List<T> content;
+    private String nextCursor;
+    private boolean hasNext;
+    // Only populated when the caller asked for a count
+    private Long totalElements;
+
+    public <R> CursorPageDTO<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = content.stream().<R>map(mapper).toList();
+        return new CursorPageDTO<>(mapped, nextCursor, hasNext, totalElements);
+    }
+}
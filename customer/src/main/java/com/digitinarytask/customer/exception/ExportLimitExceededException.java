@@ -0,0 +1,15 @@
+package com.digitinarytask.customer.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class ExportLimitExceededException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public ExportLimitExceededException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
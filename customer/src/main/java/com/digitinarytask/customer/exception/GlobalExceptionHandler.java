@@ -4,11 +4,13 @@ import com.digitinarytask.customer.domain.entity.error.ErrorResponse;
 import com.digitinarytask.customer.domain.enumeration.error.AccountErrorCode;
 import com.digitinarytask.customer.domain.enumeration.error.CustomerErrorCode;
 import com.digitinarytask.customer.domain.enumeration.error.OrganizationErrorCode;
+import com.digitinarytask.customer.service.AccountNumberFilter;
 import com.fasterxml.jackson.databind.exc.InvalidTypeIdException;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -58,6 +60,10 @@ public class GlobalExceptionHandler {
         @ApiResponse(responseCode = "409", description = "Data integrity violation")
     })
     public ResponseEntity<ErrorResponse> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        if (AccountNumberFilter.isDuplicateAccountNumber(ex)) {
+            return handleCustomerException(new AccountException("Account number already exists",
+                AccountErrorCode.DUPLICATE_ACCOUNT_NUMBER));
+        }
         String detailedMessage = "A data integrity violation occurred. This might be due to a constraint violation such as a duplicate key or a foreign key constraint.";
         ErrorResponse errorResponse = new ErrorResponse(LocalDateTime.now(), HttpStatus.CONFLICT.value(), "Conflict", detailedMessage + " Details: " + ex.getLocalizedMessage());
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
@@ -124,6 +130,32 @@ public class GlobalExceptionHandler {
     }
 
 
+    /**
+     * Handle Invalid Query Parameter Exception.
+     */
+    @ExceptionHandler(InvalidQueryParameterException.class)
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "400", description = "Invalid query parameter")
+    })
+    public ResponseEntity<ErrorResponse> handleInvalidQueryParameterException(InvalidQueryParameterException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(LocalDateTime.now(), HttpStatus.BAD_REQUEST.value(), "Invalid Query Parameter", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    /**
+     * Handle Export Limit Exceeded Exception.
+     */
+    @ExceptionHandler(ExportLimitExceededException.class)
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "503", description = "Too many exports in progress")
+    })
+    public ResponseEntity<ErrorResponse> handleExportLimitExceededException(ExportLimitExceededException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(LocalDateTime.now(), HttpStatus.SERVICE_UNAVAILABLE.value(), "Service Unavailable", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfter().toSeconds()))
+            .body(errorResponse);
+    }
+
     @ExceptionHandler(UnsupportedOperationException.class)
     public ResponseEntity<ErrorResponse> handleUnsupportedOperationException(UnsupportedOperationException ex) {
         ErrorResponse errorResponse = new ErrorResponse(
@@ -1,23 +1,41 @@
 package com.digitinarytask.customer.repository;
 
+import com.digitinarytask.customer.dto.reposnse.CursorPageDTO;
+import com.digitinarytask.customer.exception.InvalidQueryParameterException;
+import com.digitinarytask.customer.repository.keyset.KeysetCursor;
+import com.digitinarytask.customer.repository.projection.ProjectionDefinition;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
 import jakarta.persistence.PersistenceException;
+import jakarta.persistence.Tuple;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.query.Query;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Abstract repository class to handle JPA criteria queries with specifications.
@@ -25,6 +43,11 @@ import java.util.Optional;
 @RequiredArgsConstructor
 @Slf4j
 public class AbstractSpecificationRepository<T> {
+    private static final String ID_PROPERTY = "id";
+    private static final Set<Class<?>> KEYSET_TYPES = Set.of(
+        String.class, Long.class, long.class, Integer.class, int.class, BigDecimal.class,
+        LocalDate.class, LocalDateTime.class, Boolean.class, boolean.class);
+
     protected final EntityManager entityManager;
 
     /**
@@ -38,7 +61,7 @@ public class AbstractSpecificationRepository<T> {
             Root<T> root = query.from(entityClass);
 
             applySpecification(specification, cb, query, root);
-            applySorting(cb, query, root, pageRequest);
+            applySorting(cb, query, root, pageRequest.getSort());
 
             TypedQuery<T> typedQuery = createPginiateTypedQuery(query, pageRequest);
             Long total = executeCountQuery(specification, entityClass);
@@ -53,6 +76,140 @@ public class AbstractSpecificationRepository<T> {
         }
     }
 
+    /**
+     * Finds a page of projection records, selecting only the requested columns instead of managed entities.
+     */
+    @Transactional(readOnly = true)
+    protected <P> Page<P> findProjectedBySpecification(Specification<T> specification, PageRequest pageRequest,
+                                                       ProjectionDefinition<T, P> projection, Collection<String> fields,
+                                                       Class<T> entityClass) {
+        try {
+            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+            CriteriaQuery<Tuple> query = cb.createTupleQuery();
+            Root<T> root = query.from(entityClass);
+
+            query.multiselect(projection.selections(root, cb, fields));
+            applySpecification(specification, cb, query, root);
+            applySorting(cb, query, root, pageRequest.getSort());
+
+            List<Tuple> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageRequest.getOffset())
+                .setMaxResults(pageRequest.getPageSize())
+                .getResultList();
+            Long total = executeCountQuery(specification, entityClass);
+
+            return new PageImpl<>(rows.stream().map(projection::toRecord).toList(), pageRequest, total);
+        } catch (PersistenceException e) {
+            log.error("Error executing findProjectedBySpecification query for {}: {}", entityClass.getSimpleName(), e.getMessage());
+            throw new RuntimeException("Error executing findProjectedBySpecification query", e);
+        }
+    }
+
+    /**
+     * Finds the slice of entities following the cursor, seeking on (sort property, id) rather than skipping an offset.
+     * Null sort values are ordered as the lowest values regardless of the database default.
+     */
+    @Transactional(readOnly = true)
+    protected CursorPageDTO<T> findByKeyset(Specification<T> specification, String sortBy, Sort.Direction direction,
+                                            String cursor, int size, boolean withCount, Class<T> entityClass) {
+        if (size < 1) {
+            throw new InvalidQueryParameterException("Page size must be at least 1");
+        }
+        KeysetCursor after = StringUtils.hasText(cursor) ? KeysetCursor.decode(cursor) : null;
+        if (after != null && (!after.sortBy().equals(sortBy) || after.direction() != direction)) {
+            throw new InvalidQueryParameterException("Cursor does not match the requested sort order");
+        }
+
+        try {
+            HibernateCriteriaBuilder cb = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getCriteriaBuilder();
+            CriteriaQuery<Tuple> query = cb.createTupleQuery();
+            Root<T> root = query.from(entityClass);
+
+            Path<Comparable<Object>> sortPath = getKeysetPath(root, sortBy);
+            Path<Long> idPath = root.get(ID_PROPERTY);
+            boolean ascending = direction.isAscending();
+            boolean sortById = ID_PROPERTY.equals(sortBy);
+
+            List<Predicate> predicates = new ArrayList<>();
+            if (specification != null) {
+                Predicate predicate = specification.toPredicate(root, query, cb);
+                if (predicate != null) {
+                    predicates.add(predicate);
+                }
+            }
+            if (after != null) {
+                predicates.add(seekPredicate(cb, sortPath, idPath, parseSortValue(sortPath, after.sortValue()),
+                    after.id(), ascending, sortById));
+            }
+
+            List<Order> orders = new ArrayList<>();
+            if (!sortById) {
+                orders.add(ascending ? cb.asc(sortPath, true) : cb.desc(sortPath, false));
+            }
+            orders.add(ascending ? cb.asc(idPath) : cb.desc(idPath));
+
+            query.multiselect(root, sortPath, idPath)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(orders);
+
+            // One extra row tells whether another slice exists without counting
+            List<Tuple> rows = entityManager.createQuery(query).setMaxResults(size + 1).getResultList();
+            boolean hasNext = rows.size() > size;
+            List<Tuple> slice = hasNext ? rows.subList(0, size) : rows;
+
+            String nextCursor = null;
+            if (hasNext) {
+                Tuple last = slice.get(slice.size() - 1);
+                nextCursor = new KeysetCursor(sortBy, direction, formatSortValue(last.get(1)), last.get(2, Long.class)).encode();
+            }
+            Long total = withCount ? executeCountQuery(specification, entityClass) : null;
+
+            List<T> content = slice.stream().map(row -> row.get(0, entityClass)).toList();
+            return new CursorPageDTO<>(content, nextCursor, hasNext, total);
+        } catch (PersistenceException e) {
+            log.error("Error executing findByKeyset query for {}: {}", entityClass.getSimpleName(), e.getMessage());
+            throw new RuntimeException("Error executing findByKeyset query", e);
+        }
+    }
+
+    /**
+     * Streams the entities matching the specification through a forward-only cursor, handing each one to the action
+     * and detaching it afterwards so the persistence context stays bounded regardless of the result size.
+     */
+    @Transactional(readOnly = true)
+    protected void scrollBySpecification(Specification<T> specification, Sort sort, int fetchSize,
+                                         Class<T> entityClass, Consumer<? super T> action) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(entityClass);
+        Root<T> root = query.from(entityClass);
+
+        applySpecification(specification, cb, query, root);
+        applySorting(cb, query, root, sort);
+
+        @SuppressWarnings("unchecked")
+        Query<T> scrollQuery = entityManager.createQuery(query).unwrap(Query.class);
+        scrollQuery.setFetchSize(fetchSize);
+        scrollQuery.setReadOnly(true);
+
+        try (ScrollableResults<T> results = scrollQuery.scroll(ScrollMode.FORWARD_ONLY)) {
+            long consumed = 0;
+            while (results.next()) {
+                T entity = results.get();
+                action.accept(entity);
+                entityManager.detach(entity);
+                if (++consumed % fetchSize == 0) {
+                    // Also drops the uninitialized association proxies left behind by detached rows
+                    entityManager.clear();
+                }
+            }
+        } catch (PersistenceException e) {
+            log.error("Error executing scrollBySpecification query for {}: {}", entityClass.getSimpleName(), e.getMessage());
+            throw new RuntimeException("Error executing scrollBySpecification query", e);
+        }
+    }
+
     /**
      * Finds the first entity based on the search criteria.
      */
@@ -116,10 +273,93 @@ public class AbstractSpecificationRepository<T> {
     }
 
 
+    /**
+     * Resolves the keyset sort path, rejecting properties that cannot be compared or carried in a cursor.
+     */
+    @SuppressWarnings("unchecked")
+    private Path<Comparable<Object>> getKeysetPath(Root<T> root, String property) {
+        Path<?> path;
+        try {
+            path = getSortPath(root, property);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidQueryParameterException("Unknown sort property: " + property);
+        }
+        Class<?> type = path.getJavaType();
+        if (!KEYSET_TYPES.contains(type) && !type.isEnum()) {
+            throw new InvalidQueryParameterException("Sort property not supported for cursor pagination: " + property);
+        }
+        return (Path<Comparable<Object>>) path;
+    }
+
+    /**
+     * Builds the predicate selecting rows strictly after the cursor position.
+     */
+    private Predicate seekPredicate(CriteriaBuilder cb, Path<Comparable<Object>> sortPath, Path<Long> idPath,
+                                    Comparable<Object> value, Long lastId, boolean ascending, boolean sortById) {
+        Predicate afterId = ascending ? cb.greaterThan(idPath, lastId) : cb.lessThan(idPath, lastId);
+        if (sortById) {
+            return afterId;
+        }
+        if (value == null) {
+            // Nulls sort lowest: ascending continues into the non-null values, descending ends with the nulls
+            return ascending
+                ? cb.or(cb.and(cb.isNull(sortPath), afterId), cb.isNotNull(sortPath))
+                : cb.and(cb.isNull(sortPath), afterId);
+        }
+        Predicate sameValue = cb.and(cb.equal(sortPath, value), afterId);
+        return ascending
+            ? cb.or(cb.greaterThan(sortPath, value), sameValue)
+            : cb.or(cb.lessThan(sortPath, value), cb.isNull(sortPath), sameValue);
+    }
+
+    /**
+     * Formats a sort value for the cursor.
+     */
+    private String formatSortValue(Object value) {
+        if (value == null) {
+            return null;
+        }
+        return value instanceof Enum<?> constant ? constant.name() : value.toString();
+    }
+
+    /**
+     * Parses a cursor sort value back into the Java type of the sort path.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Comparable<Object> parseSortValue(Path<?> path, String value) {
+        if (value == null) {
+            return null;
+        }
+        Class<?> type = path.getJavaType();
+        try {
+            Object parsed;
+            if (type == String.class) {
+                parsed = value;
+            } else if (type == Long.class || type == long.class) {
+                parsed = Long.valueOf(value);
+            } else if (type == Integer.class || type == int.class) {
+                parsed = Integer.valueOf(value);
+            } else if (type == BigDecimal.class) {
+                parsed = new BigDecimal(value);
+            } else if (type == LocalDate.class) {
+                parsed = LocalDate.parse(value);
+            } else if (type == LocalDateTime.class) {
+                parsed = LocalDateTime.parse(value);
+            } else if (type == Boolean.class || type == boolean.class) {
+                parsed = Boolean.valueOf(value);
+            } else {
+                parsed = Enum.valueOf((Class) type, value);
+            }
+            return (Comparable<Object>) parsed;
+        } catch (RuntimeException e) {
+            throw new InvalidQueryParameterException("Malformed cursor");
+        }
+    }
+
     /**
      * Applies the specification to the query.
      */
-    private void applySpecification(Specification<T> specification, CriteriaBuilder cb, CriteriaQuery<T> query, Root<T> root) {
+    private void applySpecification(Specification<T> specification, CriteriaBuilder cb, CriteriaQuery<?> query, Root<T> root) {
         if(specification != null){
             Predicate predicate = specification.toPredicate(root,query, cb);
             if(predicate != null){
@@ -131,9 +371,9 @@ public class AbstractSpecificationRepository<T> {
     /**
      * Applies sorting to the query.
      */
-    private void applySorting(CriteriaBuilder cb, CriteriaQuery<T> query, Root<T> root, PageRequest pageRequest){
-        if(pageRequest.getSort().isSorted()){
-            query.orderBy(pageRequest.getSort().stream()
+    private void applySorting(CriteriaBuilder cb, CriteriaQuery<?> query, Root<T> root, Sort sort){
+        if(sort.isSorted()){
+            query.orderBy(sort.stream()
                 .map(order -> order.getDirection().isAscending()?
                     cb.asc(getSortPath(root, order.getProperty())):
                     cb.desc(getSortPath(root, order.getProperty())))
@@ -2,10 +2,20 @@ package com.digitinarytask.customer.repository;
 
 import com.digitinarytask.customer.domain.entity.Account;
 import com.digitinarytask.customer.repository.custom.AccountRepositoryCustom;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long>, AccountRepositoryCustom {
 
+    /**
+     * Locks the given accounts in ID order, so concurrent callers locking overlapping sets cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Account> findByIdInOrderByIdAsc(Collection<Long> ids);
 }
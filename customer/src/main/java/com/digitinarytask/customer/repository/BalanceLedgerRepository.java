@@ -0,0 +1,58 @@
+package com.digitinarytask.customer.repository;
+
+import com.digitinarytask.customer.domain.entity.BalanceLedgerEntry;
+import com.digitinarytask.customer.repository.projection.PendingAmount;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BalanceLedgerRepository extends JpaRepository<BalanceLedgerEntry, Long> {
+
+    /**
+     * Locks the oldest entries not yet compacted. Rows already locked by another compactor are skipped.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    List<BalanceLedgerEntry> findByCompactedAtIsNullOrderByIdAsc(Pageable pageable);
+
+    /**
+     * Sums the entries of each account that are not yet part of its balance.
+     */
+    @Query("SELECT new com.digitinarytask.customer.repository.projection.PendingAmount(l.accountId, SUM(l.amount)) "
+        + "FROM BalanceLedgerEntry l WHERE l.accountId IN :accountIds AND l.compactedAt IS NULL GROUP BY l.accountId")
+    List<PendingAmount> sumPendingByAccountId(@Param("accountIds") Collection<Long> accountIds);
+
+    /**
+     * Sums the entries posted up to the given time that the snapshot does not include: those not yet
+     * compacted, and those compacted into later snapshots of the account. Snapshots are compared by
+     * their stored times, so the result does not depend on the precision of the caller's copy.
+     */
+    @Query("SELECT COALESCE(SUM(l.amount), 0) FROM BalanceLedgerEntry l "
+        + "WHERE l.accountId = :accountId AND l.postedAt <= :at "
+        + "AND (l.snapshotId IS NULL OR l.snapshotId NOT IN ("
+        + "SELECT s.id FROM BalanceSnapshot s, BalanceSnapshot taken "
+        + "WHERE taken.id = :snapshotId AND s.accountId = :accountId "
+        + "AND (s.takenAt < taken.takenAt OR s.id = taken.id)))")
+    BigDecimal sumPostedSinceSnapshot(@Param("accountId") Long accountId,
+                                      @Param("snapshotId") Long snapshotId,
+                                      @Param("at") LocalDateTime at);
+
+    /**
+     * Sums the entries posted after the given time.
+     */
+    @Query("SELECT COALESCE(SUM(l.amount), 0) FROM BalanceLedgerEntry l "
+        + "WHERE l.accountId = :accountId AND l.postedAt > :at")
+    BigDecimal sumPostedAfter(@Param("accountId") Long accountId, @Param("at") LocalDateTime at);
+}
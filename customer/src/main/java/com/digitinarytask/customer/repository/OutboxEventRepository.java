@@ -0,0 +1,34 @@
+package com.digitinarytask.customer.repository;
+
+import com.digitinarytask.customer.domain.entity.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Locks the oldest events that are due. An event is held back while an earlier event of the same
+     * entity waits for its retry, so an entity's events are never published out of order. Rows already
+     * locked by another relay are skipped, so several instances can drain the outbox concurrently
+     * without publishing the same event twice.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM OutboxEvent o "
+        + "WHERE (o.nextAttemptAt IS NULL OR o.nextAttemptAt <= :now) "
+        + "AND NOT EXISTS (SELECT e.id FROM OutboxEvent e WHERE e.entityType = o.entityType "
+        + "AND e.entityId = o.entityId AND e.id < o.id AND e.nextAttemptAt > :now) "
+        + "ORDER BY o.id ASC")
+    List<OutboxEvent> findDueOrderByIdAsc(@Param("now") LocalDateTime now, Pageable pageable);
+}
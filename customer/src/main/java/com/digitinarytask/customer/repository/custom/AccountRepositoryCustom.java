@@ -1,11 +1,19 @@
 package com.digitinarytask.customer.repository.custom;
 
 import com.digitinarytask.customer.domain.entity.Account;
+import com.digitinarytask.customer.dto.projection.AccountSummary;
 import com.digitinarytask.customer.dto.search.AccountSearchDTO;
+import com.digitinarytask.customer.dto.reposnse.CursorPageDTO;
 import com.digitinarytask.customer.dto.reposnse.CustomerAccountsSummaryDTO;
+import com.digitinarytask.customer.repository.projection.AccountBalance;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
 /**
  * Custom repository interface for Account entity.
  */
@@ -21,6 +29,21 @@ public interface AccountRepositoryCustom {
      */
     Page<Account> search(AccountSearchDTO searchDTO);
 
+    /**
+     * Searches for accounts based on search criteria, selecting only the requested summary fields.
+     */
+    Page<AccountSummary> searchSummaries(AccountSearchDTO searchDTO, Collection<String> fields);
+
+    /**
+     * Searches for accounts based on search criteria, continuing after the given cursor.
+     */
+    CursorPageDTO<Account> searchByCursor(AccountSearchDTO searchDTO, String cursor, boolean withCount);
+
+    /**
+     * Streams every account matching the search criteria to the action, detaching each one afterwards.
+     */
+    void scrollSearch(AccountSearchDTO searchDTO, int fetchSize, Consumer<? super Account> action);
+
     /**
      * Finds accounts by customer ID.
      */
@@ -35,4 +58,25 @@ public interface AccountRepositoryCustom {
      * Checks if an account number already exists.
      */
     boolean existsByAccountNumber(String accountNumber);
+
+    /**
+     * Returns which of the given account numbers already exist, in one query.
+     */
+    Set<String> findExistingAccountNumbers(Collection<String> accountNumbers);
+
+    /**
+     * Reads the account number of every account, or only of the given ones when IDs are passed.
+     */
+    List<String> findAccountNumbers(Collection<Long> accountIds);
+
+    /**
+     * Reads the current balance (last snapshot plus pending ledger entries) and owning customer of the
+     * given accounts in one statement.
+     */
+    List<AccountBalance> findBalances(Collection<Long> accountIds);
+
+    /**
+     * Reads the current balance of every active account, or only of the given ones when IDs are passed.
+     */
+    List<AccountBalance> findActiveBalances(Collection<Long> accountIds);
 }
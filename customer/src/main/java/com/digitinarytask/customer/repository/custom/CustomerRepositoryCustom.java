@@ -1,11 +1,15 @@
 package com.digitinarytask.customer.repository.custom;
 
 import com.digitinarytask.customer.domain.entity.Customer;
+import com.digitinarytask.customer.dto.projection.CustomerSummary;
+import com.digitinarytask.customer.dto.reposnse.CursorPageDTO;
 import com.digitinarytask.customer.dto.search.CustomerSearchDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Custom repository interface for Customer entity.
@@ -15,6 +19,26 @@ public interface CustomerRepositoryCustom{
      * Searches for customers based on search criteria.
      */
     Page<Customer> search(CustomerSearchDTO searchDTO);
+    /**
+     * Searches for customers based on search criteria, selecting only the requested summary fields.
+     */
+    Page<CustomerSummary> searchSummaries(CustomerSearchDTO searchDTO, Collection<String> fields);
+    /**
+     * Finds a page of customers, selecting only the requested summary fields.
+     */
+    Page<CustomerSummary> findAllSummaries(Pageable pageable, Collection<String> fields);
+    /**
+     * Searches for customers based on search criteria, continuing after the given cursor.
+     */
+    CursorPageDTO<Customer> searchByCursor(CustomerSearchDTO searchDTO, String cursor, boolean withCount);
+    /**
+     * Streams every customer matching the search criteria to the action, detaching each one afterwards.
+     */
+    void scrollSearch(CustomerSearchDTO searchDTO, int fetchSize, Consumer<? super Customer> action);
+    /**
+     * Loads the addresses, accounts and organization of the given managed customers in a fixed number of queries.
+     */
+    void loadRelations(Collection<? extends Customer> customers);
     /**
      * Finds customers by type.
      */
@@ -1,9 +1,13 @@
 package com.digitinarytask.customer.repository.custom;
 
 import com.digitinarytask.customer.domain.entity.Organization;
+import com.digitinarytask.customer.dto.projection.OrganizationSummary;
+import com.digitinarytask.customer.dto.reposnse.CursorPageDTO;
 import com.digitinarytask.customer.dto.search.OrganizationSearchDTO;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.Optional;
 
 /**
@@ -15,6 +19,21 @@ public interface OrganizationRepositoryCustom {
      */
     Page<Organization> searchOrganizations(OrganizationSearchDTO searchDTO);
 
+    /**
+     * Searches for organizations based on search criteria, selecting only the requested summary fields.
+     */
+    Page<OrganizationSummary> searchSummaries(OrganizationSearchDTO searchDTO, Collection<String> fields);
+
+    /**
+     * Finds a page of organizations, selecting only the requested summary fields.
+     */
+    Page<OrganizationSummary> findAllSummaries(Pageable pageable, Collection<String> fields);
+
+    /**
+     * Searches for organizations based on search criteria, continuing after the given cursor.
+     */
+    CursorPageDTO<Organization> searchOrganizationsByCursor(OrganizationSearchDTO searchDTO, String cursor, boolean withCount);
+
     /**
      * Finds organizations by type.
      */
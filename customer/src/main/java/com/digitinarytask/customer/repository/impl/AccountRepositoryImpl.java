@@ -1,23 +1,56 @@
 package com.digitinarytask.customer.repository.impl;
 
 import com.digitinarytask.customer.domain.entity.Account;
+import com.digitinarytask.customer.domain.entity.BalanceLedgerEntry;
 import com.digitinarytask.customer.domain.enumeration.AccountStatus;
+import com.digitinarytask.customer.domain.enumeration.AccountType;
+import com.digitinarytask.customer.dto.projection.AccountSummary;
 import com.digitinarytask.customer.dto.search.AccountSearchDTO;
+import com.digitinarytask.customer.dto.reposnse.CursorPageDTO;
 import com.digitinarytask.customer.dto.reposnse.CustomerAccountsSummaryDTO;
 import com.digitinarytask.customer.repository.AbstractSpecificationRepository;
 import com.digitinarytask.customer.repository.custom.AccountRepositoryCustom;
+import com.digitinarytask.customer.repository.projection.AccountBalance;
+import com.digitinarytask.customer.repository.projection.ProjectionDefinition;
 import com.digitinarytask.customer.repository.specification.AccountSpecifications;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.criteria.*;
 import org.springframework.data.domain.*;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Custom repository implementation for Account entity.
  */
 public class AccountRepositoryImpl extends AbstractSpecificationRepository<Account> implements AccountRepositoryCustom {
+    private static final int DEFAULT_CURSOR_PAGE_SIZE = 10;
+
+    private static final ProjectionDefinition<Account, AccountSummary> SUMMARY = ProjectionDefinition
+        .<Account, AccountSummary>of(values -> new AccountSummary(
+            (Long) values.get("id"),
+            (String) values.get("accountNumber"),
+            (String) values.get("accountName"),
+            (BigDecimal) values.get("balance"),
+            (LocalDate) values.get("dateOpened"),
+            (AccountStatus) values.get("status"),
+            (AccountType) values.get("accountType"),
+            (Long) values.get("customerId")))
+        .column("id")
+        .column("accountNumber")
+        .column("accountName")
+        .column("balance", Account.CURRENT_BALANCE)
+        .column("dateOpened")
+        .column("status")
+        .column("accountType")
+        .column("customerId", "customer.id")
+        .build();
 
     public AccountRepositoryImpl(EntityManager entityManager) {
         super(entityManager);
@@ -42,8 +75,8 @@ public class AccountRepositoryImpl extends AbstractSpecificationRepository<Accou
 
         query.multiselect(
             cb.count(root).as(Long.class),
-            cb.sum(root.get("balance")).as(BigDecimal.class),
-            cb.avg(root.get("balance")).as(BigDecimal.class),
+            cb.sum(root.get(Account.CURRENT_BALANCE)).as(BigDecimal.class),
+            cb.avg(root.get(Account.CURRENT_BALANCE)).as(BigDecimal.class),
             activeCountSubquery.as(Long.class),
             inactiveCountSubquery.as(Long.class)
         ).where(customerPredicate);
@@ -75,7 +108,7 @@ public class AccountRepositoryImpl extends AbstractSpecificationRepository<Accou
     public Page<Account> findTopAccountsByBalance(int limit, Pageable pageable) {
         return findBySpecification(
             AccountSpecifications.withStatus(AccountStatus.ACTIVE).and(AccountSpecifications.withBalanceGt(BigDecimal.valueOf(limit))),
-            PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort()),
+            PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort(pageable.getSort())),
             Account.class
         );
     }
@@ -86,7 +119,7 @@ public class AccountRepositoryImpl extends AbstractSpecificationRepository<Accou
     @Override
     public Page<Account> search(AccountSearchDTO searchDTO) {
         Sort sort = searchDTO.getSortBy() != null
-            ? Sort.by(Sort.Direction.fromString(searchDTO.getSortDirection()), searchDTO.getSortBy())
+            ? Sort.by(Sort.Direction.fromString(searchDTO.getSortDirection()), sortProperty(searchDTO.getSortBy()))
             : Sort.unsorted();
 
         PageRequest pageRequest = PageRequest.of(
@@ -102,6 +135,52 @@ public class AccountRepositoryImpl extends AbstractSpecificationRepository<Accou
         );
     }
 
+    /**
+     * Searches for accounts based on search criteria, selecting only the requested summary fields.
+     */
+    @Override
+    public Page<AccountSummary> searchSummaries(AccountSearchDTO searchDTO, Collection<String> fields) {
+        Sort sort = searchDTO.getSortBy() != null
+            ? Sort.by(Sort.Direction.fromString(searchDTO.getSortDirection()), sortProperty(searchDTO.getSortBy()))
+            : Sort.unsorted();
+
+        return findProjectedBySpecification(
+            AccountSpecifications.withSearchCriteria(searchDTO),
+            PageRequest.of(searchDTO.getPage(), searchDTO.getSize(), sort),
+            SUMMARY,
+            fields,
+            Account.class
+        );
+    }
+
+    /**
+     * Searches for accounts based on search criteria, continuing after the given cursor.
+     */
+    @Override
+    public CursorPageDTO<Account> searchByCursor(AccountSearchDTO searchDTO, String cursor, boolean withCount) {
+        return findByKeyset(
+            AccountSpecifications.withSearchCriteria(searchDTO),
+            searchDTO.getSortBy() != null ? sortProperty(searchDTO.getSortBy()) : "id",
+            searchDTO.getSortDirection() != null ? Sort.Direction.fromString(searchDTO.getSortDirection()) : Sort.Direction.ASC,
+            cursor,
+            searchDTO.getSize() != null ? searchDTO.getSize() : DEFAULT_CURSOR_PAGE_SIZE,
+            withCount,
+            Account.class
+        );
+    }
+
+    /**
+     * Streams every account matching the search criteria to the action, detaching each one afterwards.
+     */
+    @Override
+    public void scrollSearch(AccountSearchDTO searchDTO, int fetchSize, Consumer<? super Account> action) {
+        Sort sort = searchDTO.getSortBy() != null
+            ? Sort.by(Sort.Direction.fromString(searchDTO.getSortDirection()), sortProperty(searchDTO.getSortBy()))
+            : Sort.by("id");
+
+        scrollBySpecification(AccountSpecifications.withSearchCriteria(searchDTO), sort, fetchSize, Account.class, action);
+    }
+
     /**
      * Checks if an account number already exists.
      */
@@ -110,6 +189,91 @@ public class AccountRepositoryImpl extends AbstractSpecificationRepository<Accou
        return existsBySpecification(AccountSpecifications.withAccountNumber(accountNumber), Account.class);
     }
 
+    /**
+     * Returns which of the given account numbers already exist, in one query.
+     */
+    @Override
+    public Set<String> findExistingAccountNumbers(Collection<String> accountNumbers) {
+        if (accountNumbers.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(selectAccountNumbers(AccountSpecifications.withAccountNumbers(accountNumbers)));
+    }
+
+    /**
+     * Reads the account number of every account, or of the given ones when IDs are passed.
+     */
+    @Override
+    public List<String> findAccountNumbers(Collection<Long> accountIds) {
+        if (accountIds == null) {
+            return selectAccountNumbers(null);
+        }
+        if (accountIds.isEmpty()) {
+            return List.of();
+        }
+        return selectAccountNumbers(AccountSpecifications.withIds(accountIds));
+    }
+
+    private List<String> selectAccountNumbers(Specification<Account> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<String> query = cb.createQuery(String.class);
+        Root<Account> root = query.from(Account.class);
+
+        query.select(root.get("accountNumber"));
+        if (specification != null) {
+            query.where(specification.toPredicate(root, query, cb));
+        }
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    /**
+     * Reads the current balance (last snapshot plus pending ledger entries) and owning customer of the
+     * given accounts in one statement, so a concurrent compaction is never seen half applied.
+     */
+    @Override
+    public List<AccountBalance> findBalances(Collection<Long> accountIds) {
+        if (accountIds.isEmpty()) {
+            return List.of();
+        }
+        return selectBalances(AccountSpecifications.withIds(accountIds));
+    }
+
+    /**
+     * Reads the current balance of every active account, or of the given ones when IDs are passed.
+     */
+    @Override
+    public List<AccountBalance> findActiveBalances(Collection<Long> accountIds) {
+        Specification<Account> active = AccountSpecifications.withStatus(AccountStatus.ACTIVE);
+        if (accountIds == null) {
+            return selectBalances(active);
+        }
+        if (accountIds.isEmpty()) {
+            return List.of();
+        }
+        return selectBalances(active.and(AccountSpecifications.withIds(accountIds)));
+    }
+
+    private List<AccountBalance> selectBalances(Specification<Account> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AccountBalance> query = cb.createQuery(AccountBalance.class);
+        Root<Account> root = query.from(Account.class);
+
+        Subquery<BigDecimal> pending = query.subquery(BigDecimal.class);
+        Root<BalanceLedgerEntry> entry = pending.from(BalanceLedgerEntry.class);
+        pending.select(cb.coalesce(cb.sum(entry.<BigDecimal>get("amount")), BigDecimal.ZERO))
+            .where(
+                cb.equal(entry.get("accountId"), root.get("id")),
+                cb.isNull(entry.get("compactedAt")));
+
+        query.select(cb.construct(AccountBalance.class,
+                root.get("id"),
+                root.get("customer").get("id"),
+                cb.sum(root.<BigDecimal>get("balance"), pending)))
+            .where(specification.toPredicate(root, query, cb));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
     /**
      * Finds accounts by customer ID.
      */
@@ -117,8 +281,21 @@ public class AccountRepositoryImpl extends AbstractSpecificationRepository<Accou
     public Page<Account> findByCustomerId(Long customerId, Pageable pageable) {
         return findBySpecification(
             AccountSpecifications.withCustomerId(customerId),
-            PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort()),
+            PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort(pageable.getSort())),
             Account.class
         );
     }
+
+    /**
+     * Sorts by the current balance where the snapshot balance is asked for, like the balance filters.
+     */
+    private static String sortProperty(String property) {
+        return "balance".equals(property) ? Account.CURRENT_BALANCE : property;
+    }
+
+    private static Sort sort(Sort sort) {
+        return Sort.by(sort.stream()
+            .map(order -> order.withProperty(sortProperty(order.getProperty())))
+            .toList());
+    }
 }
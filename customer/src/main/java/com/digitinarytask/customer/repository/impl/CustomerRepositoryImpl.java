@@ -2,18 +2,26 @@ package com.digitinarytask.customer.repository.impl;
 
 import com.digitinarytask.customer.domain.entity.Customer;
 import com.digitinarytask.customer.domain.entity.IndividualCustomer;
+import com.digitinarytask.customer.domain.entity.Organization;
 import com.digitinarytask.customer.domain.entity.OrganizationCustomer;
+import com.digitinarytask.customer.dto.projection.CustomerSummary;
+import com.digitinarytask.customer.dto.reposnse.CursorPageDTO;
 import com.digitinarytask.customer.dto.search.CustomerSearchDTO;
 import com.digitinarytask.customer.repository.AbstractSpecificationRepository;
 import com.digitinarytask.customer.repository.custom.CustomerRepositoryCustom;
+import com.digitinarytask.customer.repository.projection.ProjectionDefinition;
 import com.digitinarytask.customer.repository.specification.CustomerSpecifications;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Root;
+import org.hibernate.Hibernate;
 import org.springframework.data.domain.*;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 
 /**
@@ -21,6 +29,21 @@ import java.util.List;
  */
 public class CustomerRepositoryImpl extends AbstractSpecificationRepository<Customer>
     implements CustomerRepositoryCustom {
+    private static final int DEFAULT_CURSOR_PAGE_SIZE = 10;
+
+    private static final ProjectionDefinition<Customer, CustomerSummary> SUMMARY = ProjectionDefinition
+        .<Customer, CustomerSummary>of(values -> new CustomerSummary(
+            (Long) values.get("id"),
+            (String) values.get("customerType"),
+            (String) values.get("name"),
+            (String) values.get("mobileNo")))
+        .column("id")
+        .column("customerType", (root, cb) -> cb.<String>selectCase()
+            .when(cb.equal(root.type(), IndividualCustomer.class), "INDIVIDUAL")
+            .otherwise("ORGANIZATION"))
+        .column("name")
+        .column("mobileNo")
+        .build();
 
 
     public CustomerRepositoryImpl(EntityManager entityManager) {
@@ -45,6 +68,101 @@ public class CustomerRepositoryImpl extends AbstractSpecificationRepository<Cust
         return findBySpecification(CustomerSpecifications.withSearchCriteria(searchDTO), pageRequest, Customer.class);
     }
 
+    /**
+     * Searches for customers based on search criteria, selecting only the requested summary fields.
+     */
+    @Override
+    public Page<CustomerSummary> searchSummaries(CustomerSearchDTO searchDTO, Collection<String> fields) {
+        Sort sort = searchDTO.getSortBy() != null
+            ? Sort.by(Sort.Direction.fromString(searchDTO.getSortDirection()), searchDTO.getSortBy())
+            : Sort.unsorted();
+
+        return findProjectedBySpecification(
+            CustomerSpecifications.withSearchCriteria(searchDTO),
+            PageRequest.of(searchDTO.getPage(), searchDTO.getSize(), sort),
+            SUMMARY,
+            fields,
+            Customer.class
+        );
+    }
+
+    /**
+     * Finds a page of customers, selecting only the requested summary fields.
+     */
+    @Override
+    public Page<CustomerSummary> findAllSummaries(Pageable pageable, Collection<String> fields) {
+        return findProjectedBySpecification(
+            null,
+            PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort()),
+            SUMMARY,
+            fields,
+            Customer.class
+        );
+    }
+
+    /**
+     * Searches for customers based on search criteria, continuing after the given cursor.
+     */
+    @Override
+    public CursorPageDTO<Customer> searchByCursor(CustomerSearchDTO searchDTO, String cursor, boolean withCount) {
+        return findByKeyset(
+            CustomerSpecifications.withSearchCriteria(searchDTO),
+            searchDTO.getSortBy() != null ? searchDTO.getSortBy() : "id",
+            searchDTO.getSortDirection() != null ? Sort.Direction.fromString(searchDTO.getSortDirection()) : Sort.Direction.ASC,
+            cursor,
+            searchDTO.getSize() != null ? searchDTO.getSize() : DEFAULT_CURSOR_PAGE_SIZE,
+            withCount,
+            Customer.class
+        );
+    }
+
+    /**
+     * Streams every customer matching the search criteria to the action, detaching each one afterwards.
+     */
+    @Override
+    public void scrollSearch(CustomerSearchDTO searchDTO, int fetchSize, Consumer<? super Customer> action) {
+        Sort sort = searchDTO.getSortBy() != null
+            ? Sort.by(Sort.Direction.fromString(searchDTO.getSortDirection()), searchDTO.getSortBy())
+            : Sort.by("id");
+
+        scrollBySpecification(CustomerSpecifications.withSearchCriteria(searchDTO), sort, fetchSize, Customer.class, action);
+    }
+
+    /**
+     * Loads the addresses, accounts and organization of the given managed customers in a fixed number of queries.
+     * Each association is fetched by a separate IN query so the rows do not multiply into a cartesian product.
+     */
+    @Override
+    public void loadRelations(Collection<? extends Customer> customers) {
+        if (customers.isEmpty()) {
+            return;
+        }
+        List<Long> customerIds = customers.stream().map(Customer::getId).toList();
+
+        // Organizations first: loading the collections hashes their owners, which would otherwise
+        // initialize each organization proxy on its own. The inverse one-to-one back to the customer
+        // cannot be proxied, so it is fetched in the same query instead of one query per organization
+        List<Long> organizationIds = customers.stream()
+            .filter(OrganizationCustomer.class::isInstance)
+            .map(customer -> ((OrganizationCustomer) customer).getOrganization())
+            .filter(Objects::nonNull)
+            .filter(organization -> !Hibernate.isInitialized(organization))
+            .map(Organization::getId)
+            .toList();
+        if (!organizationIds.isEmpty()) {
+            entityManager.createQuery("select o from Organization o left join fetch o.organizationCustomer where o.id in :ids", Organization.class)
+                .setParameter("ids", organizationIds)
+                .getResultList();
+        }
+
+        entityManager.createQuery("select c from Customer c left join fetch c.addresses where c.id in :ids", Customer.class)
+            .setParameter("ids", customerIds)
+            .getResultList();
+        entityManager.createQuery("select c from Customer c left join fetch c.accounts where c.id in :ids", Customer.class)
+            .setParameter("ids", customerIds)
+            .getResultList();
+    }
+
     /**
      * Finds customers by type.
      */
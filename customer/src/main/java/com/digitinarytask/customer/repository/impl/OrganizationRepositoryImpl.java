@@ -1,19 +1,37 @@
 package com.digitinarytask.customer.repository.impl;
 
 import com.digitinarytask.customer.domain.entity.Organization;
+import com.digitinarytask.customer.dto.projection.OrganizationSummary;
+import com.digitinarytask.customer.dto.reposnse.CursorPageDTO;
 import com.digitinarytask.customer.dto.search.OrganizationSearchDTO;
 import com.digitinarytask.customer.repository.AbstractSpecificationRepository;
 import com.digitinarytask.customer.repository.custom.OrganizationRepositoryCustom;
+import com.digitinarytask.customer.repository.projection.ProjectionDefinition;
 import com.digitinarytask.customer.repository.specification.OrganizationSpecifications;
 import jakarta.persistence.EntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
+import java.util.Collection;
 import java.util.Optional;
 
 public class OrganizationRepositoryImpl extends AbstractSpecificationRepository<Organization>
     implements OrganizationRepositoryCustom {
+    private static final int DEFAULT_CURSOR_PAGE_SIZE = 10;
+
+    private static final ProjectionDefinition<Organization, OrganizationSummary> SUMMARY = ProjectionDefinition
+        .<Organization, OrganizationSummary>of(values -> new OrganizationSummary(
+            (Long) values.get("id"),
+            (String) values.get("registrationNumber"),
+            (String) values.get("legalName"),
+            (String) values.get("trademarkName")))
+        .column("id")
+        .column("registrationNumber")
+        .column("legalName")
+        .column("trademarkName")
+        .build();
 
     public OrganizationRepositoryImpl(EntityManager entityManager) {
         super(entityManager);
@@ -35,6 +53,54 @@ public class OrganizationRepositoryImpl extends AbstractSpecificationRepository<
         );
     }
 
+    /**
+     * Searches for organizations based on search criteria, selecting only the requested summary fields.
+     */
+    @Override
+    public Page<OrganizationSummary> searchSummaries(OrganizationSearchDTO searchDTO, Collection<String> fields) {
+        Sort sort = searchDTO.getSortBy() != null
+            ? Sort.by(Sort.Direction.fromString(searchDTO.getSortDirection()), searchDTO.getSortBy())
+            : Sort.by(Sort.Direction.ASC, "legalName");
+
+        return findProjectedBySpecification(
+            OrganizationSpecifications.withSearchCriteria(searchDTO),
+            PageRequest.of(searchDTO.getPage(), searchDTO.getSize(), sort),
+            SUMMARY,
+            fields,
+            Organization.class
+        );
+    }
+
+    /**
+     * Finds a page of organizations, selecting only the requested summary fields.
+     */
+    @Override
+    public Page<OrganizationSummary> findAllSummaries(Pageable pageable, Collection<String> fields) {
+        return findProjectedBySpecification(
+            null,
+            PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort()),
+            SUMMARY,
+            fields,
+            Organization.class
+        );
+    }
+
+    /**
+     * Searches for organizations based on search criteria, continuing after the given cursor.
+     */
+    @Override
+    public CursorPageDTO<Organization> searchOrganizationsByCursor(OrganizationSearchDTO searchDTO, String cursor, boolean withCount) {
+        return findByKeyset(
+            OrganizationSpecifications.withSearchCriteria(searchDTO),
+            searchDTO.getSortBy() != null ? searchDTO.getSortBy() : "legalName",
+            searchDTO.getSortDirection() != null ? Sort.Direction.fromString(searchDTO.getSortDirection()) : Sort.Direction.ASC,
+            cursor,
+            searchDTO.getSize() != null ? searchDTO.getSize() : DEFAULT_CURSOR_PAGE_SIZE,
+            withCount,
+            Organization.class
+        );
+    }
+
     /**
      * Finds organizations by customer ID.
      */
@@ -0,0 +1,58 @@
+package com.digitinarytask.customer.repository.keyset;
+
+import com.digitinarytask.customer.exception.InvalidQueryParameterException;
+import org.springframework.data.domain.Sort;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a keyset page: the sort property, its direction, the row's sort value and id.
+ * Clients only ever see the encoded, URL-safe form.
+ */
+public record KeysetCursor(String sortBy, Sort.Direction direction, String sortValue, Long id) {
+
+    private static final byte VERSION = 1;
+
+    /**
+     * Encodes the cursor into an opaque token.
+     */
+    public String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeUTF(sortBy);
+            out.writeBoolean(direction.isAscending());
+            out.writeBoolean(sortValue != null);
+            if (sortValue != null) {
+                out.writeUTF(sortValue);
+            }
+            out.writeLong(id);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode cursor", e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     */
+    public static KeysetCursor decode(String token) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            if (in.readByte() != VERSION) {
+                throw new InvalidQueryParameterException("Unsupported cursor version");
+            }
+            String sortBy = in.readUTF();
+            Sort.Direction direction = in.readBoolean() ? Sort.Direction.ASC : Sort.Direction.DESC;
+            String sortValue = in.readBoolean() ? in.readUTF() : null;
+            long id = in.readLong();
+            return new KeysetCursor(sortBy, direction, sortValue, id);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new InvalidQueryParameterException("Malformed cursor");
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.digitinarytask.customer.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Current balance of an account together with the customer that owns it.
+ */
+public record AccountBalance(Long id, Long customerId, BigDecimal balance) {
+}
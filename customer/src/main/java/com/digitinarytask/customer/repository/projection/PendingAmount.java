@@ -0,0 +1,9 @@
+package com.digitinarytask.customer.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Sum of the ledger entries of an account that are not yet compacted into its balance.
+ */
+public record PendingAmount(Long accountId, BigDecimal amount) {
+}
@@ -0,0 +1,107 @@
+package com.digitinarytask.customer.repository.projection;
+
+import com.digitinarytask.customer.exception.InvalidQueryParameterException;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * The columns of an entity that can be selected into a projection record, and how to build the record
+ * from whichever of them were selected.
+ */
+public final class ProjectionDefinition<T, P> {
+    private final Map<String, BiFunction<Root<T>, CriteriaBuilder, Expression<?>>> columns;
+    private final Function<Map<String, Object>, P> factory;
+
+    private ProjectionDefinition(Map<String, BiFunction<Root<T>, CriteriaBuilder, Expression<?>>> columns,
+                                 Function<Map<String, Object>, P> factory) {
+        this.columns = columns;
+        this.factory = factory;
+    }
+
+    public static <T, P> Builder<T, P> of(Function<Map<String, Object>, P> factory) {
+        return new Builder<>(factory);
+    }
+
+    /**
+     * Creates the aliased selections for the requested fields, or for every column when none are requested.
+     */
+    public List<Selection<?>> selections(Root<T> root, CriteriaBuilder cb, Collection<String> fields) {
+        Collection<String> selected = fields == null || fields.isEmpty() ? columns.keySet() : fields;
+        List<Selection<?>> selections = new ArrayList<>(selected.size());
+        for (String field : selected) {
+            BiFunction<Root<T>, CriteriaBuilder, Expression<?>> column = columns.get(field);
+            if (column == null) {
+                throw new InvalidQueryParameterException("Unknown field: " + field + ", expected any of " + columns.keySet());
+            }
+            selections.add(column.apply(root, cb).alias(field));
+        }
+        return selections;
+    }
+
+    /**
+     * Builds the projection record from a result row; fields that were not selected are null.
+     */
+    public P toRecord(Tuple tuple) {
+        Map<String, Object> values = new HashMap<>();
+        for (TupleElement<?> element : tuple.getElements()) {
+            values.put(element.getAlias(), tuple.get(element));
+        }
+        return factory.apply(values);
+    }
+
+    public static final class Builder<T, P> {
+        private final Map<String, BiFunction<Root<T>, CriteriaBuilder, Expression<?>>> columns = new LinkedHashMap<>();
+        private final Function<Map<String, Object>, P> factory;
+
+        private Builder(Function<Map<String, Object>, P> factory) {
+            this.factory = factory;
+        }
+
+        /**
+         * Adds a column read from the entity property of the same name.
+         */
+        public Builder<T, P> column(String name) {
+            return column(name, name);
+        }
+
+        /**
+         * Adds a column read from a (possibly nested, dot-separated) entity property.
+         */
+        public Builder<T, P> column(String name, String property) {
+            String[] parts = property.split("\\.");
+            return column(name, (root, cb) -> {
+                Path<?> path = root.get(parts[0]);
+                for (int i = 1; i < parts.length; i++) {
+                    path = path.get(parts[i]);
+                }
+                return path;
+            });
+        }
+
+        /**
+         * Adds a column computed by an arbitrary expression.
+         */
+        public Builder<T, P> column(String name, BiFunction<Root<T>, CriteriaBuilder, Expression<?>> expression) {
+            columns.put(name, expression);
+            return this;
+        }
+
+        public ProjectionDefinition<T, P> build() {
+            return new ProjectionDefinition<>(new LinkedHashMap<>(columns), factory);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -32,12 +33,12 @@ public class AccountSpecifications {
             }
 
             if (searchDTO.getMinBalance() != null) {
-                predicates.add(cb.greaterThanOrEqualTo(root.get("balance"),
+                predicates.add(cb.greaterThanOrEqualTo(root.get(Account.CURRENT_BALANCE),
                     searchDTO.getMinBalance()));
             }
 
             if (searchDTO.getMaxBalance() != null) {
-                predicates.add(cb.lessThanOrEqualTo(root.get("balance"),
+                predicates.add(cb.lessThanOrEqualTo(root.get(Account.CURRENT_BALANCE),
                     searchDTO.getMaxBalance()));
             }
 
@@ -78,11 +79,19 @@ public class AccountSpecifications {
         return (root, query, cb) -> cb.equal(root.get("accountNumber"), accountNumber);
     }
 
+    public static Specification<Account> withAccountNumbers(Collection<String> accountNumbers){
+        return (root, query, cb) -> root.get("accountNumber").in(accountNumbers);
+    }
+
+    public static Specification<Account> withIds(Collection<Long> ids){
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
     public static Specification<Account> withCustomerId(Long customerId){
         return (root, query, cb) -> cb.equal(root.get("customer").get("id"), customerId);
     }
 
     public static Specification<Account> withBalanceGt(BigDecimal balance) {
-        return (root, query, cb) -> cb.greaterThan(root.get("balance"), balance);
+        return (root, query, cb) -> cb.greaterThan(root.get(Account.CURRENT_BALANCE), balance);
     }
 }
@@ -0,0 +1,265 @@
+package com.digitinarytask.customer.service;
+
+import com.digitinarytask.customer.domain.entity.Account;
+import com.digitinarytask.customer.repository.AccountRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory Bloom filter of every existing account number, so checking new numbers for duplicates
+ * usually needs no query at all.
+ * <p>
+ * A number the filter has never seen definitely does not exist. Possible matches are confirmed with
+ * one batched query for the whole set. Services add numbers as soon as they save them, before the
+ * commit, so the filter never misses an account committed on this instance; a rolled back save only
+ * leaves a false positive.
+ * <p>
+ * Numbers created on other instances only reach the filter with its next rebuild, so the unique
+ * constraint on {@code account.account_number} has the final say for them. Services report a violation
+ * of it as a duplicate account number, see {@link #isDuplicateAccountNumber}.
+ * <p>
+ * Deleted numbers cannot be taken out of a Bloom filter and stay possible matches until the next
+ * rebuild. The filter is rebuilt from the database when the application is ready, and again once
+ * enough numbers were deleted or added since, which also resizes it to the current account count.
+ */
+@Component
+@Slf4j
+public class AccountNumberFilter {
+    /**
+     * Smallest number of insertions a filter is sized for.
+     */
+    private static final long MIN_CAPACITY = 10_000;
+
+    private final AccountRepository accountRepository;
+    private final Object lock = new Object();
+
+    @Value("${account-numbers.filter.false-positive-rate}")
+    private double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+    private final AtomicLong removedSinceRebuild = new AtomicLong();
+
+    // Guarded by lock: numbers saved by transactions that have not completed yet, and numbers added
+    // while a rebuild reads the database
+    private final Map<String, Integer> inFlight = new HashMap<>();
+    private Set<String> addedDuringRebuild;
+
+    public AccountNumberFilter(AccountRepository accountRepository) {
+        this.accountRepository = accountRepository;
+    }
+
+
+    /**
+     * Returns which of the given account numbers already exist. Numbers the filter rules out are not
+     * queried; the rest are checked with one query.
+     */
+    public Set<String> findExisting(Collection<String> accountNumbers) {
+        BloomFilter current = filter;
+        List<String> candidates = accountNumbers.stream()
+            .filter(Objects::nonNull)
+            .filter(accountNumber -> current == null || current.mightContain(accountNumber))
+            .distinct()
+            .toList();
+        if (candidates.isEmpty()) {
+            return Set.of();
+        }
+        return accountRepository.findExistingAccountNumbers(candidates);
+    }
+
+    /**
+     * Adds account numbers that are being saved. Inside a transaction they are also kept for any rebuild
+     * that starts before the commit, since that rebuild would not read them from the database.
+     */
+    public void add(Collection<String> accountNumbers) {
+        List<String> added = accountNumbers.stream().filter(Objects::nonNull).toList();
+        if (added.isEmpty()) {
+            return;
+        }
+
+        boolean inTransaction = TransactionSynchronizationManager.isSynchronizationActive();
+        synchronized (lock) {
+            BloomFilter current = filter;
+            for (String accountNumber : added) {
+                if (current != null) {
+                    current.put(accountNumber);
+                }
+                if (addedDuringRebuild != null) {
+                    addedDuringRebuild.add(accountNumber);
+                }
+                if (inTransaction) {
+                    inFlight.merge(accountNumber, 1, Integer::sum);
+                }
+            }
+        }
+
+        if (inTransaction) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    synchronized (lock) {
+                        added.forEach(accountNumber -> inFlight.computeIfPresent(accountNumber,
+                            (key, count) -> count > 1 ? count - 1 : null));
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Notes account numbers that are being deleted. They stay in the filter until the next rebuild.
+     */
+    public void remove(Collection<String> accountNumbers) {
+        removedSinceRebuild.addAndGet(accountNumbers.size());
+    }
+
+    /**
+     * Rebuilds the filter once deletions have made enough of it stale, or once it holds more numbers
+     * than it was sized for and false positives climb.
+     */
+    @Scheduled(initialDelayString = "${account-numbers.filter.check-interval-ms}", fixedDelayString = "${account-numbers.filter.check-interval-ms}")
+    public void rebuildIfStale() {
+        BloomFilter current = filter;
+        if (current == null
+            || current.insertions() > current.capacity()
+            || removedSinceRebuild.get() > current.capacity() / 10) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Rebuilds the filter from the database, sized for twice the current number of accounts.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        Set<String> added = new HashSet<>();
+        Set<String> uncommitted;
+        synchronized (lock) {
+            addedDuringRebuild = added;
+            uncommitted = Set.copyOf(inFlight.keySet());
+        }
+
+        try {
+            List<String> accountNumbers = accountRepository.findAccountNumbers(null);
+            BloomFilter rebuilt = new BloomFilter(Math.max(MIN_CAPACITY, 2L * accountNumbers.size()), falsePositiveRate);
+            accountNumbers.forEach(rebuilt::put);
+            uncommitted.forEach(rebuilt::put);
+
+            synchronized (lock) {
+                added.forEach(rebuilt::put);
+                filter = rebuilt;
+                addedDuringRebuild = null;
+            }
+            removedSinceRebuild.set(0);
+            log.info("Rebuilt account number filter with {} account numbers", accountNumbers.size());
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                addedDuringRebuild = null;
+            }
+            log.error("Failed to rebuild account number filter: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Whether the exception, or one of its causes, is a violation of the unique account number constraint.
+     */
+    public static boolean isDuplicateAccountNumber(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(Account.ACCOUNT_NUMBER_CONSTRAINT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Fixed-size Bloom filter over a shared bit array; concurrent puts and lookups are safe.
+     */
+    static final class BloomFilter {
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final int hashCount;
+        private final long capacity;
+        private final AtomicLong insertions = new AtomicLong();
+
+        BloomFilter(long capacity, double falsePositiveRate) {
+            double ln2 = Math.log(2);
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (ln2 * ln2));
+            this.bits = new AtomicLongArray((int) Math.max(1, (optimalBits + 63) / 64));
+            this.bitCount = bits.length() * 64L;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * ln2));
+            this.capacity = capacity;
+        }
+
+        long capacity() {
+            return capacity;
+        }
+
+        long insertions() {
+            return insertions.get();
+        }
+
+        void put(String value) {
+            long hash = hash(value);
+            long step = mix(hash) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(hash + i * step, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = bits.get(word);
+                } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+            }
+            insertions.incrementAndGet();
+        }
+
+        boolean mightContain(String value) {
+            long hash = hash(value);
+            long step = mix(hash) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(hash + i * step, bitCount);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * 64-bit FNV-1a over the UTF-8 bytes.
+         */
+        private static long hash(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b & 0xff;
+                hash *= 0x100000001b3L;
+            }
+            return mix(hash);
+        }
+
+        /**
+         * MurmurHash3 finalizer, spreading every input bit over the whole result.
+         */
+        private static long mix(long hash) {
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            hash *= 0xc4ceb9fe1a85ec53L;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+}
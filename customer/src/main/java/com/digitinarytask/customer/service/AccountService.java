@@ -1,33 +1,43 @@
 package com.digitinarytask.customer.service;
 
 import com.digitinarytask.shared.annotation.Notifiable;
+import com.digitinarytask.customer.cache.CacheInvalidator;
+import com.digitinarytask.customer.cache.EntityRef;
 import com.digitinarytask.customer.domain.entity.Account;
 import com.digitinarytask.customer.domain.entity.Customer;
 import com.digitinarytask.customer.domain.enumeration.error.AccountErrorCode;
 import com.digitinarytask.customer.dto.domain.AccountDTO;
+import com.digitinarytask.customer.dto.domain.BalancePostingDTO;
 import com.digitinarytask.customer.dto.mapper.AccountMapper;
+import com.digitinarytask.customer.dto.projection.AccountSummary;
 import com.digitinarytask.customer.dto.search.AccountSearchDTO;
+import com.digitinarytask.customer.dto.reposnse.AccountBalanceDTO;
+import com.digitinarytask.customer.dto.reposnse.BalancePostingResultDTO;
+import com.digitinarytask.customer.dto.reposnse.CursorPageDTO;
 import com.digitinarytask.customer.dto.reposnse.CustomerAccountsSummaryDTO;
 import com.digitinarytask.customer.exception.AccountException;
 import com.digitinarytask.customer.repository.AccountRepository;
 import com.digitinarytask.customer.repository.CustomerRepository;
+import com.digitinarytask.customer.repository.projection.AccountBalance;
 import com.digitinarytask.customer.service.validation.AccountValidationService;
 import com.digitinarytask.shared.enumeration.NotificationType;
+import com.digitinarytask.shared.event.NotificationEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
 import java.math.BigDecimal;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 @Validated
@@ -37,18 +47,21 @@ public class AccountService {
     private final AccountRepository accountRepository;
     private final CustomerRepository customerRepository;
     private final AccountMapper accountMapper;
-    private final Lock balanceUpdateLock = new ReentrantLock();
     private final AccountValidationService accountValidationService;
+    private final BalanceLedgerService balanceLedgerService;
+    private final TopAccountsIndex topAccountsIndex;
+    private final OutboxService outboxService;
+    private final CacheInvalidator cacheInvalidator;
+    private final AccountNumberFilter accountNumberFilter;
+
+    @Value("${account.balance-posting.max-postings}")
+    private int maxBalancePostings;
 
 
     /**
      * Creates a new account for a customer.
      */
     @Transactional
-    @Caching(evict = {
-        @CacheEvict(value = "topAccounts", allEntries = true),
-        @CacheEvict(value = "customers", key = "#customerId")
-    })
     @CachePut(value = "accounts", key = "#result.id")
     @Notifiable(type = NotificationType.ACCOUNT_CREATED, entityType = "ACCOUNT")
     public AccountDTO createAccount(Long customerId, AccountDTO accountDTO) {
@@ -69,7 +82,11 @@ public class AccountService {
             // Create and save account
             Account account = accountMapper.toEntity(accountDTO);
             account.setCustomer(customer);
-            account = accountRepository.save(account);
+            // Flush here, so a number taken meanwhile on another instance fails on the unique constraint
+            account = accountRepository.saveAndFlush(account);
+            accountNumberFilter.add(List.of(account.getAccountNumber()));
+            topAccountsIndex.refresh(List.of(account.getId()));
+            cacheInvalidator.invalidate(EntityRef.customer(customerId), EntityRef.account(account.getId()));
 
             log.info("Account created successfully with ID: {}", account.getId());
             return accountMapper.toDTO(account);
@@ -77,6 +94,10 @@ public class AccountService {
         } catch (AccountException e) {
             throw e;
         } catch (Exception e) {
+            if (AccountNumberFilter.isDuplicateAccountNumber(e)) {
+                throw new AccountException("Account number already exists",
+                    AccountErrorCode.DUPLICATE_ACCOUNT_NUMBER);
+            }
             log.error("Error creating account: {}", e.getMessage(), e);
             throw new AccountException("Failed to create account",
                 AccountErrorCode.ACCOUNT_CREATION_ERROR);
@@ -87,11 +108,6 @@ public class AccountService {
      * Updates an existing account.
      */
     @Transactional
-    @Caching(evict = {
-        @CacheEvict(value = "topAccounts", allEntries = true),
-        @CacheEvict(value = "accounts", key = "#id"),
-        @CacheEvict(value = "customers", key = "#result.customerId") // Ensure #result.customerId is valid
-    })
     @Notifiable(type = NotificationType.ACCOUNT_UPDATED, entityType = "ACCOUNT")
     public AccountDTO updateAccount(Long id, AccountDTO accountDTO) {
         log.info("Updating account: {}", id);
@@ -99,17 +115,24 @@ public class AccountService {
         accountValidationService.validateId(id);
 
         try {
-            // Get existing account
-            Account existingAccount = getAccountOrThrow(id);
+            // Lock the account, so a ledger compaction cannot change the balance between reading it
+            // here and writing it back below
+            Account existingAccount = accountRepository.findByIdInOrderByIdAsc(List.of(id)).stream()
+                .findFirst()
+                .orElseThrow(() -> new AccountException("Account not found",
+                    AccountErrorCode.ACCOUNT_NOT_FOUND));
 
             // Validate update
             accountValidationService.validateAccountUpdate(existingAccount, accountDTO);
 
-            // Update account
+            // Update account; the balance only changes through ledger postings
             Account updatedAccount = accountMapper.toEntity(accountDTO);
             updatedAccount.setId(id);
             updatedAccount.setCustomer(existingAccount.getCustomer());
-            updatedAccount = accountRepository.save(updatedAccount);
+            updatedAccount.setBalance(existingAccount.getBalance());
+            updatedAccount = accountRepository.saveAndFlush(updatedAccount);
+            topAccountsIndex.refresh(List.of(id));
+            cacheInvalidator.invalidate(EntityRef.account(id));
 
             log.info("Account updated successfully: {}", id);
             return accountMapper.toDTO(updatedAccount);
@@ -117,6 +140,10 @@ public class AccountService {
         } catch (AccountException e) {
             throw e;
         } catch (Exception e) {
+            if (AccountNumberFilter.isDuplicateAccountNumber(e)) {
+                throw new AccountException("Account number already exists",
+                    AccountErrorCode.DUPLICATE_ACCOUNT_NUMBER);
+            }
             log.error("Error updating account: {}", e.getMessage(), e);
             throw new AccountException("Failed to update account",
                 AccountErrorCode.ACCOUNT_UPDATE_ERROR);
@@ -125,34 +152,94 @@ public class AccountService {
 
 
     /**
-     * Updates the balance of an account.
+     * Updates the balance of an account by appending a posting to the balance ledger.
+     * <p>
+     * A credit is a plain insert and never waits on other postings. A debit locks the account while
+     * its current balance is checked, so concurrent debits cannot overdraw it.
      */
     @Transactional
-    @Caching(evict = {
-        @CacheEvict(value = "customerAccounts", allEntries = true),
-        @CacheEvict(value = "topAccounts", allEntries = true),
-        @CacheEvict(value = "accounts", key = "#accountId")
-    })
     @Notifiable(type = NotificationType.ACCOUNT_BALANCE_UPDATED, entityType = "ACCOUNT")
     public void updateBalance(Long accountId, BigDecimal amount) {
-        balanceUpdateLock.lock();
-        try {
-            log.info("Updating balance for account: {}", accountId);
+        log.info("Updating balance for account: {}", accountId);
+
+        accountValidationService.validateId(accountId);
+
+        if (amount != null && amount.signum() < 0) {
+            AccountBalance balance = balanceLedgerService.getBalances(List.of(accountId), true).get(accountId);
+            if (balance == null) {
+                throw new AccountException("Account not found", AccountErrorCode.ACCOUNT_NOT_FOUND);
+            }
+            accountValidationService.validateBalanceUpdate(balance.balance(), amount);
+        } else {
+            accountValidationService.validateBalanceAmount(amount);
+            if (!accountRepository.existsById(accountId)) {
+                throw new AccountException("Account not found", AccountErrorCode.ACCOUNT_NOT_FOUND);
+            }
+        }
 
-            accountValidationService.validateId(accountId);
+        balanceLedgerService.append(List.of(BalancePostingDTO.builder()
+            .accountId(accountId)
+            .amount(amount)
+            .build()));
+        topAccountsIndex.refresh(List.of(accountId));
+        cacheInvalidator.invalidate(EntityRef.account(accountId));
+    }
 
-            Account account = getAccountOrThrow(accountId);
 
-            // Validate balance update
-            accountValidationService.validateBalanceUpdate(account.getBalance(), amount);
+    /**
+     * Applies a batch of balance postings in one transaction.
+     * <p>
+     * Every posting is validated against the balance left by the postings before it, exactly as if
+     * they were applied one by one; a single invalid posting rejects the whole batch. The postings are
+     * then appended to the ledger in JDBC batches, the affected cache entries are evicted once after
+     * commit and one aggregated notification is emitted.
+     */
+    @Transactional
+    public BalancePostingResultDTO postBalances(List<BalancePostingDTO> postings) {
+        log.info("Posting {} balance updates", postings.size());
 
-            // Update balance
-            account.setBalance(account.getBalance().add(amount));
-            accountRepository.save(account);
+        if (postings.size() > maxBalancePostings) {
+            throw new AccountException("At most " + maxBalancePostings + " balance postings are allowed per request",
+                AccountErrorCode.BALANCE_POSTING_LIMIT_EXCEEDED);
+        }
 
-        } finally {
-            balanceUpdateLock.unlock();
+        Map<Long, BigDecimal> deltas = new LinkedHashMap<>();
+        for (BalancePostingDTO posting : postings) {
+            accountValidationService.validateId(posting.getAccountId());
+            deltas.merge(posting.getAccountId(), posting.getAmount(), BigDecimal::add);
         }
+
+        // Debits need a stable balance to validate against, credits alone cannot overdraw
+        boolean hasDebits = postings.stream().anyMatch(posting -> posting.getAmount().signum() < 0);
+        Map<Long, AccountBalance> balances = balanceLedgerService.getBalances(deltas.keySet(), hasDebits);
+
+        // Validate every posting against the running balance of its account
+        Map<Long, BigDecimal> runningBalances = new HashMap<>();
+        for (BalancePostingDTO posting : postings) {
+            AccountBalance balance = balances.get(posting.getAccountId());
+            if (balance == null) {
+                throw new AccountException("Account not found: " + posting.getAccountId(),
+                    AccountErrorCode.ACCOUNT_NOT_FOUND);
+            }
+            BigDecimal current = runningBalances.getOrDefault(balance.id(), balance.balance());
+            accountValidationService.validateBalanceUpdate(current, posting.getAmount());
+            runningBalances.put(balance.id(), current.add(posting.getAmount()));
+        }
+
+        balanceLedgerService.append(postings);
+
+        topAccountsIndex.refresh(deltas.keySet());
+        cacheInvalidator.invalidate(EntityRef.accounts(deltas.keySet()));
+
+        BigDecimal netAmount = deltas.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+        enqueueBalancesPosted(postings.size(), deltas.size(), netAmount);
+
+        log.info("Posted {} balance updates to {} accounts", postings.size(), deltas.size());
+        return BalancePostingResultDTO.builder()
+            .postings(postings.size())
+            .accounts(deltas.size())
+            .netAmount(netAmount)
+            .build();
     }
 
 
@@ -160,7 +247,6 @@ public class AccountService {
      * Deletes an account.
      */
     @Transactional
-    @CacheEvict(value = "accounts", key = "#id")
     @Notifiable(type = NotificationType.ACCOUNT_DELETED, entityType = "ACCOUNT")
     public void deleteAccount(Long id) {
         log.info("Deleting account: {}", id);
@@ -169,13 +255,16 @@ public class AccountService {
             accountValidationService.validateId(id);
 
             Account account = getAccountOrThrow(id);
+            balanceLedgerService.getBalance(id).ifPresent(account::setBalance);
 
             // Validate deletion
             accountValidationService.validateAccountDeletion(account);
 
             // Delete account
             accountRepository.deleteById(id);
-
+            accountNumberFilter.remove(List.of(account.getAccountNumber()));
+            topAccountsIndex.refresh(List.of(id));
+            cacheInvalidator.invalidate(EntityRef.account(id));
 
         } catch (AccountException e) {
             throw e;
@@ -191,7 +280,7 @@ public class AccountService {
      * Fetches an account by ID.
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = "accounts", key = "#id")
+    @Cacheable(value = "accounts", key = "#id", sync = true)
     public AccountDTO getAccount(Long id) {
         log.debug("Fetching account: {}", id);
 
@@ -200,6 +289,27 @@ public class AccountService {
     }
 
 
+    /**
+     * Fetches the balance of an account, now or as it was at the given time.
+     */
+    @Transactional(readOnly = true)
+    public AccountBalanceDTO getBalance(Long accountId, LocalDateTime at) {
+        log.debug("Fetching balance for account: {} at: {}", accountId, at);
+
+        accountValidationService.validateId(accountId);
+        BigDecimal balance = (at != null
+            ? balanceLedgerService.getBalanceAt(accountId, at)
+            : balanceLedgerService.getBalance(accountId))
+            .orElseThrow(() -> new AccountException("Account not found", AccountErrorCode.ACCOUNT_NOT_FOUND));
+
+        return AccountBalanceDTO.builder()
+            .accountId(accountId)
+            .balance(balance)
+            .asOf(at != null ? at : LocalDateTime.now())
+            .build();
+    }
+
+
     /**
      * Fetches all accounts for a customer.
      */
@@ -229,15 +339,37 @@ public class AccountService {
 
 
     /**
-     * Fetches the top accounts by balance.
+     * Fetches the active accounts with a balance above the given one, highest balance first.
+     * <p>
+     * Served from the {@link TopAccountsIndex} once it is built; until then the query runs against
+     * the database.
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = "topAccounts", key = "#balance")
     public Page<AccountDTO> findTopAccountsByBalance(int balance, Pageable pageable) {
         log.debug("Fetching top {} accounts by balance", balance);
         accountValidationService.validateBalance(balance);
-        Page<Account> page = accountRepository.findTopAccountsByBalance(balance, pageable);
-        return page.map(accountMapper::toDTO);
+
+        if (!topAccountsIndex.isReady()) {
+            Page<Account> page = accountRepository.findTopAccountsByBalance(balance, pageable);
+            return page.map(accountMapper::toDTO);
+        }
+
+        BigDecimal threshold = BigDecimal.valueOf(balance);
+        List<TopAccountsIndex.Entry> entries = topAccountsIndex.findAbove(threshold, pageable.getOffset(), pageable.getPageSize());
+        Map<Long, Account> accounts = accountRepository.findAllById(entries.stream().map(TopAccountsIndex.Entry::accountId).toList())
+            .stream()
+            .collect(Collectors.toMap(Account::getId, account -> account));
+
+        List<AccountDTO> content = new ArrayList<>(entries.size());
+        for (TopAccountsIndex.Entry entry : entries) {
+            Account account = accounts.get(entry.accountId());
+            if (account != null) {
+                AccountDTO dto = accountMapper.toDTO(account);
+                dto.setBalance(entry.balance());
+                content.add(dto);
+            }
+        }
+        return PageableExecutionUtils.getPage(content, pageable, () -> topAccountsIndex.countAbove(threshold));
     }
 
 
@@ -251,9 +383,43 @@ public class AccountService {
         return page.map(accountMapper::toDTO);
     }
 
+    /**
+     * Searches accounts based on criteria, returning only the requested summary fields.
+     */
+    @Transactional(readOnly = true)
+    public Page<AccountSummary> searchSummaries(AccountSearchDTO searchDTO, Collection<String> fields) {
+        log.debug("Searching account summaries with criteria: {} and fields: {}", searchDTO, fields);
+        return accountRepository.searchSummaries(searchDTO, fields);
+    }
+
+    /**
+     * Searches accounts based on criteria, continuing after the given cursor.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<AccountDTO> searchByCursor(AccountSearchDTO searchDTO, String cursor, boolean withCount) {
+        log.debug("Searching accounts with criteria: {} after cursor: {}", searchDTO, cursor);
+        return accountRepository.searchByCursor(searchDTO, cursor, withCount)
+            .map(accountMapper::toDTO);
+    }
+
 
     // Helper methods
 
+    /**
+     * Stores one notification summarising a batch of balance postings in the outbox.
+     */
+    private void enqueueBalancesPosted(int postings, int accounts, BigDecimal netAmount) {
+        NotificationType type = NotificationType.ACCOUNT_BALANCES_POSTED;
+        outboxService.enqueue(NotificationEvent.builder()
+            .eventId(UUID.randomUUID().toString())
+            .type(type)
+            .entityType("ACCOUNT_BATCH")
+            .title(type.getTitle())
+            .payload(type.getMessage() + ": " + postings + " postings to " + accounts + " accounts, net amount " + netAmount)
+            .timestamp(LocalDateTime.now())
+            .build());
+    }
+
     /**
      * Fetches a customer by ID or throws an exception if not found.
      */
@@ -276,7 +442,7 @@ public class AccountService {
      * Checks if an account number already exists.
      */
     private void checkDuplicateAccountNumber(String accountNumber) {
-        if (accountRepository.existsByAccountNumber(accountNumber)) {
+        if (!accountNumberFilter.findExisting(List.of(accountNumber)).isEmpty()) {
             throw new AccountException("Account number already exists",
                 AccountErrorCode.DUPLICATE_ACCOUNT_NUMBER);
         }
@@ -1,5 +1,7 @@
 package com.digitinarytask.customer.service;
 
+import com.digitinarytask.customer.cache.CacheInvalidator;
+import com.digitinarytask.customer.cache.EntityRef;
 import com.digitinarytask.customer.domain.entity.Address;
 import com.digitinarytask.customer.domain.entity.Customer;
 import com.digitinarytask.customer.domain.enumeration.error.AddressErrorCode;
@@ -13,10 +15,6 @@ import com.digitinarytask.customer.repository.CustomerRepository;
 import com.digitinarytask.customer.service.validation.AddressValidationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.CachePut;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -38,6 +36,7 @@ public class AddressService {
     private final CustomerRepository customerRepository;
     private final AddressMapper addressMapper;
     private final AddressValidationService addressValidationService;
+    private final CacheInvalidator cacheInvalidator;
 
     /**
      * Retrieves all addresses for a given customer.
@@ -69,10 +68,6 @@ public class AddressService {
      * Adds a new address for a customer.
      */
     @Transactional
-    @Caching(evict = {
-        @CacheEvict(value = "customers", key = "#customerId"),
-    })
-    @CachePut(value = "addresses", key = "#customerId")
     public AddressDTO addCustomerAddress(
         @NotNull Long customerId,
         @NotNull @Valid AddressDTO addressDTO) {
@@ -91,6 +86,7 @@ public class AddressService {
             address.setCustomer(customer);
 
             Address savedAddress = addressRepository.save(address);
+            cacheInvalidator.invalidate(EntityRef.customer(customerId));
             log.info("Successfully added address ID: {} for customer ID: {}",
                 savedAddress.getId(), customerId);
 
@@ -108,10 +104,6 @@ public class AddressService {
      * Updates an existing customer address.
      */
     @Transactional
-    @CachePut(value = "addresses", key = "#customerId")
-    @Caching(evict = {
-        @CacheEvict(value = "customers", key = "#customerId")
-    })
     public AddressDTO updateCustomerAddress(
         @NotNull Long customerId,
         @NotNull Long addressId,
@@ -137,6 +129,7 @@ public class AddressService {
             updatedAddress.setCustomer(customer);
 
             Address savedAddress = addressRepository.save(updatedAddress);
+            cacheInvalidator.invalidate(EntityRef.address(addressId));
             log.info("Successfully updated address ID: {} for customer ID: {}",
                 addressId, customerId);
 
@@ -155,10 +148,6 @@ public class AddressService {
      * Deletes a customer address.
      */
     @Transactional
-    @Caching(evict = {
-        @CacheEvict(value = "addresses", allEntries = true),
-        @CacheEvict(value = "customers", allEntries = true)
-    })
     public void deleteCustomerAddress(@NotNull Long addressId) {
         log.debug("Deleting address ID: {}", addressId);
 
@@ -172,6 +161,7 @@ public class AddressService {
 
         try {
             addressRepository.deleteById(addressId);
+            cacheInvalidator.invalidate(EntityRef.address(addressId));
             log.info("Successfully deleted address ID: {}", addressId);
         } catch (Exception e) {
             log.error("Error deleting address {}: {}", addressId, e.getMessage());
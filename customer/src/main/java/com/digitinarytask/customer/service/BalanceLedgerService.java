@@ -0,0 +1,169 @@
+package com.digitinarytask.customer.service;
+
+import com.digitinarytask.customer.domain.entity.Account;
+import com.digitinarytask.customer.domain.entity.BalanceLedgerEntry;
+import com.digitinarytask.customer.domain.entity.BalanceSnapshot;
+import com.digitinarytask.customer.dto.domain.BalancePostingDTO;
+import com.digitinarytask.customer.repository.AccountRepository;
+import com.digitinarytask.customer.repository.BalanceLedgerRepository;
+import com.digitinarytask.customer.repository.BalanceSnapshotRepository;
+import com.digitinarytask.customer.repository.projection.AccountBalance;
+import com.digitinarytask.customer.repository.projection.PendingAmount;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service for the append-only balance ledger.
+ * <p>
+ * A balance posting is an insert into the ledger, so concurrent credits to the same account never
+ * wait on each other. The current balance is {@code Account.balance}, which holds the last snapshot,
+ * plus the ledger entries not yet compacted; queries read it as {@code Account.currentBalance}. A background compactor rolls those entries into the
+ * account balance and records a {@link BalanceSnapshot} for point-in-time queries.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class BalanceLedgerService {
+    private final BalanceLedgerRepository balanceLedgerRepository;
+    private final BalanceSnapshotRepository balanceSnapshotRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${ledger.compaction.batch-size}")
+    private int compactionBatchSize;
+
+
+    /**
+     * Reads the current balances of the given accounts. Missing accounts are absent from the result.
+     * <p>
+     * With {@code lock}, the accounts are locked until the transaction ends, which keeps their balances
+     * stable while a debit is validated and appended.
+     */
+    @Transactional
+    public Map<Long, AccountBalance> getBalances(Collection<Long> accountIds, boolean lock) {
+        if (!lock) {
+            return accountRepository.findBalances(accountIds).stream()
+                .collect(Collectors.toMap(AccountBalance::id, Function.identity()));
+        }
+
+        List<Account> accounts = accountRepository.findByIdInOrderByIdAsc(accountIds);
+        Map<Long, BigDecimal> pending = balanceLedgerRepository.sumPendingByAccountId(accountIds).stream()
+            .collect(Collectors.toMap(PendingAmount::accountId, PendingAmount::amount));
+
+        Map<Long, AccountBalance> balances = new HashMap<>();
+        for (Account account : accounts) {
+            BigDecimal balance = account.getBalance().add(pending.getOrDefault(account.getId(), BigDecimal.ZERO));
+            balances.put(account.getId(), new AccountBalance(account.getId(), account.getCustomer().getId(), balance));
+        }
+        return balances;
+    }
+
+    /**
+     * Reads the current balance of an account, or empty if the account does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<BigDecimal> getBalance(Long accountId) {
+        return Optional.ofNullable(getBalances(List.of(accountId), false).get(accountId))
+            .map(AccountBalance::balance);
+    }
+
+    /**
+     * Reads the balance of an account as it was at the given time.
+     * <p>
+     * Starts from the latest snapshot taken at or before that time and adds the entries posted up to
+     * it that the snapshot did not include. Before the first snapshot, the entries posted since are
+     * subtracted from the current balance instead.
+     */
+    @Transactional(readOnly = true)
+    public Optional<BigDecimal> getBalanceAt(Long accountId, LocalDateTime at) {
+        Optional<BalanceSnapshot> snapshot = balanceSnapshotRepository
+            .findFirstByAccountIdAndTakenAtLessThanEqualOrderByTakenAtDesc(accountId, at);
+        if (snapshot.isPresent()) {
+            BigDecimal sincePosted = balanceLedgerRepository
+                .sumPostedSinceSnapshot(accountId, snapshot.get().getId(), at);
+            return Optional.of(snapshot.get().getBalance().add(sincePosted));
+        }
+
+        return getBalance(accountId)
+            .map(current -> current.subtract(balanceLedgerRepository.sumPostedAfter(accountId, at)));
+    }
+
+    /**
+     * Appends postings to the ledger as part of the current transaction. The inserts are sent in
+     * JDBC batches.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(Collection<BalancePostingDTO> postings) {
+        LocalDateTime now = LocalDateTime.now();
+        balanceLedgerRepository.saveAll(postings.stream()
+            .map(posting -> BalanceLedgerEntry.of(posting.getAccountId(), posting.getAmount(), now))
+            .toList());
+    }
+
+
+    /**
+     * Compacts the ledger, one batch per transaction, until a batch comes back short.
+     */
+    @Scheduled(fixedDelayString = "${ledger.compaction.interval-ms}")
+    public void compactLedger() {
+        Integer compacted;
+        do {
+            compacted = transactionTemplate.execute(status -> compactBatch());
+        } while (compacted != null && compacted == compactionBatchSize);
+    }
+
+    /**
+     * Rolls the oldest pending entries into the balances of their accounts and snapshots each of
+     * those balances. The accounts are locked in ID order, like debits lock them, so a debit never
+     * sees a compaction half applied.
+     *
+     * @return the number of entries read from the ledger
+     */
+    private int compactBatch() {
+        List<BalanceLedgerEntry> entries = balanceLedgerRepository
+            .findByCompactedAtIsNullOrderByIdAsc(PageRequest.of(0, compactionBatchSize));
+        if (entries.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, BigDecimal> totals = new HashMap<>();
+        for (BalanceLedgerEntry entry : entries) {
+            totals.merge(entry.getAccountId(), entry.getAmount(), BigDecimal::add);
+        }
+
+        // The columns keep microseconds, so the in-memory times match what is stored
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        List<BalanceSnapshot> snapshots = new ArrayList<>(totals.size());
+        for (Account account : accountRepository.findByIdInOrderByIdAsc(totals.keySet())) {
+            account.setBalance(account.getBalance().add(totals.get(account.getId())));
+            snapshots.add(BalanceSnapshot.builder()
+                .accountId(account.getId())
+                .balance(account.getBalance())
+                .takenAt(now)
+                .build());
+        }
+        Map<Long, Long> snapshotIds = balanceSnapshotRepository.saveAll(snapshots).stream()
+            .collect(Collectors.toMap(BalanceSnapshot::getAccountId, BalanceSnapshot::getId));
+        entries.forEach(entry -> {
+            entry.setCompactedAt(now);
+            entry.setSnapshotId(snapshotIds.get(entry.getAccountId()));
+        });
+
+        log.debug("Compacted {} ledger entries into {} account balances", entries.size(), snapshots.size());
+        return entries.size();
+    }
+}
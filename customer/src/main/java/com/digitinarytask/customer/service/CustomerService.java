@@ -4,11 +4,14 @@ import com.digitinarytask.customer.domain.enumeration.error.AccountErrorCode;
 import com.digitinarytask.customer.exception.AccountException;
 import com.digitinarytask.customer.exception.AddressException;
 import com.digitinarytask.customer.exception.OrganizationException;
-import com.digitinarytask.customer.repository.AccountRepository;
 import com.digitinarytask.shared.annotation.Notifiable;
+import com.digitinarytask.customer.cache.CacheInvalidator;
+import com.digitinarytask.customer.cache.EntityRef;
 import com.digitinarytask.customer.domain.entity.*;
 import com.digitinarytask.customer.dto.domain.CustomerDTO;
 import com.digitinarytask.customer.dto.mapper.CustomerMapper;
+import com.digitinarytask.customer.dto.projection.CustomerSummary;
+import com.digitinarytask.customer.dto.reposnse.CursorPageDTO;
 import com.digitinarytask.customer.dto.search.CustomerSearchDTO;
 import com.digitinarytask.customer.domain.enumeration.error.CustomerErrorCode;
 import com.digitinarytask.customer.exception.CustomerException;
@@ -19,10 +22,7 @@ import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.units.qual.A;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -30,7 +30,12 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 import jakarta.validation.Valid;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -45,20 +50,15 @@ public class CustomerService {
     private final CustomerMapper customerMapper;
     private final CustomerValidationService validator;
     private final EntityManager entityManager;
-    private final AccountRepository accountRepository;
+    private final TopAccountsIndex topAccountsIndex;
+    private final CacheInvalidator cacheInvalidator;
+    private final AccountNumberFilter accountNumberFilter;
 
 
     /**
      * Creates a new customer.
      */
     @Transactional
-    @Caching(
-        evict = {
-            @CacheEvict(value = "customers", key = "#result.id"),
-            @CacheEvict(value = "organizationsByCustomer", key = "#result.id", condition = "#result.organization != null"),
-            @CacheEvict(value = "topAccounts", allEntries = true)
-        }
-    )
     @Notifiable(type = NotificationType.CUSTOMER_CREATED, entityType = "CUSTOMER")
     public CustomerDTO createCustomer(@Valid CustomerDTO customerDTO) {
         log.info("Creating new customer of type: {}", customerDTO.getClass().getSimpleName());
@@ -67,18 +67,16 @@ public class CustomerService {
             // Validate based on customer type
             validator.validateNewCustomer(customerDTO);
 
-            // Map and prepare customer entity
+            // Map and prepare customer entity, validating its account numbers
             Customer customer = prepareCustomerEntity(customerDTO);
 
-            // Validate account numbers
-            validateAccountNumbers(customer.getAccounts().stream()
-                .map(Account::getAccountNumber)
-                .collect(Collectors.toSet())
-            );
-
-            // Save customer
-            customer = customerRepository.save(customer);
-
+            // Save customer; the flush makes a number taken meanwhile on another instance fail here
+            customer = customerRepository.saveAndFlush(customer);
+            accountNumberFilter.add(accountNumbers(customer));
+            topAccountsIndex.refresh(accountIds(customer));
+            List<EntityRef> changed = new ArrayList<>(entityRefs(customer));
+            changed.add(EntityRef.membership(EntityRef.CUSTOMER));
+            cacheInvalidator.invalidate(changed);
 
             log.info("Customer created successfully with ID: {}", customer.getId());
             return customerMapper.toDTOWithRelations(customer);
@@ -86,6 +84,10 @@ public class CustomerService {
         } catch (CustomerException | AddressException | AccountException | OrganizationException e) {
             throw e;
         } catch (Exception e) {
+            if (AccountNumberFilter.isDuplicateAccountNumber(e)) {
+                throw new AccountException("Account number already exists",
+                    AccountErrorCode.INVALID_ACCOUNT_NUMBER);
+            }
             log.error("Error creating customer: {}", e.getMessage(), e);
             throw new CustomerException("Failed to create customer",
                 CustomerErrorCode.CREATE_CUSTOMER_FAILED);
@@ -97,18 +99,6 @@ public class CustomerService {
      * Updates an existing customer.
      */
     @Transactional
-    @CachePut(value = "customers", key = "#id")
-    @Caching(
-        put = {
-            @CachePut(value = "customers", key = "#id")
-        },
-        evict = {
-
-            @CacheEvict(value = "customerAccounts", allEntries = true),
-            @CacheEvict(value = "organizationsByCustomer", key = "#id", condition = "#result.organization != null"),
-            @CacheEvict(value = "topAccounts", allEntries = true)
-        }
-    )
     public CustomerDTO updateCustomer(Long id, @Valid CustomerDTO customerDTO) {
         log.info("Updating customer: {}", id);
 
@@ -118,6 +108,10 @@ public class CustomerService {
             // Validate update
             validator.validateCustomerUpdate(existingCustomer, customerDTO);
 
+            List<Long> removedAccountIds = accountIds(existingCustomer);
+            List<String> removedAccountNumbers = accountNumbers(existingCustomer);
+            List<EntityRef> changed = new ArrayList<>(entityRefs(existingCustomer));
+
             // Remove existing addresses and accounts
             existingCustomer.getAddresses().forEach(address -> {
                 address.setCustomer(null);
@@ -132,8 +126,8 @@ public class CustomerService {
                 }
             );
             existingCustomer.getAccounts().clear();
-
-
+            // Delete the old accounts first, their numbers may be saved again below
+            entityManager.flush();
 
             // Map and prepare updated entity
             Customer updatedCustomer = prepareCustomerEntity(customerDTO);
@@ -146,7 +140,15 @@ public class CustomerService {
             }
 
             // Save updates
-            updatedCustomer = customerRepository.save(updatedCustomer);
+            updatedCustomer = customerRepository.saveAndFlush(updatedCustomer);
+            accountNumberFilter.remove(removedAccountNumbers);
+            accountNumberFilter.add(accountNumbers(updatedCustomer));
+            topAccountsIndex.refresh(removedAccountIds);
+            topAccountsIndex.refresh(accountIds(updatedCustomer));
+            changed.addAll(EntityRef.accounts(accountIds(updatedCustomer)));
+            // Pages may be sorted by any customer field, so the update can move this customer into others
+            changed.add(EntityRef.membership(EntityRef.CUSTOMER));
+            cacheInvalidator.invalidate(changed);
 
             log.info("Customer updated successfully: {}", id);
             return customerMapper.toDTOWithRelations(updatedCustomer);
@@ -154,6 +156,10 @@ public class CustomerService {
         } catch (CustomerException | AddressException | AccountException | OrganizationException e) {
             throw e;
         } catch (Exception e) {
+            if (AccountNumberFilter.isDuplicateAccountNumber(e)) {
+                throw new AccountException("Account number already exists",
+                    AccountErrorCode.INVALID_ACCOUNT_NUMBER);
+            }
             log.error("Error updating customer: {}", e.getMessage(), e);
             throw new CustomerException("Failed to update customer",
                 CustomerErrorCode.UPDATE_CUSTOMER_FAILED);
@@ -165,13 +171,6 @@ public class CustomerService {
      * Deletes an existing customer.
      */
     @Transactional
-    @Caching(
-        evict = {
-            @CacheEvict(value = "customers", key = "#id"),
-            @CacheEvict(value = "organizationsByCustomer", key = "#id", condition = "#result.organization != null"),
-            @CacheEvict(value = "topAccounts", allEntries = true)
-        }
-    )
     @Notifiable(type = NotificationType.CUSTOMER_DELETED, entityType = "CUSTOMER")
     public void deleteCustomer(Long id) {
         log.info("Deleting customer: {}", id);
@@ -183,7 +182,12 @@ public class CustomerService {
             validator.validateCustomerDeletion(customer);
 
             // Delete customer
+            accountNumberFilter.remove(accountNumbers(customer));
+            topAccountsIndex.refresh(accountIds(customer));
+            List<EntityRef> changed = new ArrayList<>(entityRefs(customer));
+            changed.add(EntityRef.membership(EntityRef.CUSTOMER));
             customerRepository.delete(customer);
+            cacheInvalidator.invalidate(changed);
 
             log.info("Customer deleted successfully: {}", id);
 
@@ -201,7 +205,7 @@ public class CustomerService {
      * Gets a customer by ID.
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = "customers", key = "#id")
+    @Cacheable(value = "customers", key = "#id", sync = true)
     public CustomerDTO getCustomer(Long id) {
         log.debug("Fetching customer: {}", id);
         return customerMapper.toDTOWithRelations(getCustomerOrThrow(id));
@@ -212,10 +216,39 @@ public class CustomerService {
      * Searches customers based on criteria.
      */
     @Transactional(readOnly = true)
-    public Page<CustomerDTO> searchCustomers(@Valid CustomerSearchDTO searchDTO) {
+    public Page<CustomerDTO> searchCustomers(@Valid CustomerSearchDTO searchDTO, boolean includeRelations) {
         log.debug("Searching customers with criteria: {}", searchDTO);
-        return customerRepository.search(searchDTO)
-            .map(customerMapper::toDTOWithRelations);
+        Page<Customer> page = customerRepository.search(searchDTO);
+        return page.map(toDTO(page.getContent(), includeRelations));
+    }
+
+    /**
+     * Searches customers based on criteria, returning only the requested summary fields.
+     */
+    @Transactional(readOnly = true)
+    public Page<CustomerSummary> searchCustomerSummaries(@Valid CustomerSearchDTO searchDTO, Collection<String> fields) {
+        log.debug("Searching customer summaries with criteria: {} and fields: {}", searchDTO, fields);
+        return customerRepository.searchSummaries(searchDTO, fields);
+    }
+
+    /**
+     * Gets a page of customer summaries with only the requested fields.
+     */
+    @Transactional(readOnly = true)
+    public Page<CustomerSummary> getCustomerSummaries(Pageable pageable, Collection<String> fields) {
+        log.debug("Fetching customer summaries with pagination: {} and fields: {}", pageable, fields);
+        return customerRepository.findAllSummaries(pageable, fields);
+    }
+
+    /**
+     * Searches customers based on criteria, continuing after the given cursor.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<CustomerDTO> searchCustomersByCursor(@Valid CustomerSearchDTO searchDTO, String cursor,
+                                                              boolean withCount, boolean includeRelations) {
+        log.debug("Searching customers with criteria: {} after cursor: {}", searchDTO, cursor);
+        CursorPageDTO<Customer> page = customerRepository.searchByCursor(searchDTO, cursor, withCount);
+        return page.map(toDTO(page.getContent(), includeRelations));
     }
 
 
@@ -223,11 +256,11 @@ public class CustomerService {
      * Gets all customers with pagination.
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = "customers")
-    public Page<CustomerDTO> getAllCustomers(Pageable pageable) {
+    @Cacheable(value = "customerPages", key = "{#pageable, #includeRelations}", sync = true)
+    public Page<CustomerDTO> getAllCustomers(Pageable pageable, boolean includeRelations) {
         log.debug("Fetching customers with pagination: {}", pageable);
-        return customerRepository.findAll(pageable)
-            .map(customerMapper::toDTOWithRelations);
+        Page<Customer> page = customerRepository.findAll(pageable);
+        return page.map(toDTO(page.getContent(), includeRelations));
     }
 
 
@@ -235,14 +268,26 @@ public class CustomerService {
      * Gets customers by type with pagination.
      */
     @Transactional(readOnly = true)
-    public Page<CustomerDTO> getCustomersByType(String type, Pageable pageable) {
+    public Page<CustomerDTO> getCustomersByType(String type, Pageable pageable, boolean includeRelations) {
         log.debug("Fetching customers by type: {} with pagination: {}", type, pageable);
-        return customerRepository.findAllByType(type, pageable)
-            .map(customerMapper::toDTOWithRelations);
+        Page<Customer> page = customerRepository.findAllByType(type, pageable);
+        return page.map(toDTO(page.getContent(), includeRelations));
     }
 
     // Helper methods
 
+    /**
+     * Chooses the mapping for a page of customers. With relations, the associations of the whole page
+     * are loaded up front so mapping does not lazily load them one customer at a time.
+     */
+    private Function<Customer, CustomerDTO> toDTO(List<Customer> customers, boolean includeRelations) {
+        if (!includeRelations) {
+            return customerMapper::toDTOWithoutRelations;
+        }
+        customerRepository.loadRelations(customers);
+        return customerMapper::toDTOWithRelations;
+    }
+
     /**
      * Gets a customer by ID or throws exception if not found.
      */
@@ -254,15 +299,60 @@ public class CustomerService {
     }
 
     /**
-     * Validate if an account number already exists.
+     * Validate if any of the account numbers already exists.
      */
     public void validateAccountNumbers(Set<String> accountNumbers) {
-        accountNumbers.forEach(accountNumber -> {
-            if (accountRepository.existsByAccountNumber(accountNumber)) {
-                throw new AccountException("Account number already exists",
-                    AccountErrorCode.INVALID_ACCOUNT_NUMBER);
-            }
-        });
+        if (!accountNumberFilter.findExisting(accountNumbers).isEmpty()) {
+            throw new AccountException("Account number already exists",
+                AccountErrorCode.INVALID_ACCOUNT_NUMBER);
+        }
+    }
+
+    /**
+     * Collects the IDs of a customer's persisted accounts.
+     */
+    private List<Long> accountIds(Customer customer) {
+        if (customer.getAccounts() == null) {
+            return List.of();
+        }
+        return customer.getAccounts().stream()
+            .map(Account::getId)
+            .filter(Objects::nonNull)
+            .toList();
+    }
+
+    /**
+     * Collects the account numbers of a customer's accounts.
+     */
+    private List<String> accountNumbers(Customer customer) {
+        if (customer.getAccounts() == null) {
+            return List.of();
+        }
+        return customer.getAccounts().stream()
+            .map(Account::getAccountNumber)
+            .toList();
+    }
+
+    /**
+     * Collects the entities a customer's cached views are built from: the customer and its accounts,
+     * addresses and organization.
+     */
+    private List<EntityRef> entityRefs(Customer customer) {
+        List<EntityRef> refs = new ArrayList<>();
+        refs.add(EntityRef.customer(customer.getId()));
+        refs.addAll(EntityRef.accounts(accountIds(customer)));
+        if (customer.getAddresses() != null) {
+            refs.addAll(EntityRef.addresses(customer.getAddresses().stream()
+                .map(Address::getId)
+                .filter(Objects::nonNull)
+                .toList()));
+        }
+        if (customer instanceof OrganizationCustomer organizationCustomer
+            && organizationCustomer.getOrganization() != null
+            && organizationCustomer.getOrganization().getId() != null) {
+            refs.add(EntityRef.organization(organizationCustomer.getOrganization().getId()));
+        }
+        return refs;
     }
 
     /**
@@ -0,0 +1,74 @@
+package com.digitinarytask.customer.service;
+
+import com.digitinarytask.shared.event.NotificationEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes notification events to Kafka without waiting for them.
+ * <p>
+ * Every send completes through a callback on the producer's I/O thread, which records how long the
+ * broker took to acknowledge it as the {@code notification.publish} timer, tagged with the outcome,
+ * and logs failures. Callers decide what to do with a failed event; the outbox keeps it for the next
+ * relay run.
+ */
+@Component
+@Slf4j
+public class NotificationEventPublisher {
+    static final String NOTIFICATION_TOPIC = "notification";
+
+    private final KafkaTemplate<String, NotificationEvent> kafkaTemplate;
+    private final Timer acknowledged;
+    private final Timer failed;
+
+    public NotificationEventPublisher(KafkaTemplate<String, NotificationEvent> kafkaTemplate, MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.acknowledged = sendTimer(meterRegistry, "acknowledged");
+        this.failed = sendTimer(meterRegistry, "failed");
+    }
+
+
+    /**
+     * Hands the event to the producer, keyed by entity, and returns at once. The producer batches and
+     * compresses it with other events, and retries it until its delivery timeout.
+     *
+     * @return completes when the broker acknowledged the event, exceptionally if it could not be sent
+     */
+    public CompletableFuture<SendResult<String, NotificationEvent>> publish(NotificationEvent event) {
+        long start = System.nanoTime();
+        CompletableFuture<SendResult<String, NotificationEvent>> send;
+        try {
+            send = kafkaTemplate.send(NOTIFICATION_TOPIC, event.partitionKey(), event);
+        } catch (RuntimeException e) {
+            // Raised before the record reached the producer, e.g. when its buffer stayed full
+            send = CompletableFuture.failedFuture(e);
+        }
+
+        return send.whenComplete((result, failure) -> {
+            long elapsed = System.nanoTime() - start;
+            if (failure == null) {
+                acknowledged.record(elapsed, TimeUnit.NANOSECONDS);
+            } else {
+                failed.record(elapsed, TimeUnit.NANOSECONDS);
+                log.warn("Failed to publish notification event {} for {}: {}",
+                    event.getEventId(), event.partitionKey(), failure.getMessage());
+            }
+        });
+    }
+
+    private static Timer sendTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("notification.publish")
+            .description("Time from handing a notification event to the producer until the broker acknowledged or rejected it")
+            .tag("topic", NOTIFICATION_TOPIC)
+            .tag("outcome", outcome)
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+    }
+}
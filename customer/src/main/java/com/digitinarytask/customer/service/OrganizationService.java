@@ -1,10 +1,15 @@
 package com.digitinarytask.customer.service;
 
+import com.digitinarytask.customer.cache.CacheInvalidator;
+import com.digitinarytask.customer.cache.EntityRef;
 import com.digitinarytask.customer.domain.entity.Organization;
 import com.digitinarytask.customer.dto.domain.OrganizationDTO;
 import com.digitinarytask.customer.dto.mapper.OrganizationMapper;
+import com.digitinarytask.customer.dto.projection.OrganizationSummary;
+import com.digitinarytask.customer.dto.reposnse.CursorPageDTO;
 import com.digitinarytask.customer.dto.search.OrganizationSearchDTO;
 import com.digitinarytask.customer.domain.enumeration.error.OrganizationErrorCode;
+import com.digitinarytask.customer.exception.InvalidQueryParameterException;
 import com.digitinarytask.customer.exception.OrganizationException;
 import com.digitinarytask.customer.repository.CustomerRepository;
 import com.digitinarytask.customer.repository.OrganizationRepository;
@@ -12,7 +17,6 @@ import com.digitinarytask.customer.service.validation.OrganizationValidationServ
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
@@ -22,6 +26,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
+import java.util.Collection;
+
 @Service
 @Validated
 @Slf4j
@@ -31,6 +37,7 @@ public class OrganizationService {
     private final OrganizationRepository organizationRepository;
     private final OrganizationMapper organizationMapper;
     private final OrganizationValidationService organizationValidationService;
+    private final CacheInvalidator cacheInvalidator;
 
 
     /**
@@ -41,8 +48,7 @@ public class OrganizationService {
         put = {
             @CachePut(value = "organizations", key = "#result.id"),
             @CachePut(value = "organizationsByCustomer", key = "#customerId")
-        },
-        evict = @CacheEvict(value = "customers", key = "#customerId")
+        }
     )
     public OrganizationDTO updateOrganization(Long customerId, @Valid OrganizationDTO organizationDTO) {
         log.info("Updating organization: {}", organizationDTO);
@@ -58,6 +64,7 @@ public class OrganizationService {
             organizationDTO.setId(organization.getId());
             organization = organizationMapper.toEntity(organizationDTO);
             organization = organizationRepository.save(organization);
+            cacheInvalidator.invalidate(EntityRef.customer(customerId));
 
             log.info("Organization updated successfully with ID: {}", organization.getId());
             return organizationMapper.toDTO(organization);
@@ -76,7 +83,7 @@ public class OrganizationService {
      * Creates a new organization.
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = "organizationsByCustomer", key = "#customerId")
+    @Cacheable(value = "organizationsByCustomer", key = "#customerId", sync = true)
     public OrganizationDTO getOrganization(Long customerId) {
         log.debug("Fetching organization: {}", customerId);
         organizationValidationService.validateId(customerId);
@@ -99,6 +106,58 @@ public class OrganizationService {
         }
     }
 
+    /**
+     * Searches organizations based on search criteria, returning only the requested summary fields.
+     */
+    @Transactional(readOnly = true)
+    public Page<OrganizationSummary> searchOrganizationSummaries(@Valid OrganizationSearchDTO searchDTO, Collection<String> fields) {
+        log.debug("Searching organization summaries with criteria: {} and fields: {}", searchDTO, fields);
+        try {
+            return organizationRepository.searchSummaries(searchDTO, fields);
+        } catch (InvalidQueryParameterException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error searching organizations: {}", e.getMessage(), e);
+            throw new OrganizationException("Failed to search organizations",
+                OrganizationErrorCode.SEARCH_ORG_FAILED);
+        }
+    }
+
+    /**
+     * Fetches organization summaries with pagination and only the requested fields.
+     */
+    @Transactional(readOnly = true)
+    public Page<OrganizationSummary> getOrganizationSummaries(Pageable pageable, Collection<String> fields) {
+        log.debug("Fetching organization summaries with pagination: {} and fields: {}", pageable, fields);
+        try {
+            return organizationRepository.findAllSummaries(pageable, fields);
+        } catch (InvalidQueryParameterException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error fetching organizations: {}", e.getMessage(), e);
+            throw new OrganizationException("Failed to fetch organizations",
+                OrganizationErrorCode.FETCH_ORG_FAILED);
+        }
+    }
+
+    /**
+     * Searches organizations based on search criteria, continuing after the given cursor.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<OrganizationDTO> searchOrganizationsByCursor(@Valid OrganizationSearchDTO searchDTO, String cursor, boolean withCount) {
+        log.debug("Searching organizations with criteria: {} after cursor: {}", searchDTO, cursor);
+        try {
+            return organizationRepository.searchOrganizationsByCursor(searchDTO, cursor, withCount)
+                .map(organizationMapper::toDTO);
+        } catch (InvalidQueryParameterException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error searching organizations: {}", e.getMessage(), e);
+            throw new OrganizationException("Failed to search organizations",
+                OrganizationErrorCode.SEARCH_ORG_FAILED);
+        }
+    }
+
     /**
      * Fetches organizations with pagination.
      */
@@ -0,0 +1,129 @@
+package com.digitinarytask.customer.service;
+
+import com.digitinarytask.customer.domain.entity.OutboxEvent;
+import com.digitinarytask.customer.repository.OutboxEventRepository;
+import com.digitinarytask.shared.event.NotificationEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service for the transactional outbox of notification events.
+ * <p>
+ * Events are stored in the caller's transaction, so they are only published when the change
+ * that produced them commits. A background relay drains the outbox to Kafka in batches, keyed by
+ * entity so that the events of one entity land on one partition. A whole batch is handed to the
+ * producer in id order before any acknowledgement is awaited, so it can group and compress the
+ * events, and its idempotent delivery keeps each entity's events in that order.
+ * <p>
+ * A failed event stays in the outbox and is retried with exponential backoff. Until it is published,
+ * the later events of its entity are held back.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class OutboxService {
+    private final OutboxEventRepository outboxEventRepository;
+    private final NotificationEventPublisher notificationEventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${outbox.relay.batch-size}")
+    private int batchSize;
+
+    @Value("${outbox.relay.send-timeout-ms}")
+    private long sendTimeoutMs;
+
+    @Value("${outbox.relay.retry.initial-backoff-ms}")
+    private long initialBackoffMs;
+
+    @Value("${outbox.relay.retry.max-backoff-ms}")
+    private long maxBackoffMs;
+
+
+    /**
+     * Stores an event in the outbox as part of the current transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(NotificationEvent event) {
+        outboxEventRepository.save(OutboxEvent.from(event));
+    }
+
+
+    /**
+     * Drains the outbox, one batch per transaction, until a batch comes back short or not all of
+     * it could be published. Failed events wait for their backoff, so there is no point in reading
+     * on while the broker is failing.
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms}")
+    public void relayPendingEvents() {
+        Integer published;
+        do {
+            published = transactionTemplate.execute(status -> relayBatch());
+        } while (published != null && published == batchSize);
+    }
+
+    /**
+     * Publishes one batch of due events and removes the ones the broker acknowledged. Events that
+     * failed or were not acknowledged in time stay in the outbox with their next attempt pushed back.
+     *
+     * @return the number of events published
+     */
+    private int relayBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = outboxEventRepository.findDueOrderByIdAsc(now, PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        // Handed over in id order without waiting in between: the idempotent producer keeps the records
+        // of a partition, and so of an entity, in the order they were sent, retries included
+        List<CompletableFuture<?>> sends = events.stream()
+            .<CompletableFuture<?>>map(event -> notificationEventPublisher.publish(event.toNotificationEvent()))
+            .toList();
+
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                .get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            log.warn("Not all outbox events were acknowledged: {}", e.getMessage());
+        }
+
+        List<OutboxEvent> published = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            OutboxEvent event = events.get(i);
+            CompletableFuture<?> send = sends.get(i);
+            if (send.isDone() && !send.isCompletedExceptionally()) {
+                published.add(event);
+            } else {
+                event.setAttempts(event.getAttempts() + 1);
+                event.setNextAttemptAt(now.plus(backoff(event.getAttempts())));
+            }
+        }
+
+        outboxEventRepository.deleteAllInBatch(published);
+        log.debug("Relayed {} of {} outbox events", published.size(), events.size());
+
+        return published.size();
+    }
+
+    /**
+     * Doubles with every failed attempt, up to the maximum.
+     */
+    private Duration backoff(int attempts) {
+        long multiplier = 1L << Math.min(attempts - 1, 30);
+        return Duration.ofMillis(Math.min(maxBackoffMs, initialBackoffMs * multiplier));
+    }
+}
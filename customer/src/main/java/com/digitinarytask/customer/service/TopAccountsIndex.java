@@ -0,0 +1,162 @@
+package com.digitinarytask.customer.service;
+
+import com.digitinarytask.customer.repository.AccountRepository;
+import com.digitinarytask.customer.repository.projection.AccountBalance;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory index of active accounts ordered by balance, highest first.
+ * <p>
+ * Threshold queries walk the head of a skip list, so a page costs O(log n + offset + size) no matter
+ * how many accounts exist. The index is rebuilt from the database when the application is ready and
+ * periodically after that, which also picks up changes made by other instances. Between rebuilds,
+ * services call {@link #refresh} with the accounts they changed; the index re-reads them once the
+ * transaction commits.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class TopAccountsIndex {
+
+    /**
+     * An indexed account. Ordered by balance descending, then by ID.
+     */
+    public record Entry(Long accountId, BigDecimal balance) implements Comparable<Entry> {
+        @Override
+        public int compareTo(Entry other) {
+            int byBalance = other.balance.compareTo(balance);
+            return byBalance != 0 ? byBalance : Long.compare(accountId, other.accountId);
+        }
+    }
+
+    private record State(ConcurrentSkipListSet<Entry> ordered, ConcurrentHashMap<Long, Entry> byAccountId) {
+        State() {
+            this(new ConcurrentSkipListSet<>(), new ConcurrentHashMap<>());
+        }
+    }
+
+    private final AccountRepository accountRepository;
+
+    private volatile State state = new State();
+    private volatile boolean ready;
+    private volatile Set<Long> changedDuringRebuild;
+
+
+    /**
+     * Whether the index has been built and can serve queries.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns active accounts with a balance strictly greater than the threshold, highest first.
+     */
+    public List<Entry> findAbove(BigDecimal threshold, long offset, int limit) {
+        NavigableSet<Entry> above = state.ordered().headSet(new Entry(Long.MIN_VALUE, threshold), false);
+        return above.stream()
+            .skip(offset)
+            .limit(limit)
+            .toList();
+    }
+
+    /**
+     * Counts active accounts with a balance strictly greater than the threshold. This walks every
+     * match, so callers should only ask when the total is actually needed.
+     */
+    public long countAbove(BigDecimal threshold) {
+        return state.ordered().headSet(new Entry(Long.MIN_VALUE, threshold), false).size();
+    }
+
+    /**
+     * Re-reads the given accounts once the current transaction commits, or right away without one.
+     */
+    public void refresh(Collection<Long> accountIds) {
+        if (accountIds.isEmpty() || (!ready && changedDuringRebuild == null)) {
+            return;
+        }
+
+        Set<Long> ids = Set.copyOf(accountIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload(ids);
+                }
+            });
+        } else {
+            reload(ids);
+        }
+    }
+
+    /**
+     * Rebuilds the index from the database. Accounts refreshed while the rebuild reads are re-read
+     * after the new index is in place, so no change is lost to the swap.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${top-accounts.rebuild-interval-ms}", fixedDelayString = "${top-accounts.rebuild-interval-ms}")
+    public synchronized void rebuild() {
+        changedDuringRebuild = ConcurrentHashMap.newKeySet();
+        try {
+            State rebuilt = new State();
+            accountRepository.findActiveBalances(null).forEach(balance -> put(rebuilt, balance));
+            state = rebuilt;
+            ready = true;
+
+            Set<Long> changed = changedDuringRebuild;
+            changedDuringRebuild = null;
+            if (!changed.isEmpty()) {
+                reload(changed);
+            }
+            log.info("Rebuilt top accounts index with {} active accounts", rebuilt.byAccountId().size());
+        } catch (RuntimeException e) {
+            changedDuringRebuild = null;
+            log.error("Failed to rebuild top accounts index: {}", e.getMessage(), e);
+        }
+    }
+
+    private void reload(Set<Long> accountIds) {
+        Set<Long> pendingRebuild = changedDuringRebuild;
+        if (pendingRebuild != null) {
+            pendingRebuild.addAll(accountIds);
+        }
+
+        State current = state;
+        Set<Long> inactive = new HashSet<>(accountIds);
+        for (AccountBalance balance : accountRepository.findActiveBalances(accountIds)) {
+            put(current, balance);
+            inactive.remove(balance.id());
+        }
+        inactive.forEach(accountId -> remove(current, accountId));
+    }
+
+    private static void put(State state, AccountBalance balance) {
+        Entry entry = new Entry(balance.id(), balance.balance());
+        state.byAccountId().compute(balance.id(), (accountId, previous) -> {
+            if (previous != null) {
+                state.ordered().remove(previous);
+            }
+            state.ordered().add(entry);
+            return entry;
+        });
+    }
+
+    private static void remove(State state, Long accountId) {
+        state.byAccountId().computeIfPresent(accountId, (id, previous) -> {
+            state.ordered().remove(previous);
+            return null;
+        });
+    }
+}
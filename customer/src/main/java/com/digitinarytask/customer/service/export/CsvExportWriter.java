@@ -0,0 +1,64 @@
+package com.digitinarytask.customer.service.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes rows as RFC 4180 CSV with a header record.
+ */
+class CsvExportWriter<T> implements ExportWriter<T> {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String RECORD_SEPARATOR = "\r\n";
+
+    private final List<ExportColumn<T>> columns;
+    private final Writer writer;
+
+    CsvExportWriter(List<ExportColumn<T>> columns, OutputStream out) throws IOException {
+        this.columns = columns;
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        for (int i = 0; i < columns.size(); i++) {
+            writeField(i, columns.get(i).header());
+        }
+        writer.write(RECORD_SEPARATOR);
+    }
+
+    @Override
+    public void write(T row) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            Object value = columns.get(i).value().apply(row);
+            writeField(i, value != null ? value.toString() : null);
+        }
+        writer.write(RECORD_SEPARATOR);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    /**
+     * Writes a field, quoting it only when it contains a delimiter, quote or line break.
+     */
+    private void writeField(int index, String value) throws IOException {
+        if (index > 0) {
+            writer.write(',');
+        }
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+            || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,9 @@
+package com.digitinarytask.customer.service.export;
+
+import java.util.function.Function;
+
+/**
+ * A named CSV column and the accessor that reads it from a row.
+ */
+public record ExportColumn<T>(String header, Function<T, Object> value) {
+}
@@ -0,0 +1,43 @@
+package com.digitinarytask.customer.service.export;
+
+import com.digitinarytask.customer.exception.ExportLimitExceededException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Caps the number of exports streaming at once.
+ * <p>
+ * Each stream holds a thread and a database connection for its whole duration. Requests beyond
+ * {@code export.max-concurrency} are rejected straight away rather than queued, so they never tie up a
+ * request thread waiting for a slot.
+ */
+@Component
+public class ExportConcurrencyLimiter {
+
+    private final Semaphore permits;
+    private final Duration retryAfter;
+
+    public ExportConcurrencyLimiter(@Value("${export.max-concurrency}") int maxConcurrency,
+                                    @Value("${export.retry-after}") Duration retryAfter) {
+        this.permits = new Semaphore(maxConcurrency);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Takes a slot for one export, which must be handed back through {@link #release()} once the stream ends.
+     *
+     * @throws ExportLimitExceededException when every slot is taken
+     */
+    public void acquire() {
+        if (!permits.tryAcquire()) {
+            throw new ExportLimitExceededException("Too many exports in progress", retryAfter);
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+}
@@ -0,0 +1,40 @@
+package com.digitinarytask.customer.service.export;
+
+import com.digitinarytask.customer.exception.InvalidQueryParameterException;
+
+import java.util.Locale;
+
+/**
+ * Supported bulk export formats.
+ */
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Resolves a format from its case-insensitive name.
+     */
+    public static ExportFormat from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidQueryParameterException("Unsupported export format: " + value);
+        }
+    }
+}
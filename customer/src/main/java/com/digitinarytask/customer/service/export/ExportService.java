@@ -0,0 +1,121 @@
+package com.digitinarytask.customer.service.export;
+
+import com.digitinarytask.customer.dto.domain.AccountDTO;
+import com.digitinarytask.customer.dto.domain.CustomerDTO;
+import com.digitinarytask.customer.dto.domain.IndividualCustomerDTO;
+import com.digitinarytask.customer.dto.domain.OrganizationCustomerDTO;
+import com.digitinarytask.customer.dto.mapper.AccountMapper;
+import com.digitinarytask.customer.dto.mapper.CustomerMapper;
+import com.digitinarytask.customer.dto.search.AccountSearchDTO;
+import com.digitinarytask.customer.dto.search.CustomerSearchDTO;
+import com.digitinarytask.customer.repository.AccountRepository;
+import com.digitinarytask.customer.repository.CustomerRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Streams accounts and customers straight from a database cursor to an output stream.
+ * Rows are mapped and written one at a time, so memory use does not depend on the size of the export.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportService {
+
+    private static final List<ExportColumn<AccountDTO>> ACCOUNT_COLUMNS = List.of(
+        new ExportColumn<>("id", AccountDTO::getId),
+        new ExportColumn<>("accountNumber", AccountDTO::getAccountNumber),
+        new ExportColumn<>("accountName", AccountDTO::getAccountName),
+        new ExportColumn<>("balance", AccountDTO::getBalance),
+        new ExportColumn<>("dateOpened", AccountDTO::getDateOpened),
+        new ExportColumn<>("status", AccountDTO::getStatus),
+        new ExportColumn<>("accountType", AccountDTO::getAccountType),
+        new ExportColumn<>("customerId", AccountDTO::getCustomerId)
+    );
+
+    private static final List<ExportColumn<CustomerDTO>> CUSTOMER_COLUMNS = List.of(
+        new ExportColumn<>("id", CustomerDTO::getId),
+        new ExportColumn<>("customerType", dto -> dto instanceof OrganizationCustomerDTO ? "ORGANIZATION" : "INDIVIDUAL"),
+        new ExportColumn<>("name", CustomerDTO::getName),
+        new ExportColumn<>("mobileNo", CustomerDTO::getMobileNo),
+        new ExportColumn<>("nationalId", dto -> dto instanceof IndividualCustomerDTO individual ? individual.getNationalId() : null),
+        new ExportColumn<>("firstName", dto -> dto instanceof IndividualCustomerDTO individual ? individual.getFirstName() : null),
+        new ExportColumn<>("lastName", dto -> dto instanceof IndividualCustomerDTO individual ? individual.getLastName() : null),
+        new ExportColumn<>("email", dto -> dto instanceof IndividualCustomerDTO individual ? individual.getEmail() : null)
+    );
+
+    private final AccountRepository accountRepository;
+    private final CustomerRepository customerRepository;
+    private final AccountMapper accountMapper;
+    private final CustomerMapper customerMapper;
+    private final ObjectMapper objectMapper;
+
+    @Value("${export.fetch-size}")
+    private int fetchSize;
+
+    /**
+     * Writes every account matching the criteria to the output stream.
+     */
+    @Transactional(readOnly = true)
+    public void exportAccounts(AccountSearchDTO searchDTO, ExportFormat format, OutputStream out) throws IOException {
+        log.debug("Exporting accounts as {} with criteria: {}", format, searchDTO);
+        ExportWriter<AccountDTO> writer = format == ExportFormat.CSV
+            ? new CsvExportWriter<>(ACCOUNT_COLUMNS, out)
+            : new NdjsonExportWriter<>(objectMapper, out);
+
+        long[] rows = {0};
+        try {
+            accountRepository.scrollSearch(searchDTO, fetchSize, account -> {
+                write(writer, accountMapper.toDTO(account));
+                rows[0]++;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.finish();
+        log.info("Exported {} accounts as {}", rows[0], format);
+    }
+
+    /**
+     * Writes every customer matching the criteria to the output stream, without addresses, accounts or organization.
+     */
+    @Transactional(readOnly = true)
+    public void exportCustomers(CustomerSearchDTO searchDTO, ExportFormat format, OutputStream out) throws IOException {
+        log.debug("Exporting customers as {} with criteria: {}", format, searchDTO);
+        ExportWriter<CustomerDTO> writer = format == ExportFormat.CSV
+            ? new CsvExportWriter<>(CUSTOMER_COLUMNS, out)
+            : new NdjsonExportWriter<>(objectMapper, out);
+
+        long[] rows = {0};
+        try {
+            customerRepository.scrollSearch(searchDTO, fetchSize, customer -> {
+                write(writer, customerMapper.toDTOWithoutRelations(customer));
+                rows[0]++;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.finish();
+        log.info("Exported {} customers as {}", rows[0], format);
+    }
+
+    /**
+     * Writes a row, rethrowing I/O failures unchecked so they can cross the repository callback.
+     */
+    private <T> void write(ExportWriter<T> writer, T row) {
+        try {
+            writer.write(row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.digitinarytask.customer.service.export;
+
+import java.io.IOException;
+
+/**
+ * Writes export rows one at a time to an underlying output stream.
+ */
+interface ExportWriter<T> {
+
+    /**
+     * Writes a single row.
+     */
+    void write(T row) throws IOException;
+
+    /**
+     * Flushes any buffered rows without closing the underlying stream.
+     */
+    void finish() throws IOException;
+}
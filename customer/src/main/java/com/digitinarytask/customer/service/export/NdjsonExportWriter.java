@@ -0,0 +1,37 @@
+package com.digitinarytask.customer.service.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes rows as newline-delimited JSON through a single buffered generator.
+ */
+class NdjsonExportWriter<T> implements ExportWriter<T> {
+    private final ObjectWriter writer;
+    private final JsonGenerator generator;
+
+    NdjsonExportWriter(ObjectMapper objectMapper, OutputStream out) throws IOException {
+        // Serialized by runtime type so subclass fields are kept
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.generator = objectMapper.getFactory().createGenerator(out)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Rows are separated by the newline written after each one instead of the default space
+        this.generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void write(T row) throws IOException {
+        writer.writeValue(generator, row);
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        generator.flush();
+    }
+}
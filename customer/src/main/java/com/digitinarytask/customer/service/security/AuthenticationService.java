@@ -51,8 +51,11 @@ public class AuthenticationService {
      *
      */
     public AuthResponse refreshToken(RefreshTokenRequest request) {
-        String username = jwtService.extractUsername(request.getRefreshToken());
-        UserDetails user = userDetailsService.loadUserByUsername(username);
+        JwtService.VerifiedToken token = jwtService.verify(request.getRefreshToken());
+        if (token.isAccessToken()) {
+            throw new RuntimeException("Invalid refresh token");
+        }
+        UserDetails user = userDetailsService.loadUserByUsername(token.username());
 
         if (jwtService.isTokenValid(request.getRefreshToken(), user)) {
             String accessToken = jwtService.generateToken(user);
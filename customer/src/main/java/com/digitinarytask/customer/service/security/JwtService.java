@@ -1,27 +1,84 @@
 package com.digitinarytask.customer.service.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import io.jsonwebtoken.Claims;
 
-import java.security.Key;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Base64;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
 
 /**
  * Service class for handling JWT operations such as token generation and validation.
+ * <p>
+ * Access tokens carry the user's roles in a {@value #ROLES_CLAIM} claim, so a request can be
+ * authenticated from the token alone. The flip side is that a deleted user or a role change only takes
+ * effect once the user's access tokens expire, which is why {@code jwt.expiration-time} is kept short.
+ * Every token names its kind in a {@value #TOKEN_TYPE_CLAIM} claim; refresh tokens carry no roles and
+ * are only accepted for refreshing. Verified tokens are cached by their SHA-256 hash until they
+ * expire, so a client reusing a token pays for the signature check once.
  */
 @Service
 @Slf4j
 public class JwtService {
+    public static final String ROLES_CLAIM = "roles";
+    public static final String TOKEN_TYPE_CLAIM = "token_type";
+    public static final String ACCESS_TOKEN = "access";
+    public static final String REFRESH_TOKEN = "refresh";
+
+    /**
+     * A token whose signature and expiry have been checked.
+     *
+     * @param roles the authorities carried by the token, or null for tokens issued without them
+     * @param type  {@value #ACCESS_TOKEN} or {@value #REFRESH_TOKEN}, or null for tokens issued without a type
+     */
+    public record VerifiedToken(String username, List<String> roles, String type, Instant expiresAt) {
+
+        public boolean isExpired() {
+            return !expiresAt.isAfter(Instant.now());
+        }
+
+        public boolean isAccessToken() {
+            return ACCESS_TOKEN.equals(type);
+        }
+
+        public boolean isRefreshToken() {
+            return REFRESH_TOKEN.equals(type);
+        }
+
+        /**
+         * The user the token was issued to, built from its claims. Only for tokens that carry roles.
+         */
+        public UserDetails toUserDetails() {
+            return User.withUsername(username)
+                .password("")
+                .authorities(roles.stream().map(SimpleGrantedAuthority::new).toList())
+                .build();
+        }
+    }
 
     @Value("${jwt.secret-key}")
     private String secretKey;
@@ -32,6 +89,41 @@ public class JwtService {
     @Value("${jwt.refresh-toke-expiration-time}")
     private long refreshExpiration;
 
+    @Value("${jwt.verified-token-cache.maximum-size}")
+    private long verifiedTokenCacheSize;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    /**
+     * Decodes the signing key and builds the parser once; both are immutable and thread-safe.
+     */
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(Base64.getDecoder().decode(secretKey));
+        parser = Jwts.parser().verifyWith(signingKey).build();
+        verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(verifiedTokenCacheSize)
+            .expireAfter(new Expiry<String, VerifiedToken>() {
+                @Override
+                public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                    return Math.max(0, Duration.between(Instant.now(), token.expiresAt()).toNanos());
+                }
+
+                @Override
+                public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+
+                @Override
+                public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+    }
+
     /**
      * Generates a JWT token for the given user details.
      *
@@ -44,14 +136,14 @@ public class JwtService {
      * Generates a JWT token with additional claims for the given user details.
      */
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
-        return buildToken(extraClaims, userDetails, jwtExpiration);
+        return buildToken(extraClaims, userDetails, ACCESS_TOKEN, jwtExpiration);
     }
 
     /**
      * Generates a refresh token for the given user details.
      */
     public String generateRefreshToken(UserDetails userDetails) {
-        return buildToken(new HashMap<>(), userDetails, refreshExpiration);
+        return buildToken(new HashMap<>(), userDetails, REFRESH_TOKEN, refreshExpiration);
     }
 
     /**
@@ -61,78 +153,95 @@ public class JwtService {
     public String mockToken(UserDetails userDetails) {
         return Jwts.builder()
             .setSubject(userDetails.getUsername())
+            .claim(ROLES_CLAIM, roles(userDetails))
+            .claim(TOKEN_TYPE_CLAIM, ACCESS_TOKEN)
             .setIssuedAt(new Date(System.currentTimeMillis()))
             .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
-            .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+            .signWith(signingKey, SignatureAlgorithm.HS256)
             .compact();
     }
 
     /**
-     * Builds a JWT token with the specified claims, user details, and expiration time.
+     * Builds a JWT token with the specified claims, user details, type and expiration time. Only access
+     * tokens carry the user's roles.
      */
-    private String buildToken(Map<String, Object> extraClaims, UserDetails userDetails, long expiration) {
+    private String buildToken(Map<String, Object> extraClaims, UserDetails userDetails, String type, long expiration) {
         return Jwts.builder()
             .setClaims(extraClaims)
             .setSubject(userDetails.getUsername())
+            .claim(ROLES_CLAIM, ACCESS_TOKEN.equals(type) ? roles(userDetails) : null)
+            .claim(TOKEN_TYPE_CLAIM, type)
             .setIssuedAt(new Date(System.currentTimeMillis()))
             .setExpiration(new Date(System.currentTimeMillis() + expiration))
-            .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+            .signWith(signingKey, SignatureAlgorithm.HS256)
             .compact();
     }
 
     /**
-     * Extracts the username from the given JWT token.
-     */
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
-
-    /**
-     * Validates the given JWT token against the user details.
+     * Verifies the token's signature and expiry, parsing it at most once while it stays cached.
+     *
+     * @throws JwtException if the token is malformed, forged or expired
      */
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+    public VerifiedToken verify(String token) {
+        String key = hash(token);
+        VerifiedToken verified = verifiedTokens.getIfPresent(key);
+        if (verified == null) {
+            verified = parse(token);
+            verifiedTokens.put(key, verified);
+        }
+        if (verified.isExpired()) {
+            verifiedTokens.invalidate(key);
+            throw new JwtException("Token expired at " + verified.expiresAt());
+        }
+        return verified;
     }
 
     /**
-     * Checks if the given JWT token is expired.
+     * Extracts the username from the given JWT token.
      */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public String extractUsername(String token) {
+        return verify(token).username();
     }
 
     /**
-     * Extracts the expiration date from the given JWT token.
+     * Validates the given JWT token against the user details.
      */
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public boolean isTokenValid(String token, UserDetails userDetails) {
+        try {
+            return verify(token).username().equals(userDetails.getUsername());
+        } catch (JwtException e) {
+            return false;
+        }
     }
 
     /**
-     * Extracts all claims from the given JWT token.
+     * Parses the token, checking its signature and expiry.
      */
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-            .setSigningKey(getSignInKey())
-            .build()
-            .parseClaimsJws(token)
-            .getBody();
+    private VerifiedToken parse(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        if (claims.getExpiration() == null) {
+            throw new JwtException("Token has no expiration");
+        }
+        Object roles = claims.get(ROLES_CLAIM);
+        return new VerifiedToken(
+            claims.getSubject(),
+            roles instanceof Collection<?> values ? values.stream().map(String::valueOf).toList() : null,
+            claims.get(TOKEN_TYPE_CLAIM, String.class),
+            claims.getExpiration().toInstant());
     }
 
-    /**
-     * Extracts a specific claim from the given JWT token using the provided claims resolver.
-     */
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    private static List<String> roles(UserDetails userDetails) {
+        return userDetails.getAuthorities().stream()
+            .map(GrantedAuthority::getAuthority)
+            .toList();
     }
 
-    /**
-     * Retrieves the signing key used for JWT token generation and validation.
-     */
-    private Key getSignInKey() {
-        byte[] keyBytes = Base64.getDecoder().decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 }
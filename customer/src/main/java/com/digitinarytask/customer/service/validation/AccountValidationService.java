@@ -75,6 +75,15 @@ public class AccountValidationService {
                 AccountErrorCode.INSUFFICIENT_BALANCE);
         }
 
+        validateBalanceAmount(amount);
+    }
+
+    /**
+     * Validates a balance update amount independently of the current balance
+     */
+    public void validateBalanceAmount(BigDecimal amount) {
+        Assert.notNull(amount, "Update amount cannot be null");
+
         if (amount.compareTo(new BigDecimal("1000000")) > 0) {
             throw new AccountException("Transaction amount exceeds maximum limit",
                 AccountErrorCode.TRANSACTION_LIMIT_EXCEEDED);
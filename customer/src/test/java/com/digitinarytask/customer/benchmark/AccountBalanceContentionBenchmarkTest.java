@@ -0,0 +1,163 @@
+package com.digitinarytask.customer.benchmark;
+
+import com.digitinarytask.customer.cache.CacheInvalidator;
+import com.digitinarytask.customer.domain.entity.Account;
+import com.digitinarytask.customer.domain.entity.Customer;
+import com.digitinarytask.customer.domain.entity.IndividualCustomer;
+import com.digitinarytask.customer.domain.enumeration.AccountStatus;
+import com.digitinarytask.customer.domain.enumeration.AccountType;
+import com.digitinarytask.customer.dto.mapper.AccountMapperImpl;
+import com.digitinarytask.customer.repository.AccountRepository;
+import com.digitinarytask.customer.repository.CustomerRepository;
+import com.digitinarytask.customer.repository.projection.AccountBalance;
+import com.digitinarytask.customer.service.AccountNumberFilter;
+import com.digitinarytask.customer.service.AccountService;
+import com.digitinarytask.customer.service.BalanceLedgerService;
+import com.digitinarytask.customer.service.OutboxService;
+import com.digitinarytask.customer.service.TopAccountsIndex;
+import com.digitinarytask.customer.service.validation.AccountValidationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures {@link AccountService#updateBalance} throughput with many concurrent updaters, once with every
+ * updater hitting a handful of hot accounts and once with each updater owning a cold account of its own.
+ * <p>
+ * Run with {@code mvn test -Pbenchmark}. Both scenarios also check that no update was lost. Set
+ * {@code AMOUNT=-1} to measure debits, which lock the account, instead of credits, which only append.
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = "logging.level.org.hibernate=warn")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({
+    AccountService.class,
+    BalanceLedgerService.class,
+    TopAccountsIndex.class,
+    AccountNumberFilter.class,
+    AccountMapperImpl.class,
+    AccountValidationService.class
+})
+class AccountBalanceContentionBenchmarkTest {
+
+    private static final int UPDATERS = 256;
+    private static final int UPDATES_PER_UPDATER = 100;
+    private static final int HOT_ACCOUNTS = 4;
+    private static final BigDecimal AMOUNT = new BigDecimal(System.getProperty("AMOUNT", "1"));
+    private static final BigDecimal INITIAL_BALANCE = BigDecimal.valueOf(UPDATES_PER_UPDATER * UPDATERS);
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @MockBean
+    private OutboxService outboxService;
+
+    @MockBean
+    private CacheInvalidator cacheInvalidator;
+
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository.deleteAll();
+        customerRepository.deleteAll();
+        customer = customerRepository.save(IndividualCustomer.builder()
+            .name("Benchmark customer")
+            .firstName("Bench")
+            .lastName("Mark")
+            .mobileNo("1234567890")
+            .nationalId("0000000001")
+            .build());
+    }
+
+    @Test
+    void hotAccountsThroughput() throws Exception {
+        List<Long> accountIds = createAccounts(HOT_ACCOUNTS);
+
+        run("hot", accountIds, updater -> accountIds.get(updater % HOT_ACCOUNTS));
+    }
+
+    @Test
+    void coldAccountsThroughput() throws Exception {
+        List<Long> accountIds = createAccounts(UPDATERS);
+
+        run("cold", accountIds, accountIds::get);
+    }
+
+    private void run(String scenario, List<Long> accountIds, IntFunction<Long> chooser) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(UPDATERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>(UPDATERS);
+        try {
+            for (int updater = 0; updater < UPDATERS; updater++) {
+                Long accountId = chooser.apply(updater);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < UPDATES_PER_UPDATER; i++) {
+                        accountService.updateBalance(accountId, AMOUNT);
+                    }
+                    return null;
+                }));
+            }
+
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsedNanos = System.nanoTime() - begin;
+
+            int totalUpdates = UPDATERS * UPDATES_PER_UPDATER;
+            System.out.printf("updateBalance (%s, %d accounts): %d updates by %d updaters in %d ms, %.1f updates/s%n",
+                scenario, accountIds.size(), totalUpdates, UPDATERS, elapsedNanos / 1_000_000,
+                totalUpdates / (elapsedNanos / 1_000_000_000.0));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        BigDecimal expected = INITIAL_BALANCE.multiply(BigDecimal.valueOf(accountIds.size()))
+            .add(AMOUNT.multiply(BigDecimal.valueOf((long) UPDATERS * UPDATES_PER_UPDATER)));
+        BigDecimal actual = accountRepository.findBalances(accountIds).stream()
+            .map(AccountBalance::balance)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(0, expected.compareTo(actual), "lost balance updates");
+    }
+
+    private List<Long> createAccounts(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(accountRepository.save(Account.builder()
+                .accountNumber(String.format("BC%08d", i))
+                .accountName("Benchmark account")
+                .balance(INITIAL_BALANCE)
+                .status(AccountStatus.ACTIVE)
+                .accountType(AccountType.CURRENT)
+                .customer(customer)
+                .build()).getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,133 @@
+package com.digitinarytask.customer.benchmark;
+
+import com.digitinarytask.customer.cache.CacheInvalidator;
+import com.digitinarytask.customer.domain.enumeration.AccountStatus;
+import com.digitinarytask.customer.domain.enumeration.AccountType;
+import com.digitinarytask.customer.domain.enumeration.AddressType;
+import com.digitinarytask.customer.dto.domain.AccountDTO;
+import com.digitinarytask.customer.dto.domain.AddressDTO;
+import com.digitinarytask.customer.dto.domain.IndividualCustomerDTO;
+import com.digitinarytask.customer.dto.mapper.AccountMapperImpl;
+import com.digitinarytask.customer.dto.mapper.AddressMapperImpl;
+import com.digitinarytask.customer.dto.mapper.CustomerMapperImpl;
+import com.digitinarytask.customer.dto.mapper.OrganizationMapperImpl;
+import com.digitinarytask.customer.service.AccountNumberFilter;
+import com.digitinarytask.customer.service.CustomerService;
+import com.digitinarytask.customer.service.TopAccountsIndex;
+import com.digitinarytask.customer.service.validation.AccountValidationService;
+import com.digitinarytask.customer.service.validation.AddressValidationService;
+import com.digitinarytask.customer.service.validation.CustomerValidationService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures insert throughput of {@link CustomerService#createCustomer} with nested accounts and addresses.
+ * <p>
+ * Run with {@code mvn test -Pbenchmark}. To compare against one sequence call per insert
+ * (the behaviour of {@code allocationSize = 1}), run again with {@code -DID_OPTIMIZER=none}.
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "logging.level.org.hibernate=warn"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({
+    CustomerService.class,
+    TopAccountsIndex.class,
+    AccountNumberFilter.class,
+    CustomerMapperImpl.class,
+    AccountMapperImpl.class,
+    AddressMapperImpl.class,
+    OrganizationMapperImpl.class,
+    CustomerValidationService.class,
+    AccountValidationService.class,
+    AddressValidationService.class
+})
+class CustomerCreateBenchmarkTest {
+
+    private static final int WARMUP_CUSTOMERS = 200;
+    private static final int MEASURED_CUSTOMERS = 2_000;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private CacheInvalidator cacheInvalidator;
+
+    @Test
+    void createCustomerThroughput() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        createCustomers(0, WARMUP_CUSTOMERS);
+        statistics.clear();
+
+        long start = System.nanoTime();
+        createCustomers(WARMUP_CUSTOMERS, MEASURED_CUSTOMERS);
+        long elapsedNanos = System.nanoTime() - start;
+
+        double customersPerSecond = MEASURED_CUSTOMERS / (elapsedNanos / 1_000_000_000.0);
+        double statementsPerCustomer = (double) statistics.getPrepareStatementCount() / MEASURED_CUSTOMERS;
+
+        System.out.printf("createCustomer: %d customers in %d ms, %.1f customers/s, %.2f statements/customer%n",
+            MEASURED_CUSTOMERS, elapsedNanos / 1_000_000, customersPerSecond, statementsPerCustomer);
+
+        assertTrue(customersPerSecond > 0);
+    }
+
+    private void createCustomers(int offset, int count) {
+        for (int i = offset; i < offset + count; i++) {
+            customerService.createCustomer(buildCustomer(i));
+        }
+    }
+
+    private IndividualCustomerDTO buildCustomer(int index) {
+        return IndividualCustomerDTO.builder()
+            .name("Customer " + index)
+            .firstName("First")
+            .lastName("Last")
+            .email("customer" + index + "@example.com")
+            .mobileNo("+1234567890")
+            .nationalId(String.format("%010d", index))
+            .accounts(Set.of(AccountDTO.builder()
+                .accountNumber(String.format("BM%08d", index))
+                .accountName("Benchmark account")
+                .balance(BigDecimal.valueOf(1000))
+                .dateOpened(LocalDate.now())
+                .status(AccountStatus.ACTIVE)
+                .accountType(AccountType.CURRENT)
+                .build()))
+            .addresses(Set.of(
+                buildAddress(AddressType.HOME),
+                buildAddress(AddressType.OFFICE)))
+            .build();
+    }
+
+    private AddressDTO buildAddress(AddressType addressType) {
+        return AddressDTO.builder()
+            .postalCode("10001")
+            .city("New York")
+            .state("NY")
+            .country("USA")
+            .addressType(addressType)
+            .build();
+    }
+}
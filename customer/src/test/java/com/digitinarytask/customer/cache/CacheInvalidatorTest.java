@@ -0,0 +1,92 @@
+package com.digitinarytask.customer.cache;
+
+import com.digitinarytask.customer.dto.domain.AccountDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheInvalidatorTest {
+
+    private DependencyTrackingCacheManager nodeA;
+    private DependencyTrackingCacheManager nodeB;
+    private CacheInvalidator invalidatorA;
+
+    @BeforeEach
+    void setUp() {
+        InvalidationBus bus = new InProcessInvalidationBus();
+        nodeA = node();
+        nodeB = node();
+        invalidatorA = new CacheInvalidator(nodeA, bus);
+        new CacheInvalidator(nodeB, bus);
+    }
+
+    @Test
+    void invalidationOnOneNodeEvictsEntryOnTheOther() {
+        nodeA.getCache("accounts").put(10L, account(10L));
+        nodeB.getCache("accounts").put(10L, account(10L));
+        nodeB.getCache("accounts").put(11L, account(11L));
+
+        invalidatorA.invalidate(EntityRef.account(10L));
+
+        assertNull(nodeA.getCache("accounts").get(10L));
+        assertNull(nodeB.getCache("accounts").get(10L));
+        assertNotNull(nodeB.getCache("accounts").get(11L));
+    }
+
+    @Test
+    void valueLoadedBeforeRemoteInvalidationIsNotKept() {
+        Cache accounts = nodeB.getCache("accounts");
+
+        // A read on node B misses and starts loading the old state
+        assertNull(accounts.get(10L));
+
+        // Node A commits a change before the load finishes
+        invalidatorA.invalidate(EntityRef.account(10L));
+
+        accounts.put(10L, account(10L));
+        assertNull(accounts.get(10L));
+    }
+
+    @Test
+    void lateInvalidationDoesNotMoveVersionBackwards() {
+        CacheDependencyIndex index = new CacheDependencyIndex();
+        index.markInvalidated(List.of(EntityRef.account(10L)), 200);
+        index.markInvalidated(List.of(EntityRef.account(10L)), 100);
+
+        assertTrue(index.invalidatedSince(List.of(EntityRef.account(10L)), 150));
+    }
+
+    @Test
+    void invalidationRoundTripsThroughWireFormat() {
+        CacheInvalidation invalidation = new CacheInvalidation("node-a", 42L,
+            List.of(EntityRef.account(10L), EntityRef.membership(EntityRef.CUSTOMER)));
+
+        assertEquals(invalidation, CacheInvalidation.decode(invalidation.encode()));
+        assertThrows(IllegalArgumentException.class, () -> CacheInvalidation.decode("garbage"));
+    }
+
+    @Test
+    void clockMovesPastReceivedTimestamps() {
+        HybridLogicalClock clock = new HybridLogicalClock(() -> 1_000L);
+        long local = clock.now();
+        long remote = local + 1_000_000;
+
+        assertTrue(clock.receive(remote) > remote);
+        assertTrue(clock.now() > remote);
+    }
+
+    private static DependencyTrackingCacheManager node() {
+        return new DependencyTrackingCacheManager(new ConcurrentMapCacheManager("accounts"),
+            new CacheDependencyIndex(), Map.of());
+    }
+
+    private static AccountDTO account(Long id) {
+        return AccountDTO.builder().id(id).build();
+    }
+}
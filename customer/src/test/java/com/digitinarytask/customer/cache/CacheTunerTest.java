@@ -0,0 +1,137 @@
+package com.digitinarytask.customer.cache;
+
+import com.digitinarytask.customer.config.CacheTuningProperties;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheTunerTest {
+
+    private CaffeineCacheManager cacheManager;
+    private CacheTuner cacheTuner;
+    private CacheTuningProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheNames(List.of("accounts"));
+        registerAccounts(Ticker.systemTicker());
+        cacheTuner = new CacheTuner(cacheManager);
+
+        properties = new CacheTuningProperties();
+        properties.setCaches(Map.of("accounts", new CacheTuningProperties.Spec()));
+        properties.getAutoTune().setMinimumSize(10);
+    }
+
+    @Test
+    void reportShowsSettingsAndStatistics() {
+        Cache accounts = cacheManager.getCache("accounts");
+        accounts.put(1L, "a");
+        accounts.get(1L);
+        accounts.get(2L);
+
+        CacheReport report = cacheTuner.report("accounts").orElseThrow();
+
+        assertEquals(100L, report.maximumSize());
+        assertEquals("PT15M", report.expireAfterWrite());
+        assertEquals(1, report.hitCount());
+        assertEquals(1, report.missCount());
+        assertEquals(0.5, report.hitRatio());
+        assertTrue(cacheTuner.report("unknown").isEmpty());
+    }
+
+    @Test
+    void tuneChangesSizeAndTtl() {
+        CacheReport report = cacheTuner.tune("accounts", 50L, Duration.ofMinutes(5)).orElseThrow();
+
+        assertEquals(50L, report.maximumSize());
+        assertEquals("PT5M", report.expireAfterWrite());
+        assertTrue(cacheTuner.tune("unknown", 50L, null).isEmpty());
+    }
+
+    @Test
+    void autoTunerGrowsEvictingCache() {
+        CacheAutoTuner autoTuner = new CacheAutoTuner(cacheTuner, properties);
+        autoTuner.tune();
+
+        readKeys(200, 3);
+        autoTuner.tune();
+
+        assertEquals(125L, cacheTuner.report("accounts").orElseThrow().maximumSize());
+    }
+
+    @Test
+    void autoTunerStaysWithinHeapBudget() {
+        properties.getAutoTune().setHeapBudget(DataSize.ofKilobytes(100));
+        CacheAutoTuner autoTuner = new CacheAutoTuner(cacheTuner, properties);
+        autoTuner.tune();
+
+        readKeys(200, 3);
+        autoTuner.tune();
+
+        assertEquals(100L, cacheTuner.report("accounts").orElseThrow().maximumSize());
+    }
+
+    @Test
+    void autoTunerShrinksUnderusedCache() {
+        CacheAutoTuner autoTuner = new CacheAutoTuner(cacheTuner, properties);
+        autoTuner.tune();
+
+        readKeys(8, 20);
+        autoTuner.tune();
+
+        assertEquals(10L, cacheTuner.report("accounts").orElseThrow().maximumSize());
+    }
+
+    @Test
+    void autoTunerShrinksMostlyEmptyCacheWhoseEntriesExpire() {
+        AtomicLong nanos = new AtomicLong();
+        registerAccounts(nanos::get);
+        CacheAutoTuner autoTuner = new CacheAutoTuner(cacheTuner, properties);
+        autoTuner.tune();
+
+        // Every round misses on expired entries, which Caffeine also counts as evictions
+        for (int round = 0; round < 20; round++) {
+            readKeys(8, 1);
+            nanos.addAndGet(Duration.ofMinutes(16).toNanos());
+        }
+        readKeys(8, 1);
+        autoTuner.tune();
+
+        assertEquals(10L, cacheTuner.report("accounts").orElseThrow().maximumSize());
+    }
+
+    private void registerAccounts(Ticker ticker) {
+        cacheManager.registerCustomCache("accounts", Caffeine.newBuilder()
+            .maximumSize(100)
+            .expireAfterWrite(Duration.ofMinutes(15))
+            .executor(Runnable::run)
+            .ticker(ticker)
+            .recordStats()
+            .build());
+    }
+
+    /**
+     * Reads each of the keys a few times, loading it on a miss.
+     */
+    private void readKeys(int keys, int rounds) {
+        Cache accounts = cacheManager.getCache("accounts");
+        for (int round = 0; round < rounds; round++) {
+            for (long key = 0; key < keys; key++) {
+                accounts.get(key, () -> "account");
+            }
+        }
+        ((com.github.benmanes.caffeine.cache.Cache<?, ?>) accounts.getNativeCache()).cleanUp();
+    }
+}
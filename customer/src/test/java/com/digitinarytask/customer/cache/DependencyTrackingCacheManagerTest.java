@@ -0,0 +1,94 @@
+package com.digitinarytask.customer.cache;
+
+import com.digitinarytask.customer.dto.domain.AccountDTO;
+import com.digitinarytask.customer.dto.domain.AddressDTO;
+import com.digitinarytask.customer.dto.domain.CustomerDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.PageImpl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DependencyTrackingCacheManagerTest {
+
+    private DependencyTrackingCacheManager cacheManager;
+    private Cache accounts;
+    private Cache customers;
+    private Cache customerPages;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new DependencyTrackingCacheManager(
+            new ConcurrentMapCacheManager("accounts", "customers", "customerPages"),
+            new CacheDependencyIndex(),
+            Map.of("customerPages", Set.of(EntityRef.CUSTOMER)));
+        accounts = cacheManager.getCache("accounts");
+        customers = cacheManager.getCache("customers");
+        customerPages = cacheManager.getCache("customerPages");
+
+        accounts.put(10L, account(10L));
+        accounts.put(11L, account(11L));
+        customers.put(1L, customer(1L, account(10L)));
+        customers.put(2L, customer(2L, account(11L)));
+        customerPages.put("page-0", new PageImpl<>(List.of(customer(1L, account(10L)))));
+    }
+
+    @Test
+    void evictsOnlyEntriesBuiltFromChangedAccount() {
+        cacheManager.evictDependents(List.of(EntityRef.account(10L)));
+
+        assertNull(accounts.get(10L));
+        assertNull(customers.get(1L));
+        assertNull(customerPages.get("page-0"));
+        assertNotNull(accounts.get(11L));
+        assertNotNull(customers.get(2L));
+    }
+
+    @Test
+    void membershipChangeEvictsPagesOnly() {
+        cacheManager.evictDependents(List.of(EntityRef.membership(EntityRef.CUSTOMER)));
+
+        assertNull(customerPages.get("page-0"));
+        assertNotNull(customers.get(1L));
+        assertNotNull(customers.get(2L));
+    }
+
+    @Test
+    void replacedEntryDependsOnlyOnItsNewValue() {
+        customers.put(1L, customer(1L, account(11L)));
+
+        cacheManager.evictDependents(List.of(EntityRef.account(10L)));
+        assertNotNull(customers.get(1L));
+
+        cacheManager.evictDependents(List.of(EntityRef.account(11L)));
+        assertNull(customers.get(1L));
+    }
+
+    @Test
+    void customerDependsOnItsAddresses() {
+        CustomerDTO customer = customer(3L);
+        customer.setAddresses(Set.of(AddressDTO.builder().id(30L).build()));
+        customers.put(3L, customer);
+
+        cacheManager.evictDependents(List.of(EntityRef.address(30L)));
+
+        assertNull(customers.get(3L));
+    }
+
+    private static AccountDTO account(Long id) {
+        return AccountDTO.builder().id(id).build();
+    }
+
+    private static CustomerDTO customer(Long id, AccountDTO... accounts) {
+        CustomerDTO customer = new CustomerDTO();
+        customer.setId(id);
+        customer.setAccounts(Set.of(accounts));
+        return customer;
+    }
+}
@@ -0,0 +1,95 @@
+package com.digitinarytask.customer.cache;
+
+import com.digitinarytask.customer.dto.domain.AccountDTO;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DependencyTrackingCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final List<Runnable> refreshes = new ArrayList<>();
+    private Cache accounts;
+
+    @BeforeEach
+    void setUp() {
+        CaffeineCache delegate = new CaffeineCache("accounts", Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(15))
+            .ticker(nanos::get)
+            .build());
+        accounts = new DependencyTrackingCache(delegate, new CacheDependencyIndex(), new HybridLogicalClock(),
+            Set.of(), Duration.ofMinutes(12), refreshes::add);
+    }
+
+    @Test
+    void concurrentMissesRunOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<AccountDTO>> readers = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                readers.add(executor.submit(() -> accounts.get(10L, () -> {
+                    loads.incrementAndGet();
+                    loading.countDown();
+                    release.await();
+                    return account(10L);
+                })));
+            }
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            release.countDown();
+
+            for (Future<AccountDTO> reader : readers) {
+                assertEquals(10L, reader.get(5, TimeUnit.SECONDS).getId());
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void hitCloseToExpiryRefreshesInBackgroundOnce() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        accounts.get(10L, () -> account(10L, loads.incrementAndGet()));
+
+        nanos.addAndGet(Duration.ofMinutes(5).toNanos());
+        accounts.get(10L, () -> account(10L, loads.incrementAndGet()));
+        assertTrue(refreshes.isEmpty());
+
+        nanos.addAndGet(Duration.ofMinutes(8).toNanos());
+        AccountDTO stale = accounts.get(10L, () -> account(10L, loads.incrementAndGet()));
+        accounts.get(10L, () -> account(10L, loads.incrementAndGet()));
+        assertEquals("load-1", stale.getAccountName());
+        assertEquals(1, refreshes.size());
+
+        refreshes.get(0).run();
+        assertEquals("load-2", accounts.get(10L, AccountDTO.class).getAccountName());
+        assertEquals(2, loads.get());
+    }
+
+    private static AccountDTO account(Long id) {
+        return AccountDTO.builder().id(id).build();
+    }
+
+    private static AccountDTO account(Long id, int load) {
+        return AccountDTO.builder().id(id).accountName("load-" + load).build();
+    }
+}
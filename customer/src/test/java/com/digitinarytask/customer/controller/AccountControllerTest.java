@@ -3,6 +3,8 @@ package com.digitinarytask.customer.controller;
 import com.digitinarytask.customer.domain.enumeration.AccountStatus;
 import com.digitinarytask.customer.domain.enumeration.AccountType;
 import com.digitinarytask.customer.dto.domain.AccountDTO;
+import com.digitinarytask.customer.dto.reposnse.AccountBalanceDTO;
+import com.digitinarytask.customer.dto.reposnse.BalancePostingResultDTO;
 import com.digitinarytask.customer.dto.search.AccountSearchDTO;
 import com.digitinarytask.customer.dto.reposnse.CustomerAccountsSummaryDTO;
 import com.digitinarytask.customer.service.AccountService;
@@ -28,7 +30,10 @@ import java.math.BigDecimal;
 import java.util.Collections;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
@@ -177,6 +182,38 @@ public class AccountControllerTest {
             .andDo(print());
     }
 
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void getBalanceReturns200WithCurrentBalance() throws Exception {
+        when(accountService.getBalance(eq(1L), isNull())).thenReturn(AccountBalanceDTO.builder()
+            .accountId(1L)
+            .balance(new BigDecimal("1150.00"))
+            .build());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/accounts/1/balance"))
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andExpect(MockMvcResultMatchers.jsonPath("$.balance").value(1150.00))
+            .andDo(print());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void postBalancesReturns200WithPostingSummary() throws Exception {
+        when(accountService.postBalances(anyList())).thenReturn(BalancePostingResultDTO.builder()
+            .postings(2)
+            .accounts(2)
+            .netAmount(new BigDecimal("50.00"))
+            .build());
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/accounts/balance-postings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"accountId\": 1, \"amount\": \"100.00\"}, {\"accountId\": 2, \"amount\": \"-50.00\"}]")
+                .with(csrf()))
+            .andExpect(MockMvcResultMatchers.status().isOk())
+            .andExpect(MockMvcResultMatchers.jsonPath("$.postings").value(2))
+            .andDo(print());
+    }
+
     @Test
     @WithMockUser(username = "admin", roles = {"ADMIN"})
     void getCustomerAccountsReturns200WhenAccountsFound() throws Exception {
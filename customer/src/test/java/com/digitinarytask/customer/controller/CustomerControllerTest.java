@@ -196,7 +196,7 @@ class CustomerControllerTest {
     @WithMockUser(username = "admin", roles = {"ADMIN"})
     void searchCustomersReturns200WhenCustomersFound() throws Exception {
         Page<CustomerDTO> page = new PageImpl<>(Collections.singletonList(customer));
-        when(customerService.searchCustomers(any(CustomerSearchDTO.class))).thenReturn(page);
+        when(customerService.searchCustomers(any(CustomerSearchDTO.class), anyBoolean())).thenReturn(page);
 
         mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/customers/search")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -222,7 +222,7 @@ class CustomerControllerTest {
     @Test
     @WithMockUser(username = "admin", roles = {"ADMIN"})
     void getAllCustomersReturns200WhenNoCustomersFound() throws Exception {
-        when(customerService.getAllCustomers(any(Pageable.class))).thenReturn(Page.empty());
+        when(customerService.getAllCustomers(any(Pageable.class), anyBoolean())).thenReturn(Page.empty());
 
         mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/customers")
                 .contentType(MediaType.APPLICATION_JSON))
@@ -234,7 +234,7 @@ class CustomerControllerTest {
     @WithMockUser(username = "admin", roles = {"ADMIN"})
     void getCustomerByTypeReturns200WhenCustomersFound() throws Exception {
         Page<CustomerDTO> page = new PageImpl<>(Collections.singletonList(customer));
-        when(customerService.getCustomersByType(any(String.class), any(Pageable.class))).thenReturn(page);
+        when(customerService.getCustomersByType(any(String.class), any(Pageable.class), anyBoolean())).thenReturn(page);
 
         mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/customers/type/{type}", "INDIVIDUAL")
                 .contentType(MediaType.APPLICATION_JSON))
@@ -259,7 +259,7 @@ class CustomerControllerTest {
     @Test
     @WithMockUser(username = "admin", roles = {"ADMIN"})
     void searchCustomersReturns200WhenNoCustomersFound() throws Exception {
-        when(customerService.searchCustomers(any(CustomerSearchDTO.class))).thenReturn(Page.empty());
+        when(customerService.searchCustomers(any(CustomerSearchDTO.class), anyBoolean())).thenReturn(Page.empty());
 
         mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/customers/search")
                 .contentType(MediaType.APPLICATION_JSON)
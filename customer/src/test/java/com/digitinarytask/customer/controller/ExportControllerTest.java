@@ -0,0 +1,74 @@
+package com.digitinarytask.customer.controller;
+
+import com.digitinarytask.customer.service.export.ExportConcurrencyLimiter;
+import com.digitinarytask.customer.service.export.ExportService;
+import com.digitinarytask.customer.service.security.JwtService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+
+@WebMvcTest(controllers = ExportController.class, properties = "export.max-concurrency=1")
+@Import(ExportConcurrencyLimiter.class)
+class ExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ExportConcurrencyLimiter exportLimiter;
+
+    @MockBean
+    private ExportService exportService;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void exportReleasesItsSlotOnceStreamed() throws Exception {
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/export/accounts")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}")
+                .with(csrf()))
+            .andExpect(MockMvcResultMatchers.request().asyncStarted())
+            .andReturn();
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+            .andExpect(MockMvcResultMatchers.status().isOk());
+
+        verify(exportService).exportAccounts(any(), any(), any());
+        assertDoesNotThrow(exportLimiter::acquire);
+        exportLimiter.release();
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void exportIsRejectedWhileEverySlotIsTaken() throws Exception {
+        exportLimiter.acquire();
+        try {
+            mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/export/accounts")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{}")
+                    .with(csrf()))
+                .andExpect(MockMvcResultMatchers.status().isServiceUnavailable())
+                .andExpect(MockMvcResultMatchers.header().string("Retry-After", "5"));
+        } finally {
+            exportLimiter.release();
+        }
+
+        verifyNoInteractions(exportService);
+    }
+}
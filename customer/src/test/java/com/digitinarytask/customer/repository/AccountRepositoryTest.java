@@ -1,25 +1,36 @@
 package com.digitinarytask.customer.repository;
 
 import com.digitinarytask.customer.domain.entity.Account;
+import com.digitinarytask.customer.domain.entity.BalanceLedgerEntry;
 import com.digitinarytask.customer.domain.entity.Customer;
 import com.digitinarytask.customer.domain.entity.IndividualCustomer;
 import com.digitinarytask.customer.domain.enumeration.AccountStatus;
 import com.digitinarytask.customer.domain.enumeration.AccountType;
+import com.digitinarytask.customer.dto.projection.AccountSummary;
 import com.digitinarytask.customer.dto.search.AccountSearchDTO;
+import com.digitinarytask.customer.dto.reposnse.CursorPageDTO;
 import com.digitinarytask.customer.dto.reposnse.CustomerAccountsSummaryDTO;
+import com.digitinarytask.customer.exception.InvalidQueryParameterException;
+import com.digitinarytask.customer.repository.projection.AccountBalance;
+import com.digitinarytask.customer.service.AccountNumberFilter;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -116,6 +127,23 @@ class AccountRepositoryTest {
         assertEquals(customer.getAccounts().size(), summary.getTotalAccounts());
     }
 
+    @Test
+    void saveRejectsDuplicateAccountNumber() {
+        Account duplicate = Account.builder()
+            .accountNumber("123456789")
+            .accountName("Jane Doe")
+            .status(AccountStatus.ACTIVE)
+            .accountType(AccountType.SAVINGS)
+            .balance(BigDecimal.ZERO)
+            .customer(customer)
+            .build();
+
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+            () -> accountRepository.saveAndFlush(duplicate));
+
+        assertTrue(AccountNumberFilter.isDuplicateAccountNumber(exception));
+    }
+
     @Test
     void existsByAccountNumberReturnsTrueWhenAccountExists() {
         boolean exists = accountRepository.existsByAccountNumber("123456789");
@@ -129,4 +157,161 @@ class AccountRepositoryTest {
 
         assertFalse(exists);
     }
+
+    @Test
+    void findExistingAccountNumbersReturnsOnlyExistingOnes() {
+        Set<String> existing = accountRepository.findExistingAccountNumbers(List.of("123456789", "nonexistentAccountNumber"));
+
+        assertEquals(Set.of("123456789"), existing);
+    }
+
+    @Test
+    void searchByCursorWalksAllAccountsWithoutGapsOrDuplicates() {
+        // Two accounts share a balance so the id tie-breaker is exercised
+        persistAccount("223456789", BigDecimal.valueOf(500));
+        persistAccount("323456789", BigDecimal.valueOf(500));
+        persistAccount("423456789", BigDecimal.valueOf(2000));
+
+        AccountSearchDTO searchDTO = new AccountSearchDTO();
+        searchDTO.setSize(1);
+        searchDTO.setSortBy("balance");
+        searchDTO.setSortDirection("desc");
+
+        List<String> accountNumbers = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageDTO<Account> page = accountRepository.searchByCursor(searchDTO, cursor, false);
+            assertNull(page.getTotalElements());
+            page.getContent().forEach(found -> accountNumbers.add(found.getAccountNumber()));
+            cursor = page.getNextCursor();
+            assertEquals(page.isHasNext(), cursor != null);
+        } while (cursor != null);
+
+        assertEquals(4, accountNumbers.size());
+        assertEquals("423456789", accountNumbers.get(0));
+        assertEquals("123456789", accountNumbers.get(1));
+        assertTrue(accountNumbers.subList(2, 4).containsAll(List.of("223456789", "323456789")));
+    }
+
+    @Test
+    void searchByCursorCountsOnlyWhenRequested() {
+        AccountSearchDTO searchDTO = new AccountSearchDTO();
+        searchDTO.setSize(10);
+
+        CursorPageDTO<Account> page = accountRepository.searchByCursor(searchDTO, null, true);
+
+        assertEquals(1L, page.getTotalElements());
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void searchByCursorRejectsMalformedCursor() {
+        AccountSearchDTO searchDTO = new AccountSearchDTO();
+        searchDTO.setSize(10);
+
+        assertThrows(InvalidQueryParameterException.class,
+            () -> accountRepository.searchByCursor(searchDTO, "not-a-cursor", false));
+    }
+
+    @Test
+    void findBalancesReturnsBalanceAndOwner() {
+        List<AccountBalance> balances = accountRepository.findBalances(List.of(account.getId(), -1L));
+
+        assertEquals(1, balances.size());
+        assertEquals(customer.getId(), balances.get(0).customerId());
+        assertEquals(0, BigDecimal.valueOf(1000).compareTo(balances.get(0).balance()));
+    }
+
+    @Test
+    void findBalancesAddsOnlyPendingLedgerEntries() {
+        LocalDateTime now = LocalDateTime.now();
+        entityManager.persist(BalanceLedgerEntry.of(account.getId(), BigDecimal.valueOf(250), now));
+        entityManager.persist(BalanceLedgerEntry.of(account.getId(), BigDecimal.valueOf(-100), now));
+        BalanceLedgerEntry compacted = BalanceLedgerEntry.of(account.getId(), BigDecimal.valueOf(500), now);
+        compacted.setCompactedAt(now);
+        entityManager.persist(compacted);
+        entityManager.flush();
+
+        List<AccountBalance> balances = accountRepository.findBalances(List.of(account.getId()));
+
+        assertEquals(0, BigDecimal.valueOf(1150).compareTo(balances.get(0).balance()));
+    }
+
+    @Test
+    void searchFiltersSortsAndSummarizesByCurrentBalance() {
+        persistAccount("987654321", BigDecimal.valueOf(1100));
+        entityManager.persist(BalanceLedgerEntry.of(account.getId(), BigDecimal.valueOf(250), LocalDateTime.now()));
+        entityManager.flush();
+        entityManager.clear();
+        AccountSearchDTO searchDTO = new AccountSearchDTO();
+        searchDTO.setPage(0);
+        searchDTO.setSize(10);
+        searchDTO.setSortBy("balance");
+        searchDTO.setSortDirection("desc");
+
+        List<Account> sorted = accountRepository.search(searchDTO).getContent();
+        searchDTO.setMinBalance(BigDecimal.valueOf(1200));
+        List<Account> filtered = accountRepository.search(searchDTO).getContent();
+        AccountSummary summary = accountRepository.searchSummaries(searchDTO, Set.of("balance")).getContent().get(0);
+        CustomerAccountsSummaryDTO customerSummary = accountRepository.getCustomerAccountsSummary(customer.getId());
+
+        assertEquals(List.of("123456789", "987654321"), sorted.stream().map(Account::getAccountNumber).toList());
+        assertEquals(0, BigDecimal.valueOf(1250).compareTo(sorted.get(0).getCurrentBalance()));
+        assertEquals(1, filtered.size());
+        assertEquals(0, BigDecimal.valueOf(1250).compareTo(summary.balance()));
+        assertEquals(0, BigDecimal.valueOf(2350).compareTo(customerSummary.getTotalBalance()));
+    }
+
+    @Test
+    void searchSummariesSelectsOnlyRequestedFields() {
+        AccountSearchDTO searchDTO = new AccountSearchDTO();
+        searchDTO.setPage(0);
+        searchDTO.setSize(10);
+
+        Page<AccountSummary> page = accountRepository.searchSummaries(searchDTO, Set.of("accountNumber", "balance"));
+
+        assertEquals(1, page.getTotalElements());
+        AccountSummary summary = page.getContent().get(0);
+        assertEquals("123456789", summary.accountNumber());
+        assertEquals(0, BigDecimal.valueOf(1000).compareTo(summary.balance()));
+        assertNull(summary.accountName());
+        assertNull(summary.customerId());
+    }
+
+    @Test
+    void searchSummariesSelectsAllFieldsWhenNoneRequested() {
+        AccountSearchDTO searchDTO = new AccountSearchDTO();
+        searchDTO.setPage(0);
+        searchDTO.setSize(10);
+
+        AccountSummary summary = accountRepository.searchSummaries(searchDTO, null).getContent().get(0);
+
+        assertEquals(account.getId(), summary.id());
+        assertEquals("John Doe", summary.accountName());
+        assertEquals(customer.getId(), summary.customerId());
+    }
+
+    @Test
+    void searchSummariesRejectsUnknownField() {
+        AccountSearchDTO searchDTO = new AccountSearchDTO();
+        searchDTO.setPage(0);
+        searchDTO.setSize(10);
+
+        assertThrows(InvalidQueryParameterException.class,
+            () -> accountRepository.searchSummaries(searchDTO, Set.of("password")));
+    }
+
+    private void persistAccount(String accountNumber, BigDecimal balance) {
+        Account extra = Account.builder()
+            .accountNumber(accountNumber)
+            .accountName("John Doe")
+            .status(AccountStatus.ACTIVE)
+            .accountType(AccountType.CURRENT)
+            .balance(balance)
+            .customer(customer)
+            .build();
+        entityManager.persist(extra);
+        entityManager.flush();
+    }
 }
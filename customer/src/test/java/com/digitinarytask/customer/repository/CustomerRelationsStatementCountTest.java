@@ -0,0 +1,137 @@
+package com.digitinarytask.customer.repository;
+
+import com.digitinarytask.customer.domain.entity.*;
+import com.digitinarytask.customer.domain.enumeration.AccountStatus;
+import com.digitinarytask.customer.domain.enumeration.AccountType;
+import com.digitinarytask.customer.domain.enumeration.AddressType;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Asserts how many SQL statements it takes to hydrate a page of customers with their relations.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class CustomerRelationsStatementCountTest {
+
+    private static final int INDIVIDUAL_CUSTOMERS = 8;
+    private static final int ORGANIZATION_CUSTOMERS = 2;
+    private static final int PAGE_SIZE = INDIVIDUAL_CUSTOMERS + ORGANIZATION_CUSTOMERS;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        for (int i = 0; i < INDIVIDUAL_CUSTOMERS; i++) {
+            IndividualCustomer customer = IndividualCustomer.builder()
+                .name("Customer " + i)
+                .firstName("First" + i)
+                .lastName("Last" + i)
+                .mobileNo("12345678" + String.format("%02d", i))
+                .nationalId(String.format("9%08d", i))
+                .build();
+            entityManager.persist(customer);
+            persistAddress(customer, AddressType.HOME);
+            persistAddress(customer, AddressType.OFFICE);
+            persistAccount(customer, String.format("AC%08d", i * 2));
+            persistAccount(customer, String.format("AC%08d", i * 2 + 1));
+        }
+        for (int i = 0; i < ORGANIZATION_CUSTOMERS; i++) {
+            Organization organization = Organization.builder()
+                .legalName("Org " + i)
+                .registrationNumber("REG" + i)
+                .trademarkName("Trademark " + i)
+                .build();
+            OrganizationCustomer customer = OrganizationCustomer.builder()
+                .name("Org customer " + i)
+                .organization(organization)
+                .build();
+            entityManager.persist(customer);
+            persistAddress(customer, AddressType.OFFICE);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void loadRelationsHydratesPageInFixedNumberOfStatements() {
+        Page<Customer> page = customerRepository.findAll(PageRequest.of(0, PAGE_SIZE));
+        assertEquals(PAGE_SIZE, page.getNumberOfElements());
+
+        statistics.clear();
+        customerRepository.loadRelations(page.getContent());
+        int relationCount = touchRelations(page);
+
+        // One query each for organizations, addresses and accounts, whatever the page size
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(INDIVIDUAL_CUSTOMERS * 4 + ORGANIZATION_CUSTOMERS * 2, relationCount);
+    }
+
+    @Test
+    void lazyLoadingWithoutLoadRelationsGrowsWithPageSize() {
+        Page<Customer> page = customerRepository.findAll(PageRequest.of(0, PAGE_SIZE));
+
+        statistics.clear();
+        touchRelations(page);
+
+        assertTrue(statistics.getPrepareStatementCount() >= 2L * PAGE_SIZE,
+            "expected per-customer lazy loads but got " + statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Reads every relation the mapper would read and returns how many were found.
+     */
+    private int touchRelations(Page<Customer> page) {
+        int count = 0;
+        for (Customer customer : page) {
+            count += customer.getAddresses().size();
+            count += customer.getAccounts().size();
+            if (customer instanceof OrganizationCustomer organizationCustomer) {
+                assertNotNull(organizationCustomer.getOrganization().getLegalName());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void persistAddress(Customer customer, AddressType addressType) {
+        entityManager.persist(Address.builder()
+            .city("Amman")
+            .country("Jordan")
+            .postalCode("11118")
+            .state("Amman")
+            .addressType(addressType)
+            .customer(customer)
+            .build());
+    }
+
+    private void persistAccount(Customer customer, String accountNumber) {
+        entityManager.persist(Account.builder()
+            .accountNumber(accountNumber)
+            .accountName("Account " + accountNumber)
+            .status(AccountStatus.ACTIVE)
+            .accountType(AccountType.CURRENT)
+            .balance(BigDecimal.valueOf(100))
+            .customer(customer)
+            .build());
+    }
+}
@@ -0,0 +1,70 @@
+package com.digitinarytask.customer.repository;
+
+import com.digitinarytask.customer.domain.entity.OutboxEvent;
+import com.digitinarytask.shared.enumeration.NotificationType;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class OutboxEventRepositoryTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    private LocalDateTime now;
+    private OutboxEvent failed;
+    private OutboxEvent heldBack;
+    private OutboxEvent otherEntity;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.now();
+        failed = persist(1L, now.plusMinutes(1));
+        heldBack = persist(1L, null);
+        otherEntity = persist(2L, null);
+        entityManager.flush();
+    }
+
+    @Test
+    void findDueHoldsBackEventsBehindOneWaitingForRetry() {
+        List<OutboxEvent> due = outboxEventRepository.findDueOrderByIdAsc(now, PageRequest.of(0, 10));
+
+        assertEquals(List.of(otherEntity.getId()), due.stream().map(OutboxEvent::getId).toList());
+    }
+
+    @Test
+    void findDueReturnsEventsInOrderOnceTheirRetryIsDue() {
+        List<OutboxEvent> due = outboxEventRepository.findDueOrderByIdAsc(now.plusMinutes(2), PageRequest.of(0, 10));
+
+        assertEquals(List.of(failed.getId(), heldBack.getId(), otherEntity.getId()),
+            due.stream().map(OutboxEvent::getId).toList());
+    }
+
+    private OutboxEvent persist(Long entityId, LocalDateTime nextAttemptAt) {
+        OutboxEvent event = OutboxEvent.builder()
+            .eventId(UUID.randomUUID().toString())
+            .type(NotificationType.ACCOUNT_UPDATED)
+            .entityType("ACCOUNT")
+            .entityId(entityId)
+            .title("Account updated")
+            .payload("Account updated with id " + entityId)
+            .eventTimestamp(now)
+            .nextAttemptAt(nextAttemptAt)
+            .build();
+        entityManager.persist(event);
+        return event;
+    }
+}
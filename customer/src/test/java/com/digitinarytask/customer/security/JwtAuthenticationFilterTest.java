@@ -0,0 +1,104 @@
+package com.digitinarytask.customer.security;
+
+import com.digitinarytask.customer.service.security.JwtService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET_KEY = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    private JwtService jwtService;
+    private JwtAuthenticationFilter filter;
+    private UserDetails admin;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET_KEY);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 900_000L);
+        ReflectionTestUtils.setField(jwtService, "refreshExpiration", 604_800_000L);
+        ReflectionTestUtils.setField(jwtService, "verifiedTokenCacheSize", 100L);
+        jwtService.init();
+        filter = new JwtAuthenticationFilter(jwtService, userDetailsService);
+        admin = User.withUsername("admin").password("secret").roles("ADMIN").build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void accessTokenAuthenticatesWithoutUserLookup() throws Exception {
+        MockHttpServletResponse response = filter(jwtService.generateToken(admin));
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertEquals("admin", authentication.getName());
+        assertEquals(Set.copyOf(admin.getAuthorities()), Set.copyOf(authentication.getAuthorities()));
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void refreshTokenIsRejected() throws Exception {
+        MockHttpServletResponse response = filter(jwtService.generateRefreshToken(admin));
+
+        assertEquals(HttpServletResponse.SC_UNAUTHORIZED, response.getStatus());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void untypedTokenWithRolesIsCheckedAgainstTheUser() throws Exception {
+        UserDetails demoted = User.withUsername("admin").password("secret").roles("USER").build();
+        when(userDetailsService.loadUserByUsername("admin")).thenReturn(demoted);
+
+        filter(Jwts.builder()
+            .setSubject("admin")
+            .claim(JwtService.ROLES_CLAIM, List.of("ROLE_ADMIN"))
+            .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+            .signWith(Keys.hmacShaKeyFor(Base64.getDecoder().decode(SECRET_KEY)), SignatureAlgorithm.HS256)
+            .compact());
+
+        assertEquals(Set.copyOf(demoted.getAuthorities()),
+            Set.copyOf(SecurityContextHolder.getContext().getAuthentication().getAuthorities()));
+    }
+
+    private MockHttpServletResponse filter(String jwt) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + jwt);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,72 @@
+package com.digitinarytask.customer.service;
+
+import com.digitinarytask.customer.repository.AccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountNumberFilterTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    private AccountNumberFilter accountNumberFilter;
+
+    @BeforeEach
+    void setUp() {
+        accountNumberFilter = new AccountNumberFilter(accountRepository);
+        ReflectionTestUtils.setField(accountNumberFilter, "falsePositiveRate", 0.01);
+        when(accountRepository.findAccountNumbers(isNull())).thenReturn(List.of("100000001", "100000002"));
+        accountNumberFilter.rebuild();
+    }
+
+    @Test
+    void newNumbersAreNotQueried() {
+        assertTrue(accountNumberFilter.findExisting(List.of("200000001")).isEmpty());
+
+        verify(accountRepository, never()).findExistingAccountNumbers(any());
+    }
+
+    @Test
+    void possibleMatchesAreCheckedInOneQuery() {
+        when(accountRepository.findExistingAccountNumbers(anyCollection())).thenReturn(Set.of("100000001"));
+
+        Set<String> existing = accountNumberFilter.findExisting(List.of("100000001", "100000002"));
+
+        assertEquals(Set.of("100000001"), existing);
+        verify(accountRepository).findExistingAccountNumbers(List.of("100000001", "100000002"));
+    }
+
+    @Test
+    void addedNumbersBecomePossibleMatches() {
+        accountNumberFilter.add(List.of("300000001"));
+        when(accountRepository.findExistingAccountNumbers(anyCollection())).thenReturn(Set.of("300000001"));
+
+        assertEquals(Set.of("300000001"), accountNumberFilter.findExisting(List.of("300000001")));
+    }
+
+    @Test
+    void falsePositiveRateStaysNearConfiguredRate() {
+        AccountNumberFilter.BloomFilter filter = new AccountNumberFilter.BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("ACC" + i));
+
+        long falsePositives = IntStream.range(10_000, 110_000)
+            .filter(i -> filter.mightContain("ACC" + i))
+            .count();
+
+        assertTrue(IntStream.range(0, 10_000).allMatch(i -> filter.mightContain("ACC" + i)));
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+}
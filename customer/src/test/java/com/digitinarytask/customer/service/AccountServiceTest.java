@@ -1,31 +1,47 @@
 package com.digitinarytask.customer.service;
 
+import com.digitinarytask.customer.cache.CacheInvalidator;
+import com.digitinarytask.customer.cache.EntityRef;
 import com.digitinarytask.customer.domain.entity.Account;
 import com.digitinarytask.customer.domain.entity.Customer;
 import com.digitinarytask.customer.domain.enumeration.AccountStatus;
 import com.digitinarytask.customer.domain.enumeration.AccountType;
 import com.digitinarytask.customer.domain.enumeration.error.AccountErrorCode;
 import com.digitinarytask.customer.dto.domain.AccountDTO;
+import com.digitinarytask.customer.dto.domain.BalancePostingDTO;
+import com.digitinarytask.customer.dto.reposnse.AccountBalanceDTO;
+import com.digitinarytask.customer.dto.reposnse.BalancePostingResultDTO;
 import com.digitinarytask.customer.dto.search.AccountSearchDTO;
 import com.digitinarytask.customer.exception.AccountException;
 import com.digitinarytask.customer.repository.AccountRepository;
 import com.digitinarytask.customer.repository.CustomerRepository;
+import com.digitinarytask.customer.repository.projection.AccountBalance;
 import com.digitinarytask.customer.dto.mapper.AccountMapper;
 import com.digitinarytask.customer.service.validation.AccountValidationService;
+import com.digitinarytask.shared.enumeration.NotificationType;
+import com.digitinarytask.shared.event.NotificationEvent;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -41,6 +57,16 @@ class AccountServiceTest {
     private AccountMapper accountMapper;
     @Mock
     private AccountValidationService validator;
+    @Mock
+    private BalanceLedgerService balanceLedgerService;
+    @Mock
+    private TopAccountsIndex topAccountsIndex;
+    @Mock
+    private OutboxService outboxService;
+    @Mock
+    private CacheInvalidator cacheInvalidator;
+    @Mock
+    private AccountNumberFilter accountNumberFilter;
 
 
     @InjectMocks
@@ -52,6 +78,8 @@ class AccountServiceTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(accountService, "maxBalancePostings", 3);
+
         testCustomer = new Customer();
         testCustomer.setId(1L);
 
@@ -75,9 +103,8 @@ class AccountServiceTest {
     @Test
     void createAccount_Success() {
         when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
-        when(accountRepository.existsByAccountNumber(any())).thenReturn(false);
         when(accountMapper.toEntity(any(AccountDTO.class))).thenReturn(testAccount);
-        when(accountRepository.save(any(Account.class))).thenReturn(testAccount);
+        when(accountRepository.saveAndFlush(any(Account.class))).thenReturn(testAccount);
         when(accountMapper.toDTO(any(Account.class))).thenReturn(testAccountDTO);
 
         AccountDTO result = accountService.createAccount(1L, testAccountDTO);
@@ -85,22 +112,38 @@ class AccountServiceTest {
         assertNotNull(result);
         assertEquals(testAccountDTO.getAccountNumber(), result.getAccountNumber());
         verify(validator).validateNewAccount(any(AccountDTO.class));
+        verify(topAccountsIndex).refresh(List.of(testAccount.getId()));
+        verify(accountNumberFilter).add(List.of(testAccount.getAccountNumber()));
     }
 
     @Test
     void createAccount_ThrowsExceptionOnDuplicateAccountNumber() {
         when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
-        when(accountRepository.existsByAccountNumber(any())).thenReturn(true);
+        when(accountNumberFilter.findExisting(any())).thenReturn(Set.of(testAccountDTO.getAccountNumber()));
 
         assertThrows(AccountException.class, () -> accountService.createAccount(1L, testAccountDTO));
         verify(validator).validateNewAccount(any(AccountDTO.class));
     }
 
+    @Test
+    void createAccount_ReportsDuplicateWhenUniqueConstraintFails() {
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(accountMapper.toEntity(any(AccountDTO.class))).thenReturn(testAccount);
+        when(accountRepository.saveAndFlush(any(Account.class))).thenThrow(new DataIntegrityViolationException("duplicate",
+            new ConstraintViolationException("duplicate", null, "PUBLIC.UK_ACCOUNT_ACCOUNT_NUMBER_INDEX_E")));
+
+        AccountException exception = assertThrows(AccountException.class,
+            () -> accountService.createAccount(1L, testAccountDTO));
+
+        assertEquals(AccountErrorCode.DUPLICATE_ACCOUNT_NUMBER, exception.getErrorCode());
+        verify(accountNumberFilter, never()).add(any());
+    }
+
     @Test
     void updateAccount_Success() {
-        when(accountRepository.findById(1L)).thenReturn(Optional.of(testAccount));
+        when(accountRepository.findByIdInOrderByIdAsc(List.of(1L))).thenReturn(List.of(testAccount));
         when(accountMapper.toEntity(any(AccountDTO.class))).thenReturn(testAccount);
-        when(accountRepository.save(any(Account.class))).thenReturn(testAccount);
+        when(accountRepository.saveAndFlush(any(Account.class))).thenReturn(testAccount);
         when(accountMapper.toDTO(any(Account.class))).thenReturn(testAccountDTO);
 
         AccountDTO result = accountService.updateAccount(1L, testAccountDTO);
@@ -111,22 +154,58 @@ class AccountServiceTest {
     }
 
     @Test
-    void updateBalance_Success() {
-        when(accountRepository.findById(1L)).thenReturn(Optional.of(testAccount));
-        doNothing().when(validator).validateBalanceUpdate(any(), any());
+    void updateBalance_CreditAppendsPostingWithoutLocking() {
+        when(accountRepository.existsById(1L)).thenReturn(true);
 
         accountService.updateBalance(1L, BigDecimal.valueOf(500));
 
-        assertEquals(BigDecimal.valueOf(1500), testAccount.getBalance());
+        verify(validator).validateBalanceAmount(BigDecimal.valueOf(500));
+        verify(balanceLedgerService, never()).getBalances(any(), anyBoolean());
+        verify(balanceLedgerService).append(List.of(posting(1L, 500)));
     }
 
     @Test
     void updateBalance_ThrowsExceptionOnInvalidBalance() {
-        when(accountRepository.findById(1L)).thenReturn(Optional.of(testAccount));
-        doThrow(new AccountException("Invalid balance update", AccountErrorCode.INSUFFICIENT_BALANCE))
-            .when(validator).validateBalanceUpdate(any(), any());
+        doThrow(new AccountException("Invalid balance update", AccountErrorCode.TRANSACTION_LIMIT_EXCEEDED))
+            .when(validator).validateBalanceAmount(any());
+
+        assertThrows(AccountException.class, () -> accountService.updateBalance(1L, BigDecimal.valueOf(2000000)));
+        verify(balanceLedgerService, never()).append(any());
+    }
+
+    @Test
+    void updateBalance_DebitValidatesAgainstLockedBalance() {
+        when(balanceLedgerService.getBalances(List.of(1L), true))
+            .thenReturn(Map.of(1L, new AccountBalance(1L, 1L, BigDecimal.valueOf(1000))));
+        doThrow(new AccountException("Insufficient balance", AccountErrorCode.INSUFFICIENT_BALANCE))
+            .when(validator).validateBalanceUpdate(BigDecimal.valueOf(1000), BigDecimal.valueOf(-2000));
+
+        AccountException exception = assertThrows(AccountException.class,
+            () -> accountService.updateBalance(1L, BigDecimal.valueOf(-2000)));
+
+        assertEquals(AccountErrorCode.INSUFFICIENT_BALANCE, exception.getErrorCode());
+        verify(balanceLedgerService, never()).append(any());
+    }
+
+    @Test
+    void updateBalance_ThrowsNotFoundWhenAccountIsMissing() {
+        when(accountRepository.existsById(1L)).thenReturn(false);
+
+        AccountException exception = assertThrows(AccountException.class,
+            () -> accountService.updateBalance(1L, BigDecimal.valueOf(500)));
+
+        assertEquals(AccountErrorCode.ACCOUNT_NOT_FOUND, exception.getErrorCode());
+    }
+
+    @Test
+    void getBalance_ReturnsBalanceAtRequestedTime() {
+        LocalDateTime at = LocalDateTime.of(2024, 1, 1, 0, 0);
+        when(balanceLedgerService.getBalanceAt(1L, at)).thenReturn(Optional.of(BigDecimal.valueOf(700)));
 
-        assertThrows(AccountException.class, () -> accountService.updateBalance(1L, BigDecimal.valueOf(-2000)));
+        AccountBalanceDTO result = accountService.getBalance(1L, at);
+
+        assertEquals(BigDecimal.valueOf(700), result.getBalance());
+        assertEquals(at, result.getAsOf());
     }
 
     @Test
@@ -172,6 +251,23 @@ class AccountServiceTest {
         assertEquals(testAccountDTO.getAccountNumber(), result.getContent().get(0).getAccountNumber());
     }
 
+    @Test
+    void findTopAccountsByBalance_UsesIndexWhenReady() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(topAccountsIndex.isReady()).thenReturn(true);
+        when(topAccountsIndex.findAbove(BigDecimal.ONE, 0, 10))
+            .thenReturn(List.of(new TopAccountsIndex.Entry(1L, BigDecimal.valueOf(1500))));
+        when(accountRepository.findAllById(List.of(1L))).thenReturn(List.of(testAccount));
+        when(accountMapper.toDTO(testAccount)).thenReturn(testAccountDTO);
+
+        Page<AccountDTO> result = accountService.findTopAccountsByBalance(1, pageable);
+
+        assertEquals(1, result.getTotalElements());
+        assertEquals(0, BigDecimal.valueOf(1500).compareTo(result.getContent().get(0).getBalance()));
+        verify(accountRepository, never()).findTopAccountsByBalance(anyInt(), any());
+        verify(topAccountsIndex, never()).countAbove(any());
+    }
+
     @Test
     void getAccount_Success() {
         when(accountRepository.findById(1L)).thenReturn(Optional.of(testAccount));
@@ -203,4 +299,69 @@ class AccountServiceTest {
         assertEquals(1, result.getTotalElements());
         assertEquals(testAccountDTO.getAccountNumber(), result.getContent().get(0).getAccountNumber());
     }
+
+    @Test
+    void postBalances_AppendsEveryPostingAndEmitsOneEvent() {
+        when(balanceLedgerService.getBalances(Set.of(1L, 2L), true)).thenReturn(Map.of(
+            1L, new AccountBalance(1L, 1L, BigDecimal.valueOf(1000)),
+            2L, new AccountBalance(2L, 1L, BigDecimal.valueOf(50))));
+        List<BalancePostingDTO> postings = List.of(
+            posting(1L, 100),
+            posting(2L, -50),
+            posting(1L, -300));
+
+        BalancePostingResultDTO result = accountService.postBalances(postings);
+
+        assertEquals(3, result.getPostings());
+        assertEquals(2, result.getAccounts());
+        assertEquals(0, BigDecimal.valueOf(-250).compareTo(result.getNetAmount()));
+        verify(validator).validateBalanceUpdate(BigDecimal.valueOf(1100), BigDecimal.valueOf(-300));
+        verify(balanceLedgerService).append(postings);
+        verify(cacheInvalidator).invalidate(List.of(EntityRef.account(1L), EntityRef.account(2L)));
+
+        ArgumentCaptor<NotificationEvent> event = ArgumentCaptor.forClass(NotificationEvent.class);
+        verify(outboxService).enqueue(event.capture());
+        assertEquals(NotificationType.ACCOUNT_BALANCES_POSTED, event.getValue().getType());
+        assertNull(event.getValue().getEntityId());
+    }
+
+    @Test
+    void postBalances_DoesNotLockForCreditsOnly() {
+        when(balanceLedgerService.getBalances(Set.of(1L), false)).thenReturn(Map.of(
+            1L, new AccountBalance(1L, 1L, BigDecimal.valueOf(1000))));
+
+        accountService.postBalances(List.of(posting(1L, 100), posting(1L, 200)));
+
+        verify(balanceLedgerService, never()).getBalances(any(), eq(true));
+    }
+
+    @Test
+    void postBalances_RejectsWholeBatchWhenAnAccountIsMissing() {
+        when(balanceLedgerService.getBalances(Set.of(1L, 9L), false)).thenReturn(Map.of(
+            1L, new AccountBalance(1L, 1L, BigDecimal.valueOf(1000))));
+
+        AccountException exception = assertThrows(AccountException.class,
+            () -> accountService.postBalances(List.of(posting(1L, 100), posting(9L, 100))));
+
+        assertEquals(AccountErrorCode.ACCOUNT_NOT_FOUND, exception.getErrorCode());
+        verify(balanceLedgerService, never()).append(any());
+        verifyNoInteractions(outboxService);
+    }
+
+    @Test
+    void postBalances_RejectsBatchOverLimit() {
+        List<BalancePostingDTO> postings = List.of(posting(1L, 1), posting(2L, 1), posting(3L, 1), posting(4L, 1));
+
+        AccountException exception = assertThrows(AccountException.class, () -> accountService.postBalances(postings));
+
+        assertEquals(AccountErrorCode.BALANCE_POSTING_LIMIT_EXCEEDED, exception.getErrorCode());
+        verifyNoInteractions(balanceLedgerService);
+    }
+
+    private BalancePostingDTO posting(Long accountId, long amount) {
+        return BalancePostingDTO.builder()
+            .accountId(accountId)
+            .amount(BigDecimal.valueOf(amount))
+            .build();
+    }
 }
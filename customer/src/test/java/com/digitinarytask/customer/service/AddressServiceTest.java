@@ -1,5 +1,6 @@
 package com.digitinarytask.customer.service;
 
+import com.digitinarytask.customer.cache.CacheInvalidator;
 import com.digitinarytask.customer.domain.entity.Address;
 import com.digitinarytask.customer.domain.entity.Customer;
 import com.digitinarytask.customer.domain.enumeration.error.AddressErrorCode;
@@ -42,6 +43,8 @@ class AddressServiceTest {
     private AddressValidationService addressValidationService;
     @Mock
     private EntityManager entityManager;
+    @Mock
+    private CacheInvalidator cacheInvalidator;
 
     @InjectMocks
     private AddressService addressService;
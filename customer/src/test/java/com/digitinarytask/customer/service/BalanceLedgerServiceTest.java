@@ -0,0 +1,142 @@
+package com.digitinarytask.customer.service;
+
+import com.digitinarytask.customer.domain.entity.Account;
+import com.digitinarytask.customer.domain.entity.BalanceLedgerEntry;
+import com.digitinarytask.customer.domain.entity.BalanceSnapshot;
+import com.digitinarytask.customer.domain.entity.Customer;
+import com.digitinarytask.customer.domain.entity.IndividualCustomer;
+import com.digitinarytask.customer.domain.enumeration.AccountStatus;
+import com.digitinarytask.customer.domain.enumeration.AccountType;
+import com.digitinarytask.customer.dto.domain.BalancePostingDTO;
+import com.digitinarytask.customer.repository.BalanceSnapshotRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(BalanceLedgerService.class)
+class BalanceLedgerServiceTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private BalanceLedgerService balanceLedgerService;
+
+    @Autowired
+    private BalanceSnapshotRepository balanceSnapshotRepository;
+
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = IndividualCustomer.builder()
+            .name("John Doe")
+            .firstName("John")
+            .lastName("Doe")
+            .mobileNo("1234567890")
+            .nationalId("123456789")
+            .build();
+        entityManager.persist(customer);
+
+        account = Account.builder()
+            .accountNumber("123456789")
+            .accountName("John Doe")
+            .status(AccountStatus.ACTIVE)
+            .accountType(AccountType.CURRENT)
+            .balance(BigDecimal.valueOf(1000))
+            .customer(customer)
+            .build();
+        entityManager.persist(account);
+        entityManager.flush();
+    }
+
+    @Test
+    void appendedPostingsAreIncludedInCurrentBalance() {
+        balanceLedgerService.append(List.of(posting(200), posting(-50)));
+
+        assertEquals(0, BigDecimal.valueOf(1150).compareTo(balanceLedgerService.getBalance(account.getId()).orElseThrow()));
+        assertEquals(0, BigDecimal.valueOf(1150).compareTo(
+            balanceLedgerService.getBalances(List.of(account.getId()), true).get(account.getId()).balance()));
+    }
+
+    @Test
+    void compactLedgerRollsPendingEntriesIntoBalanceAndSnapshot() {
+        balanceLedgerService.append(List.of(posting(200), posting(-50)));
+
+        balanceLedgerService.compactLedger();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(0, BigDecimal.valueOf(1150).compareTo(entityManager.find(Account.class, account.getId()).getBalance()));
+        assertEquals(0, BigDecimal.valueOf(1150).compareTo(balanceLedgerService.getBalance(account.getId()).orElseThrow()));
+
+        List<BalanceSnapshot> snapshots = balanceSnapshotRepository.findAll();
+        assertEquals(1, snapshots.size());
+        assertEquals(0, BigDecimal.valueOf(1150).compareTo(snapshots.get(0).getBalance()));
+    }
+
+    @Test
+    void getBalanceAtCombinesSnapshotsAndLedgerTail() {
+        LocalDateTime now = LocalDateTime.now();
+        persistEntry(100, now.minusHours(3));
+        persistEntry(50, now.minusHours(1));
+        balanceLedgerService.compactLedger();
+        persistEntry(25, now);
+        entityManager.flush();
+
+        // Before the first snapshot: current balance minus everything posted since
+        assertEquals(0, BigDecimal.valueOf(1000).compareTo(
+            balanceLedgerService.getBalanceAt(account.getId(), now.minusHours(4)).orElseThrow()));
+        assertEquals(0, BigDecimal.valueOf(1100).compareTo(
+            balanceLedgerService.getBalanceAt(account.getId(), now.minusHours(2)).orElseThrow()));
+
+        // After the snapshot: snapshot plus the entries it did not include
+        assertEquals(0, BigDecimal.valueOf(1175).compareTo(
+            balanceLedgerService.getBalanceAt(account.getId(), now.plusHours(1)).orElseThrow()));
+    }
+
+    @Test
+    void getBalanceAtCountsEntriesCompactedIntoLaterSnapshots() {
+        LocalDateTime now = LocalDateTime.now();
+        persistEntry(100, now.minusHours(3));
+        balanceLedgerService.compactLedger();
+        persistEntry(50, now.minusHours(1));
+        balanceLedgerService.compactLedger();
+        entityManager.flush();
+
+        // The 50 was posted before the first snapshot but only compacted into the second one
+        LocalDateTime firstTakenAt = balanceSnapshotRepository.findAll().stream()
+            .map(BalanceSnapshot::getTakenAt)
+            .min(LocalDateTime::compareTo)
+            .orElseThrow();
+        assertEquals(0, BigDecimal.valueOf(1150).compareTo(
+            balanceLedgerService.getBalanceAt(account.getId(), firstTakenAt).orElseThrow()));
+    }
+
+    @Test
+    void getBalanceIsEmptyForMissingAccount() {
+        assertTrue(balanceLedgerService.getBalance(-1L).isEmpty());
+    }
+
+    private BalancePostingDTO posting(long amount) {
+        return BalancePostingDTO.builder()
+            .accountId(account.getId())
+            .amount(BigDecimal.valueOf(amount))
+            .build();
+    }
+
+    private void persistEntry(long amount, LocalDateTime postedAt) {
+        entityManager.persist(BalanceLedgerEntry.of(account.getId(), BigDecimal.valueOf(amount), postedAt));
+        entityManager.flush();
+    }
+}
@@ -1,5 +1,7 @@
 package com.digitinarytask.customer.service;
 
+import com.digitinarytask.customer.cache.CacheInvalidator;
+import com.digitinarytask.customer.cache.EntityRef;
 import com.digitinarytask.customer.domain.entity.Customer;
 import com.digitinarytask.customer.domain.enumeration.error.CustomerErrorCode;
 import com.digitinarytask.customer.dto.domain.CustomerDTO;
@@ -22,6 +24,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Optional;
 
@@ -39,6 +42,12 @@ class CustomerServiceTest {
     private CustomerValidationService validator;
     @Mock
     private EntityManager entityManager;
+    @Mock
+    private TopAccountsIndex topAccountsIndex;
+    @Mock
+    private CacheInvalidator cacheInvalidator;
+    @Mock
+    private AccountNumberFilter accountNumberFilter;
 
     @InjectMocks
     private CustomerService customerService;
@@ -65,7 +74,7 @@ class CustomerServiceTest {
     @Test
     void createCustomer_Success() {
         when(customerMapper.toEntityWithRelations(any(CustomerDTO.class))).thenReturn(testCustomer);
-        when(customerRepository.save(any(Customer.class))).thenReturn(testCustomer);
+        when(customerRepository.saveAndFlush(any(Customer.class))).thenReturn(testCustomer);
         when(customerMapper.toDTOWithRelations(any(Customer.class))).thenReturn(testCustomerDTO);
 
         CustomerDTO result = customerService.createCustomer(testCustomerDTO);
@@ -86,7 +95,7 @@ class CustomerServiceTest {
     @Test
     void createCustomer_FailsToPublishEvent() {
         when(customerMapper.toEntityWithRelations(any(CustomerDTO.class))).thenReturn(testCustomer);
-        when(customerRepository.save(any(Customer.class))).thenReturn(testCustomer);
+        when(customerRepository.saveAndFlush(any(Customer.class))).thenReturn(testCustomer);
         when(customerMapper.toDTOWithRelations(any(Customer.class))).thenReturn(testCustomerDTO);
         CustomerDTO result = customerService.createCustomer(testCustomerDTO);
 
@@ -98,7 +107,7 @@ class CustomerServiceTest {
     void updateCustomer_Success() {
         when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
         when(customerMapper.toEntityWithRelations(any(CustomerDTO.class))).thenReturn(testCustomer);
-        when(customerRepository.save(any(Customer.class))).thenReturn(testCustomer);
+        when(customerRepository.saveAndFlush(any(Customer.class))).thenReturn(testCustomer);
         when(customerMapper.toDTOWithRelations(any(Customer.class))).thenReturn(testCustomerDTO);
 
         CustomerDTO result = customerService.updateCustomer(1L, testCustomerDTO);
@@ -106,6 +115,8 @@ class CustomerServiceTest {
         assertNotNull(result);
         assertEquals(testCustomerDTO.getName(), result.getName());
         verify(validator).validateCustomerUpdate(any(Customer.class), any(CustomerDTO.class));
+        verify(cacheInvalidator).invalidate(argThat((Collection<EntityRef> refs) ->
+            refs.contains(EntityRef.membership(EntityRef.CUSTOMER))));
     }
 
     @Test
@@ -120,7 +131,7 @@ class CustomerServiceTest {
     void updateCustomer_FailsToPublishEvent() {
         when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
         when(customerMapper.toEntityWithRelations(any(CustomerDTO.class))).thenReturn(testCustomer);
-        when(customerRepository.save(any(Customer.class))).thenReturn(testCustomer);
+        when(customerRepository.saveAndFlush(any(Customer.class))).thenReturn(testCustomer);
         when(customerMapper.toDTOWithRelations(any(Customer.class))).thenReturn(testCustomerDTO);
 
         CustomerDTO result = customerService.updateCustomer(1L, testCustomerDTO);
@@ -179,7 +190,7 @@ class CustomerServiceTest {
         when(customerRepository.search(searchDTO)).thenReturn(page);
         when(customerMapper.toDTOWithRelations(any(Customer.class))).thenReturn(testCustomerDTO);
 
-        Page<CustomerDTO> result = customerService.searchCustomers(searchDTO);
+        Page<CustomerDTO> result = customerService.searchCustomers(searchDTO, true);
 
         assertEquals(1, result.getTotalElements());
         assertEquals(testCustomerDTO.getName(), result.getContent().get(0).getName());
@@ -191,10 +202,24 @@ class CustomerServiceTest {
         when(customerRepository.findAll(pageable)).thenReturn(page);
         when(customerMapper.toDTOWithRelations(any(Customer.class))).thenReturn(testCustomerDTO);
 
-        Page<CustomerDTO> result = customerService.getAllCustomers(pageable);
+        Page<CustomerDTO> result = customerService.getAllCustomers(pageable, true);
 
         assertEquals(1, result.getTotalElements());
         assertEquals(testCustomerDTO.getName(), result.getContent().get(0).getName());
+        verify(customerRepository).loadRelations(page.getContent());
+    }
+
+    @Test
+    void getAllCustomers_WithoutRelationsSkipsRelationLoading() {
+        Page<Customer> page = new PageImpl<>(Collections.singletonList(testCustomer), pageable, 1);
+        when(customerRepository.findAll(pageable)).thenReturn(page);
+        when(customerMapper.toDTOWithoutRelations(any(Customer.class))).thenReturn(testCustomerDTO);
+
+        Page<CustomerDTO> result = customerService.getAllCustomers(pageable, false);
+
+        assertEquals(1, result.getTotalElements());
+        verify(customerRepository, never()).loadRelations(any());
+        verify(customerMapper, never()).toDTOWithRelations(any(Customer.class));
     }
 
     @Test
@@ -203,7 +228,7 @@ class CustomerServiceTest {
         when(customerRepository.findAllByType("INDIVIDUAL", pageable)).thenReturn(page);
         when(customerMapper.toDTOWithRelations(any(Customer.class))).thenReturn(testCustomerDTO);
 
-        Page<CustomerDTO> result = customerService.getCustomersByType("INDIVIDUAL", pageable);
+        Page<CustomerDTO> result = customerService.getCustomersByType("INDIVIDUAL", pageable, true);
 
         assertEquals(1, result.getTotalElements());
         assertEquals(testCustomerDTO.getName(), result.getContent().get(0).getName());
@@ -214,7 +239,7 @@ class CustomerServiceTest {
         Page<Customer> page = new PageImpl<>(Collections.emptyList(), pageable, 0);
         when(customerRepository.findAllByType("INDIVIDUAL", pageable)).thenReturn(page);
 
-        Page<CustomerDTO> result = customerService.getCustomersByType("INDIVIDUAL", pageable);
+        Page<CustomerDTO> result = customerService.getCustomersByType("INDIVIDUAL", pageable, true);
 
         assertEquals(0, result.getTotalElements());
     }
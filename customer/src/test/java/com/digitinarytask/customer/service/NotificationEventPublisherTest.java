@@ -0,0 +1,91 @@
+package com.digitinarytask.customer.service;
+
+import com.digitinarytask.shared.enumeration.NotificationType;
+import com.digitinarytask.shared.event.NotificationEvent;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationEventPublisherTest {
+
+    @Mock
+    private KafkaTemplate<String, NotificationEvent> kafkaTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationEventPublisher publisher;
+    private NotificationEvent event;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        publisher = new NotificationEventPublisher(kafkaTemplate, meterRegistry);
+        event = NotificationEvent.builder()
+            .eventId("e1b4a1c2-0000-4000-8000-000000000001")
+            .type(NotificationType.ACCOUNT_CREATED)
+            .entityType("ACCOUNT")
+            .entityId(1L)
+            .title("Account created")
+            .payload("Account created with id 1")
+            .timestamp(LocalDateTime.now())
+            .build();
+    }
+
+    @Test
+    void publish_SendsKeyedByEntityWithoutWaiting() {
+        CompletableFuture<SendResult<String, NotificationEvent>> send = new CompletableFuture<>();
+        when(kafkaTemplate.send(eq("notification"), eq("ACCOUNT:1"), eq(event))).thenReturn(send);
+
+        CompletableFuture<SendResult<String, NotificationEvent>> published = publisher.publish(event);
+
+        assertFalse(published.isDone());
+        assertEquals(0, timer("acknowledged").count());
+
+        send.complete(null);
+
+        assertTrue(published.isDone());
+        assertEquals(1, timer("acknowledged").count());
+        assertEquals(0, timer("failed").count());
+    }
+
+    @Test
+    void publish_RecordsFailures() {
+        when(kafkaTemplate.send(any(), any(), any()))
+            .thenReturn(CompletableFuture.failedFuture(new TimeoutException("Expiring record")));
+
+        CompletableFuture<SendResult<String, NotificationEvent>> published = publisher.publish(event);
+
+        assertTrue(published.isCompletedExceptionally());
+        assertEquals(1, timer("failed").count());
+        assertEquals(0, timer("acknowledged").count());
+    }
+
+    @Test
+    void publish_ReportsSendsRejectedBeforeReachingTheProducer() {
+        when(kafkaTemplate.send(any(), any(), any())).thenThrow(new TimeoutException("Buffer full"));
+
+        CompletableFuture<SendResult<String, NotificationEvent>> published = publisher.publish(event);
+
+        assertTrue(published.isCompletedExceptionally());
+        assertEquals(1, timer("failed").count());
+    }
+
+    private Timer timer(String outcome) {
+        return meterRegistry.get("notification.publish").tag("outcome", outcome).timer();
+    }
+}
@@ -1,5 +1,6 @@
 package com.digitinarytask.customer.service;
 
+import com.digitinarytask.customer.cache.CacheInvalidator;
 import com.digitinarytask.customer.domain.entity.Organization;
 import com.digitinarytask.customer.dto.domain.OrganizationDTO;
 import com.digitinarytask.customer.dto.mapper.OrganizationMapper;
@@ -35,6 +36,8 @@ class OrganizationServiceTest {
     private OrganizationMapper organizationMapper;
     @Mock
     private OrganizationValidationService validator;
+    @Mock
+    private CacheInvalidator cacheInvalidator;
 
     @InjectMocks
     private OrganizationService organizationService;
@@ -0,0 +1,175 @@
+package com.digitinarytask.customer.service;
+
+import com.digitinarytask.customer.domain.entity.OutboxEvent;
+import com.digitinarytask.customer.repository.OutboxEventRepository;
+import com.digitinarytask.shared.enumeration.NotificationType;
+import com.digitinarytask.shared.event.NotificationEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+    @Mock
+    private NotificationEventPublisher notificationEventPublisher;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private OutboxService outboxService;
+
+    private NotificationEvent event;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(outboxService, "batchSize", 10);
+        ReflectionTestUtils.setField(outboxService, "sendTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(outboxService, "initialBackoffMs", 1000L);
+        ReflectionTestUtils.setField(outboxService, "maxBackoffMs", 60000L);
+
+        event = NotificationEvent.builder()
+            .eventId("e1b4a1c2-0000-4000-8000-000000000001")
+            .type(NotificationType.ACCOUNT_CREATED)
+            .entityType("ACCOUNT")
+            .entityId(1L)
+            .title("Account created")
+            .payload("Account created with id 1")
+            .timestamp(LocalDateTime.now())
+            .build();
+    }
+
+    @Test
+    void enqueue_SavesEvent() {
+        outboxService.enqueue(event);
+
+        ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(captor.capture());
+        assertEquals(event, captor.getValue().toNotificationEvent());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relayPendingEvents_DeletesAcknowledgedEvents() {
+        OutboxEvent acknowledged = OutboxEvent.from(event);
+        OutboxEvent failed = OutboxEvent.from(event);
+        when(transactionTemplate.execute(any()))
+            .thenAnswer(invocation -> ((TransactionCallback<Integer>) invocation.getArgument(0)).doInTransaction(null));
+        when(outboxEventRepository.findDueOrderByIdAsc(any(LocalDateTime.class), any(Pageable.class)))
+            .thenReturn(List.of(acknowledged, failed));
+        when(notificationEventPublisher.publish(any(NotificationEvent.class)))
+            .thenReturn(CompletableFuture.completedFuture(null))
+            .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Broker unavailable")));
+
+        outboxService.relayPendingEvents();
+
+        verify(outboxEventRepository).deleteAllInBatch(List.of(acknowledged));
+        assertEquals(0, acknowledged.getAttempts());
+        assertEquals(1, failed.getAttempts());
+        assertNotNull(failed.getNextAttemptAt());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relayPendingEvents_SendsTheWholeBatchInIdOrderBeforeWaiting() {
+        OutboxEvent first = OutboxEvent.from(event);
+        OutboxEvent second = OutboxEvent.from(event);
+        OutboxEvent otherEntity = OutboxEvent.from(event);
+        otherEntity.setEntityId(2L);
+        CompletableFuture<Object> firstSend = new CompletableFuture<>();
+        when(transactionTemplate.execute(any()))
+            .thenAnswer(invocation -> ((TransactionCallback<Integer>) invocation.getArgument(0)).doInTransaction(null));
+        when(outboxEventRepository.findDueOrderByIdAsc(any(LocalDateTime.class), any(Pageable.class)))
+            .thenReturn(List.of(first, second, otherEntity));
+        doReturn(firstSend)
+            .doReturn(CompletableFuture.completedFuture(null))
+            .doReturn(CompletableFuture.completedFuture(null))
+            .when(notificationEventPublisher).publish(any(NotificationEvent.class));
+
+        outboxService.relayPendingEvents();
+
+        // The first send was never acknowledged, yet the later events of its entity went out behind it
+        InOrder inOrder = inOrder(notificationEventPublisher);
+        inOrder.verify(notificationEventPublisher, times(2)).publish(argThat(sent -> sent.getEntityId() == 1L));
+        inOrder.verify(notificationEventPublisher).publish(argThat(sent -> sent.getEntityId() == 2L));
+        verify(outboxEventRepository).deleteAllInBatch(List.of(second, otherEntity));
+        assertEquals(1, first.getAttempts());
+        assertNotNull(first.getNextAttemptAt());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relayPendingEvents_StopsDrainingWhenABatchFails() {
+        ReflectionTestUtils.setField(outboxService, "batchSize", 1);
+        when(transactionTemplate.execute(any()))
+            .thenAnswer(invocation -> ((TransactionCallback<Integer>) invocation.getArgument(0)).doInTransaction(null));
+        when(outboxEventRepository.findDueOrderByIdAsc(any(LocalDateTime.class), any(Pageable.class)))
+            .thenReturn(List.of(OutboxEvent.from(event)));
+        when(notificationEventPublisher.publish(any(NotificationEvent.class)))
+            .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Broker unavailable")));
+
+        outboxService.relayPendingEvents();
+
+        verify(outboxEventRepository, times(1)).findDueOrderByIdAsc(any(LocalDateTime.class), any(Pageable.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relayPendingEvents_BacksOffExponentiallyUpToTheMaximum() {
+        OutboxEvent retried = OutboxEvent.from(event);
+        retried.setAttempts(2);
+        OutboxEvent exhausted = OutboxEvent.from(event);
+        exhausted.setEntityId(2L);
+        exhausted.setAttempts(20);
+        when(transactionTemplate.execute(any()))
+            .thenAnswer(invocation -> ((TransactionCallback<Integer>) invocation.getArgument(0)).doInTransaction(null));
+        when(outboxEventRepository.findDueOrderByIdAsc(any(LocalDateTime.class), any(Pageable.class)))
+            .thenReturn(List.of(retried, exhausted));
+        when(notificationEventPublisher.publish(any(NotificationEvent.class)))
+            .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Broker unavailable")));
+
+        LocalDateTime before = LocalDateTime.now();
+        outboxService.relayPendingEvents();
+        LocalDateTime after = LocalDateTime.now();
+
+        assertEquals(3, retried.getAttempts());
+        assertFalse(retried.getNextAttemptAt().isBefore(before.plusSeconds(4)));
+        assertFalse(retried.getNextAttemptAt().isAfter(after.plusSeconds(4)));
+        assertFalse(exhausted.getNextAttemptAt().isAfter(after.plusSeconds(60)));
+        assertFalse(exhausted.getNextAttemptAt().isBefore(before.plusSeconds(60)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relayPendingEvents_DoesNothingWhenOutboxIsEmpty() {
+        when(transactionTemplate.execute(any()))
+            .thenAnswer(invocation -> ((TransactionCallback<Integer>) invocation.getArgument(0)).doInTransaction(null));
+        when(outboxEventRepository.findDueOrderByIdAsc(any(LocalDateTime.class), any(Pageable.class))).thenReturn(Collections.emptyList());
+
+        outboxService.relayPendingEvents();
+
+        verifyNoInteractions(notificationEventPublisher);
+        verify(outboxEventRepository, never()).deleteAllInBatch(any());
+    }
+}
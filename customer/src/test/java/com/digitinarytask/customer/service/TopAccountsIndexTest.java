@@ -0,0 +1,73 @@
+package com.digitinarytask.customer.service;
+
+import com.digitinarytask.customer.repository.AccountRepository;
+import com.digitinarytask.customer.repository.projection.AccountBalance;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TopAccountsIndexTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @InjectMocks
+    private TopAccountsIndex topAccountsIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(accountRepository.findActiveBalances(isNull())).thenReturn(List.of(
+            balance(1L, 500),
+            balance(2L, 1500),
+            balance(3L, 1000),
+            balance(4L, 1000)
+        ));
+        topAccountsIndex.rebuild();
+    }
+
+    @Test
+    void findAboveReturnsAccountsAboveThresholdHighestFirst() {
+        assertTrue(topAccountsIndex.isReady());
+        assertEquals(List.of(2L, 3L, 4L), accountIds(topAccountsIndex.findAbove(BigDecimal.valueOf(500), 0, 10)));
+        assertEquals(List.of(3L), accountIds(topAccountsIndex.findAbove(BigDecimal.valueOf(500), 1, 1)));
+        assertEquals(3, topAccountsIndex.countAbove(BigDecimal.valueOf(500)));
+    }
+
+    @Test
+    void refreshRepositionsChangedAccount() {
+        when(accountRepository.findActiveBalances(Set.of(1L))).thenReturn(List.of(balance(1L, 2000)));
+
+        topAccountsIndex.refresh(List.of(1L));
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), accountIds(topAccountsIndex.findAbove(BigDecimal.ZERO, 0, 10)));
+    }
+
+    @Test
+    void refreshRemovesAccountThatIsNoLongerActive() {
+        when(accountRepository.findActiveBalances(Set.of(2L))).thenReturn(List.of());
+
+        topAccountsIndex.refresh(List.of(2L));
+
+        assertEquals(List.of(3L, 4L, 1L), accountIds(topAccountsIndex.findAbove(BigDecimal.ZERO, 0, 10)));
+    }
+
+    private static AccountBalance balance(Long accountId, long balance) {
+        return new AccountBalance(accountId, 1L, BigDecimal.valueOf(balance));
+    }
+
+    private static List<Long> accountIds(List<TopAccountsIndex.Entry> entries) {
+        return entries.stream().map(TopAccountsIndex.Entry::accountId).toList();
+    }
+}
@@ -0,0 +1,120 @@
+package com.digitinarytask.customer.service.export;
+
+import com.digitinarytask.customer.domain.entity.Account;
+import com.digitinarytask.customer.domain.enumeration.AccountStatus;
+import com.digitinarytask.customer.domain.enumeration.AccountType;
+import com.digitinarytask.customer.dto.domain.AccountDTO;
+import com.digitinarytask.customer.dto.mapper.AccountMapper;
+import com.digitinarytask.customer.dto.mapper.CustomerMapper;
+import com.digitinarytask.customer.dto.search.AccountSearchDTO;
+import com.digitinarytask.customer.exception.InvalidQueryParameterException;
+import com.digitinarytask.customer.repository.AccountRepository;
+import com.digitinarytask.customer.repository.CustomerRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+    @Mock
+    private CustomerRepository customerRepository;
+    @Mock
+    private AccountMapper accountMapper;
+    @Mock
+    private CustomerMapper customerMapper;
+
+    private ExportService exportService;
+    private AccountSearchDTO searchDTO;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new ExportService(accountRepository, customerRepository, accountMapper, customerMapper, objectMapper);
+        ReflectionTestUtils.setField(exportService, "fetchSize", 100);
+
+        searchDTO = new AccountSearchDTO();
+    }
+
+    @Test
+    void exportAccounts_WritesOneJsonObjectPerLine() throws Exception {
+        stubTwoAccounts();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportAccounts(searchDTO, ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,"));
+        assertTrue(lines[1].contains("\"dateOpened\":\"2024-01-31\""));
+    }
+
+    @Test
+    void exportAccounts_WritesCsvWithHeaderAndQuotedFields() throws Exception {
+        stubTwoAccounts();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportAccounts(searchDTO, ExportFormat.CSV, out);
+
+        String[] records = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(3, records.length);
+        assertEquals("id,accountNumber,accountName,balance,dateOpened,status,accountType,customerId", records[0]);
+        assertEquals("1,100000001,Plain name,10.50,2024-01-31,ACTIVE,CURRENT,7", records[1]);
+        assertEquals("2,100000002,\"Doe, \"\"JD\"\"\",10.50,2024-01-31,ACTIVE,CURRENT,7", records[2]);
+    }
+
+    @Test
+    void exportFormat_RejectsUnknownFormat() {
+        assertEquals(ExportFormat.CSV, ExportFormat.from("csv"));
+        assertThrows(InvalidQueryParameterException.class, () -> ExportFormat.from("xml"));
+    }
+
+    private void stubTwoAccounts() {
+        Account first = Account.builder().id(1L).build();
+        Account second = Account.builder().id(2L).build();
+
+        doAnswer(invocation -> {
+            Consumer<Account> action = invocation.getArgument(2);
+            List.of(first, second).forEach(action);
+            return null;
+        }).when(accountRepository).scrollSearch(eq(searchDTO), anyInt(), any());
+
+        when(accountMapper.toDTO(first)).thenReturn(accountDTO(1L, "100000001", "Plain name"));
+        when(accountMapper.toDTO(second)).thenReturn(accountDTO(2L, "100000002", "Doe, \"JD\""));
+    }
+
+    private AccountDTO accountDTO(Long id, String accountNumber, String accountName) {
+        return AccountDTO.builder()
+            .id(id)
+            .accountNumber(accountNumber)
+            .accountName(accountName)
+            .balance(new BigDecimal("10.50"))
+            .dateOpened(LocalDate.of(2024, 1, 31))
+            .status(AccountStatus.ACTIVE)
+            .accountType(AccountType.CURRENT)
+            .customerId(7L)
+            .build();
+    }
+}
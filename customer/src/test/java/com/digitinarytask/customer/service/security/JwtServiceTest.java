@@ -0,0 +1,93 @@
+package com.digitinarytask.customer.service.security;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String SECRET_KEY = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private JwtService jwtService;
+    private UserDetails admin;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = jwtService(86_400_000);
+        admin = User.withUsername("admin").password("secret").roles("ADMIN").build();
+    }
+
+    @Test
+    void verifiedTokenCarriesUsernameAndRoles() {
+        JwtService.VerifiedToken token = jwtService.verify(jwtService.generateToken(admin));
+
+        assertEquals("admin", token.username());
+        assertEquals(List.of("ROLE_ADMIN"), token.roles());
+        assertEquals(admin.getAuthorities(), token.toUserDetails().getAuthorities());
+    }
+
+    @Test
+    void tokensNameTheirType() {
+        JwtService.VerifiedToken access = jwtService.verify(jwtService.generateToken(admin));
+        JwtService.VerifiedToken refresh = jwtService.verify(jwtService.generateRefreshToken(admin));
+
+        assertTrue(access.isAccessToken());
+        assertFalse(access.isRefreshToken());
+        assertTrue(refresh.isRefreshToken());
+        assertFalse(refresh.isAccessToken());
+    }
+
+    @Test
+    void refreshTokenCarriesNoRoles() {
+        JwtService.VerifiedToken token = jwtService.verify(jwtService.generateRefreshToken(admin));
+
+        assertEquals("admin", token.username());
+        assertNull(token.roles());
+    }
+
+    @Test
+    void repeatedVerificationReturnsCachedResult() {
+        String jwt = jwtService.generateToken(admin);
+
+        assertSame(jwtService.verify(jwt), jwtService.verify(jwt));
+        assertTrue(jwtService.isTokenValid(jwt, admin));
+    }
+
+    @Test
+    void tokenSignedWithAnotherKeyIsRejected() {
+        JwtService other = jwtService(86_400_000);
+        ReflectionTestUtils.setField(other, "secretKey", SECRET_KEY.replace('4', '5'));
+        other.init();
+
+        String forged = other.generateToken(admin);
+
+        assertThrows(JwtException.class, () -> jwtService.verify(forged));
+        assertFalse(jwtService.isTokenValid(forged, admin));
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        JwtService shortLived = jwtService(-1_000);
+
+        String expired = shortLived.generateToken(admin);
+
+        assertThrows(JwtException.class, () -> shortLived.verify(expired));
+    }
+
+    private static JwtService jwtService(long expiration) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "secretKey", SECRET_KEY);
+        ReflectionTestUtils.setField(service, "jwtExpiration", expiration);
+        ReflectionTestUtils.setField(service, "refreshExpiration", expiration);
+        ReflectionTestUtils.setField(service, "verifiedTokenCacheSize", 100L);
+        service.init();
+        return service;
+    }
+}
@@ -91,6 +91,11 @@ class AccountValidationServiceTest {
         assertEquals(AccountErrorCode.INSUFFICIENT_BALANCE, exception.getErrorCode());
     }
     @Test
+    void validateBalanceAmount_amountOverLimit_throwsAccountException() {
+        AccountException exception = assertThrows(AccountException.class, () -> accountValidationService.validateBalanceAmount(BigDecimal.valueOf(2000000)));
+        assertEquals(AccountErrorCode.TRANSACTION_LIMIT_EXCEEDED, exception.getErrorCode());
+    }
+    @Test
     void validateAccountDeletion_validAccount_doesNotThrowException() {
         when(existingAccount.getBalance()).thenReturn(BigDecimal.ZERO);
         when(existingAccount.getStatus()).thenReturn(AccountStatus.INACTIVE);
@@ -1,20 +1,35 @@
 package com.digitinarytask.notification.config;
 
+import com.digitinarytask.notification.service.KeyOrderedExecutor;
+import lombok.RequiredArgsConstructor;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.aop.interceptor.SimpleAsyncUncaughtExceptionHandler;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
-import java.util.concurrent.ThreadPoolExecutor;
 
+/**
+ * Task executor configuration.
+ * <p>
+ * With {@code spring.threads.virtual.enabled} set on Java 21+, notification retries run on virtual
+ * threads, at most {@code notification.retry.parallelism} at a time; further submitters block until
+ * a slot frees up. Otherwise they run on a fixed platform thread pool.
+ */
 @Configuration
 @EnableAsync
+@RequiredArgsConstructor
 public class AsyncConfig implements AsyncConfigurer {
 
+    private final Environment environment;
+
     @Value("${websocket.thread-pool.core-size}")
     private int corePoolSize;
 
@@ -24,6 +39,12 @@ public class AsyncConfig implements AsyncConfigurer {
     @Value("${websocket.thread-pool.queue-capacity}")
     private int queueCapacity;
 
+    @Value("${notification.retry.parallelism}")
+    private int retryParallelism;
+
+    @Value("${notification.consumer.parallelism}")
+    private int consumerParallelism;
+
     @Override
     public Executor getAsyncExecutor() {
         ThreadPoolTaskExecutor executor  = new ThreadPoolTaskExecutor();
@@ -35,8 +56,37 @@ public class AsyncConfig implements AsyncConfigurer {
         return executor;
     }
 
+    @Bean(name = "retryExecutor")
+    public Executor retryExecutor() {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return virtualThreadExecutor("NotificationRetry-", retryParallelism);
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(retryParallelism);
+        executor.setMaxPoolSize(retryParallelism);
+        executor.setThreadNamePrefix("NotificationRetry-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Processes consumed events in parallel across entities, in order within each entity.
+     */
+    @Bean(name = "orderedEventExecutor", destroyMethod = "shutdown")
+    public KeyOrderedExecutor orderedEventExecutor() {
+        return new KeyOrderedExecutor(consumerParallelism, "NotificationConsumer-");
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
     }
+
+    private SimpleAsyncTaskExecutor virtualThreadExecutor(String threadNamePrefix, int concurrencyLimit) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrencyLimit);
+        return executor;
+    }
 }
@@ -1,10 +1,15 @@
 package com.digitinarytask.notification.config;
 
 import com.digitinarytask.shared.event.NotificationEvent;
+import com.digitinarytask.shared.event.codec.NotificationEventDeserializer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
@@ -20,6 +25,12 @@ import java.util.Map;
 @EnableKafka
 public class KafkaConfig {
 
+    @Value("${notification.batch.max-size}")
+    private int maxBatchSize;
+
+    @Value("${notification.batch.linger-ms}")
+    private int lingerMs;
+
     @Bean
     public ConsumerFactory<String, NotificationEvent> consumerFactory() {
         Map<String, Object> props = new HashMap<>();
@@ -29,18 +40,32 @@ public class KafkaConfig {
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
         props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
 
-        props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class.getName());
+        // Reads both the binary and the JSON encoding, chosen by each record's content type header
+        props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, NotificationEventDeserializer.class.getName());
         props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, "com.digitinarytask.shared.event.NotificationEvent");
         props.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
 
+        // Batch sizing: a poll returns at most maxBatchSize records, and the broker holds the
+        // fetch for up to lingerMs so that bursts are delivered as one batch instead of many small ones
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxBatchSize);
+        props.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, lingerMs);
+        props.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, 1024);
+
         return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(),
-            new ErrorHandlingDeserializer<>(new JsonDeserializer<>(NotificationEvent.class)));
+            new ErrorHandlingDeserializer<>(new NotificationEventDeserializer()));
     }
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, NotificationEvent> kafkaListenerContainerFactory() {
+    public ConcurrentKafkaListenerContainerFactory<String, NotificationEvent> kafkaListenerContainerFactory(Environment environment) {
         ConcurrentKafkaListenerContainerFactory<String, NotificationEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
+        factory.setBatchListener(true);
+
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor listenerExecutor = new SimpleAsyncTaskExecutor("notification-consumer-");
+            listenerExecutor.setVirtualThreads(true);
+            factory.getContainerProperties().setListenerTaskExecutor(listenerExecutor);
+        }
         return factory;
     }
 }
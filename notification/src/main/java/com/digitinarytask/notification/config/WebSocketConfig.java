@@ -2,10 +2,12 @@ package com.digitinarytask.notification.config;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @Configuration
 @EnableWebSocketMessageBroker
@@ -13,13 +15,43 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Value("${websocket.endpoint}")
     private String endpoint;
 
-    @Value("${websocket.topic}")
-    private String topic;
+    @Value("${websocket.broker-prefix}")
+    private String brokerPrefix;
+
+    @Value("${websocket.user-prefix}")
+    private String userPrefix;
+
+    @Value("${websocket.outbound.send-time-limit-ms}")
+    private int sendTimeLimitMs;
+
+    @Value("${websocket.outbound.send-buffer-size-limit}")
+    private int sendBufferSizeLimit;
+
+    @Value("${websocket.outbound.pool-size}")
+    private int outboundPoolSize;
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker(topic);
+        config.enableSimpleBroker(brokerPrefix);
         config.setApplicationDestinationPrefixes("/app");
+        config.setUserDestinationPrefix(userPrefix);
+    }
+
+    /**
+     * Each session buffers outgoing frames up to a size and time limit. A session that falls further
+     * behind is closed instead of holding up delivery to the others.
+     */
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimitMs);
+        registration.setSendBufferSizeLimit(sendBufferSizeLimit);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+            .corePoolSize(outboundPoolSize)
+            .maxPoolSize(outboundPoolSize);
     }
 
     @Override
@@ -2,6 +2,7 @@ package com.digitinarytask.notification.domain;
 
 import com.digitinarytask.shared.enumeration.NotificationType;
 import com.digitinarytask.notification.domain.enumeration.NotificationStatus;
+import com.digitinarytask.shared.domain.IdAllocation;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -11,7 +12,10 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+    @Index(name = "idx_notifications_event_id", columnList = "event_id", unique = true),
+    @Index(name = "idx_notifications_status_next_attempt", columnList = "status, next_attempt_at")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -19,9 +23,12 @@ import java.time.LocalDateTime;
 public class Notification {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_seq")
-    @SequenceGenerator(name = "notification_seq", sequenceName = "notification_seq", allocationSize = 1)
+    @SequenceGenerator(name = "notification_seq", sequenceName = "notification_seq", allocationSize = IdAllocation.ALLOCATION_SIZE)
     private Long id;
 
+    @Column(name = "event_id", length = 36)
+    private String eventId;
+
     @Column(name = "title", nullable = false)
     private String title;
 
@@ -32,7 +39,7 @@ public class Notification {
     @Column(name = "notification_type", nullable = false)
     private NotificationType type;
 
-    @Column(name = "entity_id", nullable = false)
+    @Column(name = "entity_id")
     private Long entityId;
 
     @Column(name = "entity_type", nullable = false)
@@ -51,6 +58,9 @@ public class Notification {
     @Column(name = "error_message")
     private String errorMessage;
 
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
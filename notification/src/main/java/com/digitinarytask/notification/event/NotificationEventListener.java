@@ -1,23 +1,55 @@
 package com.digitinarytask.notification.event;
 
 import com.digitinarytask.shared.event.NotificationEvent;
+import com.digitinarytask.notification.service.KeyOrderedExecutor;
 import com.digitinarytask.notification.service.NotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletionException;
+
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class NotificationEventListener {
 
     private final NotificationService notificationService;
+    private final KeyOrderedExecutor orderedEventExecutor;
 
 
+    /**
+     * Handles a poll in parallel by entity. Events of one entity are handled in order, on the same lane.
+     * The poll is only acknowledged once every lane is done; if any lane fails, the exception reaches
+     * the container and the poll is delivered again, with already handled events dropped as duplicates.
+     */
     @KafkaListener(topics = "notification", groupId = "notification-group")
-    public void consume(NotificationEvent event) {
-        notificationService.handleNotificationEvent(event);
+    public void consume(List<NotificationEvent> events) {
+        // Records that failed deserialization arrive as null values
+        List<NotificationEvent> validEvents = events.stream()
+            .filter(Objects::nonNull)
+            .toList();
+
+        if (validEvents.size() < events.size()) {
+            log.warn("Skipping {} undeserializable notification events", events.size() - validEvents.size());
+        }
+
+        if (validEvents.isEmpty()) {
+            return;
+        }
+
+        try {
+            orderedEventExecutor.submitAll(validEvents, NotificationEvent::partitionKey,
+                notificationService::handleNotificationEvents).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
 
 }
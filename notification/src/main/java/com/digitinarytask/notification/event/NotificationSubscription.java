@@ -0,0 +1,57 @@
+package com.digitinarytask.notification.event;
+
+import com.digitinarytask.notification.domain.Notification;
+import com.digitinarytask.shared.enumeration.NotificationType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.util.StringUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Server-side filter attached to a STOMP subscription.
+ * <p>
+ * Clients pass the filter as native headers on SUBSCRIBE: {@code entityType}, {@code entityId} and
+ * {@code types} (a comma-separated list of {@link NotificationType} names). A missing header matches
+ * everything.
+ */
+public record NotificationSubscription(String sessionId,
+                                       String subscriptionId,
+                                       String entityType,
+                                       Long entityId,
+                                       Set<NotificationType> types) {
+    static final String ENTITY_TYPE_HEADER = "entityType";
+    static final String ENTITY_ID_HEADER = "entityId";
+    static final String TYPES_HEADER = "types";
+
+    public static NotificationSubscription from(StompHeaderAccessor accessor) {
+        String entityType = accessor.getFirstNativeHeader(ENTITY_TYPE_HEADER);
+        String entityId = accessor.getFirstNativeHeader(ENTITY_ID_HEADER);
+        String types = accessor.getFirstNativeHeader(TYPES_HEADER);
+
+        return new NotificationSubscription(
+            accessor.getSessionId(),
+            accessor.getSubscriptionId(),
+            StringUtils.hasText(entityType) ? entityType.trim() : null,
+            StringUtils.hasText(entityId) ? Long.valueOf(entityId.trim()) : null,
+            StringUtils.hasText(types) ? parseTypes(types) : Collections.emptySet()
+        );
+    }
+
+    public boolean matches(Notification notification) {
+        return (entityType == null || entityType.equals(notification.getEntityType()))
+            && (entityId == null || entityId.equals(notification.getEntityId()))
+            && (types.isEmpty() || types.contains(notification.getType()));
+    }
+
+    private static Set<NotificationType> parseTypes(String types) {
+        return Arrays.stream(types.split(","))
+            .map(String::trim)
+            .filter(StringUtils::hasText)
+            .map(NotificationType::valueOf)
+            .collect(Collectors.toCollection(() -> EnumSet.noneOf(NotificationType.class)));
+    }
+}
@@ -1,21 +1,44 @@
 package com.digitinarytask.notification.event;
 
+import com.digitinarytask.notification.domain.Notification;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.event.EventListener;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.messaging.SessionConnectedEvent;
 import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
 
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Tracks connected sessions and their notification subscriptions.
+ * <p>
+ * Subscriptions are indexed by entity type, so finding the sessions interested in a notification
+ * only looks at subscriptions for that entity type plus those without an entity type filter.
+ */
 @Component
 @Slf4j
 public class WebSocketSessionRegistry {
+    private static final String ANY_ENTITY_TYPE = "*";
 
     private final ConcurrentHashMap<String, StompHeaderAccessor> sessions = new ConcurrentHashMap<>();
 
+    private final ConcurrentHashMap<String, Map<String, NotificationSubscription>> subscriptionsBySession = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, Set<NotificationSubscription>> subscriptionsByEntityType = new ConcurrentHashMap<>();
+
+    private final String subscriptionDestination;
+
+    public WebSocketSessionRegistry(@Value("${websocket.user-prefix}${websocket.destination}") String subscriptionDestination) {
+        this.subscriptionDestination = subscriptionDestination;
+    }
+
     @EventListener
     public void handleSessionConnected(SessionConnectedEvent event) {
         StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
@@ -24,15 +47,93 @@ public class WebSocketSessionRegistry {
         log.info("Client connected: {}", sessionId);
     }
 
+    @EventListener
+    public void handleSessionSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        if (!subscriptionDestination.equals(accessor.getDestination())) {
+            return;
+        }
+
+        NotificationSubscription subscription;
+        try {
+            subscription = NotificationSubscription.from(accessor);
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring subscription {} of session {} with invalid filter: {}",
+                accessor.getSubscriptionId(), accessor.getSessionId(), e.getMessage());
+            return;
+        }
+
+        subscriptionsBySession
+            .computeIfAbsent(subscription.sessionId(), sessionId -> new ConcurrentHashMap<>())
+            .put(subscription.subscriptionId(), subscription);
+        subscriptionsByEntityType.compute(indexKey(subscription), (key, subscriptions) -> {
+            Set<NotificationSubscription> indexed = subscriptions == null ? ConcurrentHashMap.newKeySet() : subscriptions;
+            indexed.add(subscription);
+            return indexed;
+        });
+        log.debug("Session {} subscribed with filter {}", subscription.sessionId(), subscription);
+    }
+
+    @EventListener
+    public void handleSessionUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, NotificationSubscription> subscriptions = subscriptionsBySession.get(accessor.getSessionId());
+        if (subscriptions != null) {
+            NotificationSubscription subscription = subscriptions.remove(accessor.getSubscriptionId());
+            if (subscription != null) {
+                unindex(subscription);
+            }
+        }
+    }
+
     @EventListener
     public void handleSessionDisconnected(SessionDisconnectEvent event) {
         StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
         String sessionId = accessor.getSessionId();
         sessions.remove(sessionId);
+
+        Map<String, NotificationSubscription> subscriptions = subscriptionsBySession.remove(sessionId);
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::unindex);
+        }
         log.info("Client disconnected: {}", sessionId);
     }
 
     public Set<String> getActiveSessions() {
         return sessions.keySet();
     }
+
+    /**
+     * Returns the ids of the sessions with at least one subscription matching the notification.
+     */
+    public Set<String> findSubscribedSessions(Notification notification) {
+        Set<String> sessionIds = new HashSet<>();
+        collectMatching(subscriptionsByEntityType.get(ANY_ENTITY_TYPE), notification, sessionIds);
+        if (notification.getEntityType() != null) {
+            collectMatching(subscriptionsByEntityType.get(notification.getEntityType()), notification, sessionIds);
+        }
+        return sessionIds;
+    }
+
+    private void collectMatching(Set<NotificationSubscription> subscriptions, Notification notification, Set<String> sessionIds) {
+        if (subscriptions == null) {
+            return;
+        }
+        for (NotificationSubscription subscription : subscriptions) {
+            if (subscription.matches(notification)) {
+                sessionIds.add(subscription.sessionId());
+            }
+        }
+    }
+
+    private void unindex(NotificationSubscription subscription) {
+        subscriptionsByEntityType.computeIfPresent(indexKey(subscription), (key, subscriptions) -> {
+            subscriptions.remove(subscription);
+            return subscriptions.isEmpty() ? null : subscriptions;
+        });
+    }
+
+    private String indexKey(NotificationSubscription subscription) {
+        return subscription.entityType() == null ? ANY_ENTITY_TYPE : subscription.entityType();
+    }
 }
@@ -1,13 +1,38 @@
 package com.digitinarytask.notification.repository;
 
 import com.digitinarytask.notification.domain.Notification;
+import com.digitinarytask.notification.domain.enumeration.NotificationStatus;
 import com.digitinarytask.shared.enumeration.NotificationType;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     List<Notification> findByTypeOrderByCreatedAtDesc(NotificationType type);
+
+    @Query("select n.eventId from Notification n where n.eventId in :eventIds")
+    Set<String> findExistingEventIds(@Param("eventIds") Collection<String> eventIds);
+
+    /**
+     * Locks the notifications in the given statuses whose next attempt is due. Rows already locked
+     * by another instance are skipped.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select n from Notification n where n.status in :statuses and n.nextAttemptAt <= :now order by n.nextAttemptAt")
+    List<Notification> findDueNotifications(@Param("statuses") Collection<NotificationStatus> statuses,
+                                            @Param("now") LocalDateTime now,
+                                            Pageable pageable);
 }
@@ -1,28 +1,63 @@
 package com.digitinarytask.notification.service;
 
 import com.digitinarytask.notification.domain.Notification;
+import com.digitinarytask.notification.event.WebSocketSessionRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.Set;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class AsyncNotificationDispatcher {
     private final SimpMessagingTemplate messagingTemplate;
+    private final WebSocketSessionRegistry sessionRegistry;
+    private final NotificationFrameEncoder frameEncoder;
+
+    @Value("${websocket.destination}")
+    private String destination;
 
-    @Value("${websocket.topic}")
-    private String topic;
+    @Value("${websocket.user-prefix}")
+    private String userPrefix;
 
+    /**
+     * Sends the notification to the sessions whose subscription filters match it. The notification
+     * is serialized once and the same frame body is handed to every session. Failures are propagated
+     * so the caller can schedule a retry.
+     */
     public void dispatchNotification(Notification notification) {
-        try {
-            log.debug("Dispatching notification to websocket subscribers: {}", notification);
-            messagingTemplate.convertAndSend(topic, notification);
-        } catch (Exception e) {
-            log.error("Error dispatching notification: {}", e.getMessage(), e);
+        Set<String> sessionIds = sessionRegistry.findSubscribedSessions(notification);
+        if (sessionIds.isEmpty()) {
+            log.debug("No websocket subscribers for notification: {}", notification.getId());
+            return;
+        }
+
+        log.debug("Dispatching notification {} to {} websocket sessions", notification.getId(), sessionIds.size());
+        byte[] frame = frameEncoder.encode(notification);
+        for (String sessionId : sessionIds) {
+            messagingTemplate.send(userPrefix + "/" + sessionId + destination,
+                MessageBuilder.createMessage(frame, sessionHeaders(sessionId)));
         }
     }
+
+    /**
+     * Headers addressing a single session, so the user destination resolves to that session rather
+     * than to a named user.
+     */
+    private MessageHeaders sessionHeaders(String sessionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        return accessor.getMessageHeaders();
+    }
 }
@@ -0,0 +1,87 @@
+package com.digitinarytask.notification.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Runs work for different keys in parallel while keeping strict order per key.
+ * <p>
+ * Every key hashes to one of {@code parallelism} lanes, and each lane is a single thread working
+ * through its tasks in submission order. Work for one key therefore never overlaps or overtakes
+ * itself, while distinct keys spread over all lanes. The number of lanes is independent of how many
+ * partitions the records came from.
+ */
+@Slf4j
+public class KeyOrderedExecutor {
+    private final ExecutorService[] lanes;
+
+    public KeyOrderedExecutor(int parallelism, String threadNamePrefix) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+        ThreadFactory threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+        lanes = new ExecutorService[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            lanes[i] = Executors.newSingleThreadExecutor(threadFactory);
+        }
+    }
+
+    public int parallelism() {
+        return lanes.length;
+    }
+
+    /**
+     * Runs the task after every task submitted earlier for the same key.
+     */
+    public CompletableFuture<Void> submit(String key, Runnable task) {
+        return CompletableFuture.runAsync(task, lanes[lane(key)]);
+    }
+
+    /**
+     * Splits the items by lane, keeping their order, and hands each lane's items to the handler as one
+     * batch on that lane.
+     *
+     * @return completes when every lane has handled its batch, exceptionally if any handler failed
+     */
+    public <T> CompletableFuture<Void> submitAll(List<T> items, Function<T, String> key, Consumer<List<T>> handler) {
+        List<List<T>> byLane = new ArrayList<>(lanes.length);
+        for (int i = 0; i < lanes.length; i++) {
+            byLane.add(new ArrayList<>());
+        }
+        for (T item : items) {
+            byLane.get(lane(key.apply(item))).add(item);
+        }
+
+        List<CompletableFuture<Void>> batches = new ArrayList<>();
+        for (int i = 0; i < lanes.length; i++) {
+            List<T> batch = byLane.get(i);
+            if (!batch.isEmpty()) {
+                batches.add(CompletableFuture.runAsync(() -> handler.accept(batch), lanes[i]));
+            }
+        }
+        return CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Stops accepting work; tasks already submitted still run.
+     */
+    public void shutdown() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+    }
+
+    private int lane(String key) {
+        int hash = key == null ? 0 : key.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), lanes.length);
+    }
+}
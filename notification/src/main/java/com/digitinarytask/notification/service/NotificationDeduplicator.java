@@ -0,0 +1,159 @@
+package com.digitinarytask.notification.service;
+
+import com.digitinarytask.notification.repository.NotificationRepository;
+import com.digitinarytask.shared.event.NotificationEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Drops notification events that were already processed, keyed on {@link NotificationEvent#getEventId()}.
+ * <p>
+ * Recently processed ids are kept in memory for a bounded time window and up to a maximum number
+ * of entries. Optionally, ids that are not in memory are also checked against the persisted
+ * notifications, which covers redeliveries after a restart or a partition moving between instances.
+ * Events without an id are always treated as new.
+ */
+@Component
+@Slf4j
+public class NotificationDeduplicator {
+    private final NotificationRepository notificationRepository;
+
+    private final ConcurrentHashMap<String, Long> processedAt = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<String> processedOrder = new ConcurrentLinkedQueue<>();
+
+    private final long windowMillis;
+    private final int maxEntries;
+    private final boolean persistentCheck;
+
+    private final Counter uniqueCounter;
+    private final Counter duplicateCounter;
+
+    public NotificationDeduplicator(NotificationRepository notificationRepository,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${notification.dedup.window}") Duration window,
+                                    @Value("${notification.dedup.max-entries}") int maxEntries,
+                                    @Value("${notification.dedup.persistent-check}") boolean persistentCheck) {
+        this.notificationRepository = notificationRepository;
+        this.windowMillis = window.toMillis();
+        this.maxEntries = maxEntries;
+        this.persistentCheck = persistentCheck;
+
+        this.uniqueCounter = Counter.builder("notification.dedup.events")
+            .tag("result", "unique")
+            .description("Notification events accepted by the deduplicator")
+            .register(meterRegistry);
+        this.duplicateCounter = Counter.builder("notification.dedup.events")
+            .tag("result", "duplicate")
+            .description("Notification events dropped as duplicates")
+            .register(meterRegistry);
+        Gauge.builder("notification.dedup.hit.ratio", this, NotificationDeduplicator::hitRatio)
+            .description("Share of notification events dropped as duplicates")
+            .register(meterRegistry);
+        Gauge.builder("notification.dedup.entries", processedAt, ConcurrentHashMap::size)
+            .description("Event ids currently held in the in-memory dedup window")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Returns the events that have not been processed yet, in their original order. Duplicates within
+     * the batch itself are dropped as well.
+     */
+    public List<NotificationEvent> filterNew(List<NotificationEvent> events) {
+        evictExpired(System.currentTimeMillis());
+
+        List<NotificationEvent> candidates = new ArrayList<>(events.size());
+        Set<String> batchIds = new HashSet<>();
+        for (NotificationEvent event : events) {
+            String eventId = event.getEventId();
+            if (eventId == null || (!processedAt.containsKey(eventId) && batchIds.add(eventId))) {
+                candidates.add(event);
+            }
+        }
+
+        if (persistentCheck && !batchIds.isEmpty()) {
+            Set<String> persistedIds = notificationRepository.findExistingEventIds(batchIds);
+            if (!persistedIds.isEmpty()) {
+                candidates.removeIf(event -> event.getEventId() != null && persistedIds.contains(event.getEventId()));
+                persistedIds.forEach(this::remember);
+            }
+        }
+
+        int duplicates = events.size() - candidates.size();
+        uniqueCounter.increment(candidates.size());
+        if (duplicates > 0) {
+            duplicateCounter.increment(duplicates);
+            log.info("Dropped {} duplicate notification events", duplicates);
+        }
+
+        return candidates;
+    }
+
+    /**
+     * Records the events as processed. Inside a transaction this happens after the commit, so events
+     * whose transaction rolls back are accepted again when they are redelivered.
+     */
+    public void markProcessed(Collection<NotificationEvent> events) {
+        List<String> eventIds = events.stream()
+            .map(NotificationEvent::getEventId)
+            .filter(eventId -> eventId != null)
+            .toList();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eventIds.forEach(NotificationDeduplicator.this::remember);
+                }
+            });
+        } else {
+            eventIds.forEach(this::remember);
+        }
+    }
+
+    private void remember(String eventId) {
+        if (processedAt.put(eventId, System.currentTimeMillis()) == null) {
+            processedOrder.add(eventId);
+        }
+
+        while (processedAt.size() > maxEntries) {
+            String oldest = processedOrder.poll();
+            if (oldest == null) {
+                break;
+            }
+            processedAt.remove(oldest);
+        }
+    }
+
+    private void evictExpired(long now) {
+        String oldest;
+        while ((oldest = processedOrder.peek()) != null) {
+            Long timestamp = processedAt.get(oldest);
+            if (timestamp != null && now - timestamp < windowMillis) {
+                break;
+            }
+            if (processedOrder.remove(oldest)) {
+                processedAt.remove(oldest);
+            }
+        }
+    }
+
+    private double hitRatio() {
+        double total = uniqueCounter.count() + duplicateCounter.count();
+        return total == 0 ? 0 : duplicateCounter.count() / total;
+    }
+}
@@ -0,0 +1,30 @@
+package com.digitinarytask.notification.service;
+
+import com.digitinarytask.notification.domain.Notification;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Encodes a notification into the JSON frame body sent to websocket sessions.
+ * <p>
+ * A notification is encoded once per dispatch and the resulting array is shared by every message
+ * sent for it, so it must not be modified after encoding.
+ */
+@Component
+public class NotificationFrameEncoder {
+    private final ObjectWriter writer;
+
+    public NotificationFrameEncoder(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writerFor(Notification.class);
+    }
+
+    public byte[] encode(Notification notification) {
+        try {
+            return writer.writeValueAsBytes(notification);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode notification " + notification.getId(), e);
+        }
+    }
+}
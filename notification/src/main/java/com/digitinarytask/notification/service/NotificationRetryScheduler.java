@@ -0,0 +1,153 @@
+package com.digitinarytask.notification.service;
+
+import com.digitinarytask.notification.domain.Notification;
+import com.digitinarytask.notification.domain.enumeration.NotificationStatus;
+import com.digitinarytask.notification.repository.NotificationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retries failed notification dispatches from the database.
+ * <p>
+ * Failed notifications are stored in {@code RETRY} status with the time of their next attempt.
+ * Each run claims a batch of due notifications by moving them to {@code IN_PROGRESS} with a lease,
+ * dispatches them in parallel, and stores the outcome. Claimed rows are locked with SKIP LOCKED,
+ * so several instances never claim the same notification. A notification left {@code IN_PROGRESS}
+ * by an instance that died is claimed again once its lease runs out.
+ */
+@Service
+@Slf4j
+public class NotificationRetryScheduler {
+    private static final Set<NotificationStatus> CLAIMABLE_STATUSES = EnumSet.of(NotificationStatus.RETRY, NotificationStatus.IN_PROGRESS);
+
+    private final NotificationRepository notificationRepository;
+    private final AsyncNotificationDispatcher asyncDispatcher;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor retryExecutor;
+
+    @Value("${notification.retry.max-attempts}")
+    private int maxAttempts;
+
+    @Value("${notification.retry.base-delay}")
+    private Duration baseDelay;
+
+    @Value("${notification.retry.max-delay}")
+    private Duration maxDelay;
+
+    @Value("${notification.retry.lease}")
+    private Duration lease;
+
+    @Value("${notification.retry.batch-size}")
+    private int batchSize;
+
+    public NotificationRetryScheduler(NotificationRepository notificationRepository,
+                                      AsyncNotificationDispatcher asyncDispatcher,
+                                      TransactionTemplate transactionTemplate,
+                                      @Qualifier("retryExecutor") Executor retryExecutor) {
+        this.notificationRepository = notificationRepository;
+        this.asyncDispatcher = asyncDispatcher;
+        this.transactionTemplate = transactionTemplate;
+        this.retryExecutor = retryExecutor;
+    }
+
+
+    /**
+     * Records a failed dispatch, scheduling another attempt with exponential backoff and jitter until
+     * the maximum number of attempts is reached. The caller is responsible for saving the notification.
+     */
+    public void scheduleRetry(Notification notification, Exception e) {
+        notification.setErrorMessage(e.getMessage());
+
+        int retryCount = notification.getRetryCount() == null ? 0 : notification.getRetryCount();
+        if (retryCount < maxAttempts) {
+            notification.setStatus(NotificationStatus.RETRY);
+            notification.setRetryCount(retryCount + 1);
+            notification.setNextAttemptAt(LocalDateTime.now().plus(backoff(retryCount + 1)));
+
+            log.info("Notification {} will be retried at {}", notification.getId(), notification.getNextAttemptAt());
+        } else {
+            notification.setStatus(NotificationStatus.FAILED);
+            notification.setNextAttemptAt(null);
+
+            log.error("Notification {} failed after {} retries", notification.getId(), retryCount);
+        }
+    }
+
+
+    /**
+     * Retries due notifications, one batch at a time, until a batch comes back short.
+     */
+    @Scheduled(fixedDelayString = "${notification.retry.poll-interval-ms}")
+    public void retryDueNotifications() {
+        List<Notification> claimed;
+        do {
+            claimed = claimDueNotifications();
+            if (!claimed.isEmpty()) {
+                log.info("Retrying {} notifications", claimed.size());
+                retry(claimed);
+            }
+        } while (claimed.size() == batchSize);
+    }
+
+    private List<Notification> claimDueNotifications() {
+        List<Notification> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Notification> due = notificationRepository.findDueNotifications(CLAIMABLE_STATUSES, now, PageRequest.of(0, batchSize));
+            due.forEach(notification -> {
+                notification.setStatus(NotificationStatus.IN_PROGRESS);
+                notification.setNextAttemptAt(now.plus(lease));
+            });
+            return notificationRepository.saveAll(due);
+        });
+        return claimed == null ? Collections.emptyList() : claimed;
+    }
+
+    private void retry(List<Notification> notifications) {
+        CompletableFuture<?>[] dispatches = notifications.stream()
+            .map(notification -> CompletableFuture.runAsync(() -> dispatch(notification), retryExecutor))
+            .toArray(CompletableFuture[]::new);
+
+        CompletableFuture.allOf(dispatches).join();
+
+        transactionTemplate.executeWithoutResult(status -> notificationRepository.saveAll(notifications));
+    }
+
+    private void dispatch(Notification notification) {
+        try {
+            asyncDispatcher.dispatchNotification(notification);
+
+            notification.setStatus(NotificationStatus.PROCESSED);
+            notification.setProcessedAt(LocalDateTime.now());
+            notification.setNextAttemptAt(null);
+        } catch (Exception e) {
+            log.error("Error retrying notification {}: {}", notification.getId(), e.getMessage(), e);
+            scheduleRetry(notification, e);
+        }
+    }
+
+    /**
+     * Exponential backoff capped at the maximum delay, with the upper half randomized so that
+     * notifications failing together do not all retry at the same moment.
+     */
+    private Duration backoff(int attempt) {
+        long exponential = baseDelay.toMillis() << Math.min(attempt - 1, 30);
+        long capped = Math.min(maxDelay.toMillis(), exponential);
+        long half = capped / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half + 1));
+    }
+}
@@ -6,13 +6,11 @@ import com.digitinarytask.notification.domain.enumeration.NotificationStatus;
 import com.digitinarytask.notification.repository.NotificationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -20,67 +18,48 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 public class NotificationService {
     private final NotificationRepository notificationRepository;
     private final AsyncNotificationDispatcher asyncDispatcher;
-
-    private final ConcurrentLinkedQueue<Notification> failedNotifications = new ConcurrentLinkedQueue<>();
-
-    @Async
+    private final NotificationDeduplicator deduplicator;
+    private final NotificationRetryScheduler retryScheduler;
+
+    /**
+     * Handles a whole poll of events at once: duplicates are dropped first, then the notifications
+     * are inserted in a single JDBC batch, dispatched, and their final statuses written back in a
+     * second batch.
+     */
     @Transactional
-    public void handleNotificationEvent(NotificationEvent event) {
-        log.debug("Handling notification event: {}", event);
-        Notification notification = createNotification(event);
-        notificationRepository.save(notification);
-
-        handleDispatch(notification);
-    }
-
-    private void handleDispatch(Notification notification) {
-        try{
-            notification.setStatus(NotificationStatus.IN_PROGRESS);
-            notification = notificationRepository.save(notification);
-
-            asyncDispatcher.dispatchNotification(notification);
-
-            notification.setStatus(NotificationStatus.PROCESSED);
-            notification.setProcessedAt(LocalDateTime.now());
-        } catch (Exception e) {
-            log.error("Error dispatching notification: {}", e.getMessage(), e);
-            handleNotificationError(notification, e);
-        } finally {
-            notificationRepository.save(notification);
+    public void handleNotificationEvents(List<NotificationEvent> events) {
+        log.debug("Handling batch of {} notification events", events.size());
+        List<NotificationEvent> newEvents = deduplicator.filterNew(events);
+        if (newEvents.isEmpty()) {
+            return;
         }
-    }
-
-    @Async
-    @Scheduled(fixedRate = 60000)
-    public void retryFailedNotifications() {
-        log.info("Retrying failed notifications");
 
-        while (!failedNotifications.isEmpty()) {
-            Notification notification = failedNotifications.poll();
-            handleDispatch(notification);
-        }
-    }
+        List<Notification> notifications = newEvents.stream()
+                .map(this::createNotification)
+                .peek(notification -> notification.setStatus(NotificationStatus.IN_PROGRESS))
+                .toList();
 
-    private void handleNotificationError(Notification notification, Exception e) {
-        notification.setStatus(NotificationStatus.FAILED);
-        notification.setErrorMessage(e.getMessage());
+        notifications = notificationRepository.saveAll(notifications);
 
-        if (notification.getRetryCount() < 3) {
-            notification.setStatus(NotificationStatus.RETRY);
-            notification.setRetryCount(notification.getRetryCount() + 1);
+        for (Notification notification : notifications) {
+            try {
+                asyncDispatcher.dispatchNotification(notification);
 
-            log.info("Notification will be retried: {}", notification);
-        } else {
-            log.error("Notification failed after 3 retries: {}", notification);
-
-            notification.setStatus(NotificationStatus.FAILED);
-
-            notificationRepository.save(notification);
+                notification.setStatus(NotificationStatus.PROCESSED);
+                notification.setProcessedAt(LocalDateTime.now());
+            } catch (Exception e) {
+                log.error("Error dispatching notification: {}", e.getMessage(), e);
+                retryScheduler.scheduleRetry(notification, e);
+            }
         }
+
+        notificationRepository.saveAll(notifications);
+        deduplicator.markProcessed(newEvents);
     }
 
     private Notification createNotification(NotificationEvent event) {
         return Notification.builder()
+                .eventId(event.getEventId())
                 .type(event.getType())
                 .entityType(event.getEntityType())
                 .entityId(event.getEntityId())
@@ -88,6 +67,7 @@ public class NotificationService {
                 .payload(event.getPayload())
                 .createdAt(event.getTimestamp())
                 .status(NotificationStatus.PENDING)
+                .retryCount(0)
                 .build();
     }
 }
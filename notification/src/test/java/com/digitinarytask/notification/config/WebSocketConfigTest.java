@@ -0,0 +1,104 @@
+package com.digitinarytask.notification.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Drives outbound frames through the configured websocket handler to a session that stops reading.
+ */
+@SpringJUnitWebConfig(WebSocketConfig.class)
+@TestPropertySource(properties = {
+    "websocket.endpoint=/ws",
+    "websocket.broker-prefix=/queue",
+    "websocket.user-prefix=/user",
+    "websocket.outbound.send-time-limit-ms=200",
+    "websocket.outbound.send-buffer-size-limit=1024",
+    "websocket.outbound.pool-size=1"
+})
+class WebSocketConfigTest {
+
+    @Autowired
+    private SubProtocolWebSocketHandler webSocketHandler;
+
+    private final CountDownLatch released = new CountDownLatch(1);
+    private final CountDownLatch sending = new CountDownLatch(1);
+    private WebSocketSession slowSession;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        slowSession = mock(WebSocketSession.class);
+        when(slowSession.getId()).thenReturn("slow");
+        when(slowSession.isOpen()).thenReturn(true);
+        doAnswer(invocation -> {
+            sending.countDown();
+            released.await(10, TimeUnit.SECONDS);
+            return null;
+        }).when(slowSession).sendMessage(any());
+        webSocketHandler.afterConnectionEstablished(slowSession);
+    }
+
+    @AfterEach
+    void tearDown() {
+        released.countDown();
+    }
+
+    @Test
+    void appliesTheConfiguredLimitsToEverySession() {
+        assertEquals(200, webSocketHandler.getSendTimeLimit());
+        assertEquals(1024, webSocketHandler.getSendBufferSizeLimit());
+    }
+
+    @Test
+    void closesASessionWhoseBufferOverflows() throws Exception {
+        blockOnFirstFrame();
+
+        webSocketHandler.handleMessage(frame(new byte[2048]));
+
+        verify(slowSession).close(CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    @Test
+    void closesASessionThatExceedsTheSendTimeLimit() throws Exception {
+        blockOnFirstFrame();
+        Thread.sleep(300);
+
+        webSocketHandler.handleMessage(frame(new byte[16]));
+
+        verify(slowSession).close(CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    /**
+     * Sends a frame the session never finishes writing, so later frames queue up behind it.
+     */
+    private void blockOnFirstFrame() throws Exception {
+        CompletableFuture.runAsync(() -> webSocketHandler.handleMessage(frame(new byte[16])));
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+    }
+
+    private static Message<byte[]> frame(byte[] payload) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.MESSAGE);
+        accessor.setSessionId("slow");
+        accessor.setSubscriptionId("sub-0");
+        accessor.setDestination("/queue/notifications");
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,71 @@
+package com.digitinarytask.notification.event;
+
+import com.digitinarytask.notification.domain.Notification;
+import com.digitinarytask.shared.enumeration.NotificationType;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationSubscriptionTest {
+
+    @Test
+    void fromReadsTheFilterHeaders() {
+        StompHeaderAccessor accessor = subscribe();
+        accessor.addNativeHeader(NotificationSubscription.ENTITY_TYPE_HEADER, " ACCOUNT ");
+        accessor.addNativeHeader(NotificationSubscription.ENTITY_ID_HEADER, "42");
+        accessor.addNativeHeader(NotificationSubscription.TYPES_HEADER, "ACCOUNT_CREATED, ACCOUNT_UPDATED,");
+
+        NotificationSubscription subscription = NotificationSubscription.from(accessor);
+
+        assertEquals("session-1", subscription.sessionId());
+        assertEquals("sub-1", subscription.subscriptionId());
+        assertEquals("ACCOUNT", subscription.entityType());
+        assertEquals(42L, subscription.entityId());
+        assertEquals(Set.of(NotificationType.ACCOUNT_CREATED, NotificationType.ACCOUNT_UPDATED), subscription.types());
+    }
+
+    @Test
+    void subscriptionWithoutFilterHeadersMatchesEverything() {
+        NotificationSubscription subscription = NotificationSubscription.from(subscribe());
+
+        assertTrue(subscription.matches(notification("ACCOUNT", 1L, NotificationType.ACCOUNT_CREATED)));
+        assertTrue(subscription.matches(notification("CUSTOMER", 2L, NotificationType.CUSTOMER_DELETED)));
+    }
+
+    @Test
+    void matchesRequiresEveryGivenFilter() {
+        NotificationSubscription subscription = new NotificationSubscription("session-1", "sub-1", "ACCOUNT", 42L,
+            Set.of(NotificationType.ACCOUNT_UPDATED));
+
+        assertTrue(subscription.matches(notification("ACCOUNT", 42L, NotificationType.ACCOUNT_UPDATED)));
+        assertFalse(subscription.matches(notification("CUSTOMER", 42L, NotificationType.ACCOUNT_UPDATED)));
+        assertFalse(subscription.matches(notification("ACCOUNT", 7L, NotificationType.ACCOUNT_UPDATED)));
+        assertFalse(subscription.matches(notification("ACCOUNT", 42L, NotificationType.ACCOUNT_DELETED)));
+    }
+
+    @Test
+    void fromRejectsUnknownTypesAndMalformedEntityIds() {
+        StompHeaderAccessor unknownType = subscribe();
+        unknownType.addNativeHeader(NotificationSubscription.TYPES_HEADER, "ACCOUNT_EXPLODED");
+        StompHeaderAccessor malformedId = subscribe();
+        malformedId.addNativeHeader(NotificationSubscription.ENTITY_ID_HEADER, "forty-two");
+
+        assertThrows(IllegalArgumentException.class, () -> NotificationSubscription.from(unknownType));
+        assertThrows(IllegalArgumentException.class, () -> NotificationSubscription.from(malformedId));
+    }
+
+    private static StompHeaderAccessor subscribe() {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setSessionId("session-1");
+        accessor.setSubscriptionId("sub-1");
+        return accessor;
+    }
+
+    private static Notification notification(String entityType, Long entityId, NotificationType type) {
+        return Notification.builder().entityType(entityType).entityId(entityId).type(type).build();
+    }
+}
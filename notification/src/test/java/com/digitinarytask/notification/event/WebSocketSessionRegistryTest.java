@@ -0,0 +1,104 @@
+package com.digitinarytask.notification.event;
+
+import com.digitinarytask.notification.domain.Notification;
+import com.digitinarytask.shared.enumeration.NotificationType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebSocketSessionRegistryTest {
+    private static final String DESTINATION = "/user/queue/notifications";
+
+    private WebSocketSessionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new WebSocketSessionRegistry(DESTINATION);
+    }
+
+    @Test
+    void routesNotificationsToTheSessionsWhoseFiltersMatch() {
+        subscribe("accounts", "sub-1", DESTINATION, Map.of(NotificationSubscription.ENTITY_TYPE_HEADER, "ACCOUNT"));
+        subscribe("account-42", "sub-1", DESTINATION, Map.of(
+            NotificationSubscription.ENTITY_TYPE_HEADER, "ACCOUNT",
+            NotificationSubscription.ENTITY_ID_HEADER, "42"));
+        subscribe("deletions", "sub-1", DESTINATION, Map.of(NotificationSubscription.TYPES_HEADER, "ACCOUNT_DELETED,CUSTOMER_DELETED"));
+        subscribe("everything", "sub-1", DESTINATION, Map.of());
+
+        assertEquals(Set.of("accounts", "account-42", "everything"),
+            registry.findSubscribedSessions(notification("ACCOUNT", 42L, NotificationType.ACCOUNT_UPDATED)));
+        assertEquals(Set.of("accounts", "deletions", "everything"),
+            registry.findSubscribedSessions(notification("ACCOUNT", 7L, NotificationType.ACCOUNT_DELETED)));
+        assertEquals(Set.of("everything"),
+            registry.findSubscribedSessions(notification("CUSTOMER", 42L, NotificationType.CUSTOMER_CREATED)));
+    }
+
+    @Test
+    void ignoresOtherDestinationsAndInvalidFilters() {
+        subscribe("elsewhere", "sub-1", "/topic/other", Map.of());
+        subscribe("invalid", "sub-1", DESTINATION, Map.of(NotificationSubscription.TYPES_HEADER, "NOT_A_TYPE"));
+
+        assertTrue(registry.findSubscribedSessions(notification("ACCOUNT", 1L, NotificationType.ACCOUNT_CREATED)).isEmpty());
+    }
+
+    @Test
+    void unsubscribeRemovesOnlyThatSubscription() {
+        subscribe("session-1", "sub-1", DESTINATION, Map.of(NotificationSubscription.ENTITY_TYPE_HEADER, "ACCOUNT"));
+        subscribe("session-1", "sub-2", DESTINATION, Map.of(NotificationSubscription.ENTITY_TYPE_HEADER, "CUSTOMER"));
+
+        registry.handleSessionUnsubscribe(new SessionUnsubscribeEvent(this, message(StompCommand.UNSUBSCRIBE, "session-1", "sub-1", null, Map.of())));
+
+        assertTrue(registry.findSubscribedSessions(notification("ACCOUNT", 1L, NotificationType.ACCOUNT_CREATED)).isEmpty());
+        assertEquals(Set.of("session-1"),
+            registry.findSubscribedSessions(notification("CUSTOMER", 1L, NotificationType.CUSTOMER_CREATED)));
+    }
+
+    @Test
+    void disconnectRemovesTheSessionAndAllItsSubscriptions() {
+        registry.handleSessionConnected(new SessionConnectedEvent(this, message(StompCommand.CONNECTED, "session-1", null, null, Map.of())));
+        registry.handleSessionConnected(new SessionConnectedEvent(this, message(StompCommand.CONNECTED, "session-2", null, null, Map.of())));
+        subscribe("session-1", "sub-1", DESTINATION, Map.of(NotificationSubscription.ENTITY_TYPE_HEADER, "ACCOUNT"));
+        subscribe("session-1", "sub-2", DESTINATION, Map.of());
+        subscribe("session-2", "sub-1", DESTINATION, Map.of(NotificationSubscription.ENTITY_TYPE_HEADER, "ACCOUNT"));
+
+        registry.handleSessionDisconnected(new SessionDisconnectEvent(this,
+            message(StompCommand.DISCONNECT, "session-1", null, null, Map.of()), "session-1", CloseStatus.NORMAL));
+
+        assertEquals(Set.of("session-2"), registry.getActiveSessions());
+        assertEquals(Set.of("session-2"),
+            registry.findSubscribedSessions(notification("ACCOUNT", 1L, NotificationType.ACCOUNT_CREATED)));
+        assertTrue(registry.findSubscribedSessions(notification("CUSTOMER", 1L, NotificationType.CUSTOMER_CREATED)).isEmpty());
+    }
+
+    private void subscribe(String sessionId, String subscriptionId, String destination, Map<String, String> filter) {
+        registry.handleSessionSubscribe(new SessionSubscribeEvent(this,
+            message(StompCommand.SUBSCRIBE, sessionId, subscriptionId, destination, filter)));
+    }
+
+    private static Message<byte[]> message(StompCommand command, String sessionId, String subscriptionId,
+                                           String destination, Map<String, String> nativeHeaders) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        nativeHeaders.forEach(accessor::addNativeHeader);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Notification notification(String entityType, Long entityId, NotificationType type) {
+        return Notification.builder().entityType(entityType).entityId(entityId).type(type).build();
+    }
+}
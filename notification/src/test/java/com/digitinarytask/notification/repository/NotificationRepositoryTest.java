@@ -0,0 +1,107 @@
+package com.digitinarytask.notification.repository;
+
+import com.digitinarytask.notification.domain.Notification;
+import com.digitinarytask.notification.domain.enumeration.NotificationStatus;
+import com.digitinarytask.shared.enumeration.NotificationType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs without the test transaction, so the claims below lock rows in transactions of their own.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class NotificationRepositoryTest {
+    private static final Set<NotificationStatus> CLAIMABLE = EnumSet.of(NotificationStatus.RETRY, NotificationStatus.IN_PROGRESS);
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        now = LocalDateTime.now();
+    }
+
+    @AfterEach
+    void tearDown() {
+        notificationRepository.deleteAll();
+    }
+
+    @Test
+    void findDueNotificationsReturnsDueRetriesAndExpiredLeases() {
+        Notification dueRetry = save(NotificationStatus.RETRY, now.minusSeconds(10));
+        Notification expiredLease = save(NotificationStatus.IN_PROGRESS, now.minusSeconds(5));
+        save(NotificationStatus.RETRY, now.plusMinutes(1));
+        save(NotificationStatus.IN_PROGRESS, now.plusMinutes(1));
+        save(NotificationStatus.FAILED, now.minusMinutes(1));
+
+        List<Notification> due = transactionTemplate.execute(status ->
+            notificationRepository.findDueNotifications(CLAIMABLE, now, PageRequest.of(0, 10)));
+
+        assertEquals(List.of(dueRetry.getId(), expiredLease.getId()), due.stream().map(Notification::getId).toList());
+    }
+
+    @Test
+    void findDueNotificationsNeverHandsOutARowLockedByAnotherClaim() {
+        Notification first = save(NotificationStatus.RETRY, now.minusSeconds(10));
+        Notification second = save(NotificationStatus.RETRY, now.minusSeconds(5));
+
+        List<Long> claimedWhileLocked = transactionTemplate.execute(status -> {
+            // Only the first notification is due yet for this claim; H2 locks every row a claim matches,
+            // before the page limit is applied
+            List<Notification> locked = notificationRepository.findDueNotifications(CLAIMABLE, now.minusSeconds(7),
+                PageRequest.of(0, 10));
+            assertEquals(List.of(first.getId()), locked.stream().map(Notification::getId).toList());
+
+            // A second instance claiming at the same time skips the locked row instead of waiting for it
+            return CompletableFuture.supplyAsync(() -> transactionTemplate.execute(other ->
+                    notificationRepository.findDueNotifications(CLAIMABLE, now, PageRequest.of(0, 10)).stream()
+                        .map(Notification::getId)
+                        .toList()))
+                .orTimeout(10, TimeUnit.SECONDS)
+                .join();
+        });
+
+        assertEquals(List.of(second.getId()), claimedWhileLocked);
+    }
+
+    private Notification save(NotificationStatus status, LocalDateTime nextAttemptAt) {
+        return notificationRepository.save(Notification.builder()
+            .eventId(UUID.randomUUID().toString())
+            .title("Account updated")
+            .payload("Account updated")
+            .type(NotificationType.ACCOUNT_UPDATED)
+            .entityType("ACCOUNT")
+            .entityId(1L)
+            .status(status)
+            .retryCount(1)
+            .nextAttemptAt(nextAttemptAt)
+            .createdAt(now)
+            .build());
+    }
+}
@@ -0,0 +1,90 @@
+package com.digitinarytask.notification.service;
+
+import com.digitinarytask.notification.domain.Notification;
+import com.digitinarytask.notification.event.WebSocketSessionRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncNotificationDispatcherTest {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private WebSocketSessionRegistry sessionRegistry;
+
+    @Mock
+    private NotificationFrameEncoder frameEncoder;
+
+    private AsyncNotificationDispatcher dispatcher;
+    private Notification notification;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new AsyncNotificationDispatcher(messagingTemplate, sessionRegistry, frameEncoder);
+        ReflectionTestUtils.setField(dispatcher, "destination", "/queue/notifications");
+        ReflectionTestUtils.setField(dispatcher, "userPrefix", "/user");
+        notification = Notification.builder().id(1L).entityType("ACCOUNT").entityId(42L).build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sendsOneEncodedFrameToEachSubscribedSession() {
+        byte[] frame = "{}".getBytes();
+        when(sessionRegistry.findSubscribedSessions(notification)).thenReturn(Set.of("session-1", "session-2"));
+        when(frameEncoder.encode(notification)).thenReturn(frame);
+
+        dispatcher.dispatchNotification(notification);
+
+        ArgumentCaptor<String> destinations = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Message<?>> messages = ArgumentCaptor.forClass(Message.class);
+        verify(messagingTemplate, times(2)).send(destinations.capture(), messages.capture());
+        verify(frameEncoder, times(1)).encode(notification);
+
+        List<Message<?>> sent = messages.getAllValues();
+        Map<String, String> sessionByDestination = new HashMap<>();
+        for (int i = 0; i < sent.size(); i++) {
+            sessionByDestination.put(destinations.getAllValues().get(i), SimpMessageHeaderAccessor.getSessionId(sent.get(i).getHeaders()));
+        }
+        assertEquals(Map.of(
+            "/user/session-1/queue/notifications", "session-1",
+            "/user/session-2/queue/notifications", "session-2"), sessionByDestination);
+        sent.forEach(message -> assertSame(frame, message.getPayload()));
+    }
+
+    @Test
+    void skipsEncodingWhenNoSessionIsSubscribed() {
+        when(sessionRegistry.findSubscribedSessions(notification)).thenReturn(Set.of());
+
+        dispatcher.dispatchNotification(notification);
+
+        verifyNoInteractions(frameEncoder, messagingTemplate);
+    }
+
+    @Test
+    void propagatesSendFailures() {
+        when(sessionRegistry.findSubscribedSessions(notification)).thenReturn(Set.of("session-1"));
+        when(frameEncoder.encode(notification)).thenReturn(new byte[0]);
+        doThrow(new IllegalStateException("closed")).when(messagingTemplate).send(anyString(), any(Message.class));
+
+        assertThrows(IllegalStateException.class, () -> dispatcher.dispatchNotification(notification));
+    }
+}
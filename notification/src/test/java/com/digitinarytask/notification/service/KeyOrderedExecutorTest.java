@@ -0,0 +1,104 @@
+package com.digitinarytask.notification.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyOrderedExecutorTest {
+    // With two lanes, "a" (hash 97) and "b" (hash 98) land on different lanes
+    private static final String KEY_A = "a";
+    private static final String KEY_B = "b";
+
+    private KeyOrderedExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new KeyOrderedExecutor(2, "key-ordered-test-");
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void runsTasksForTheSameKeyInSubmissionOrder() {
+        List<Integer> completed = Collections.synchronizedList(new ArrayList<>());
+
+        CompletableFuture<?>[] tasks = IntStream.range(0, 500)
+            .mapToObj(i -> executor.submit(KEY_A, () -> {
+                if (i % 50 == 0) {
+                    Thread.yield();
+                }
+                completed.add(i);
+            }))
+            .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(tasks).join();
+
+        assertEquals(IntStream.range(0, 500).boxed().toList(), completed);
+    }
+
+    @Test
+    void submitAllKeepsTheOrderOfEachKeysItems() {
+        List<String> items = List.of("a1", "b1", "a2", "b2", "a3", "b3");
+        List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+
+        executor.submitAll(items, item -> item.substring(0, 1), batches::add).join();
+
+        assertEquals(2, batches.size());
+        assertTrue(batches.contains(List.of("a1", "a2", "a3")));
+        assertTrue(batches.contains(List.of("b1", "b2", "b3")));
+    }
+
+    @Test
+    void runsDifferentKeysInParallel() throws Exception {
+        CountDownLatch bStarted = new CountDownLatch(1);
+        CompletableFuture<Boolean> aSawB = new CompletableFuture<>();
+
+        // The task for "a" waits for the task for "b" to start, which a single lane could never do
+        executor.submit(KEY_A, () -> {
+            try {
+                aSawB.complete(bStarted.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                aSawB.completeExceptionally(e);
+            }
+        });
+        executor.submit(KEY_B, bStarted::countDown);
+
+        assertTrue(aSawB.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void submitAllFailsWhenAnyLaneFails() {
+        List<String> handled = Collections.synchronizedList(new ArrayList<>());
+
+        CompletableFuture<Void> result = executor.submitAll(List.of("a1", "b1"), item -> item.substring(0, 1), batch -> {
+            if (batch.contains("a1")) {
+                throw new IllegalStateException("lane failed");
+            }
+            handled.addAll(batch);
+        });
+
+        CompletionException exception = assertThrows(CompletionException.class, result::join);
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+        // The other lane still handles its batch
+        assertEquals(List.of("b1"), handled);
+    }
+
+    @Test
+    void rejectsParallelismBelowOne() {
+        assertThrows(IllegalArgumentException.class, () -> new KeyOrderedExecutor(0, "key-ordered-test-"));
+    }
+}
@@ -0,0 +1,117 @@
+package com.digitinarytask.notification.service;
+
+import com.digitinarytask.notification.repository.NotificationRepository;
+import com.digitinarytask.shared.event.NotificationEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationDeduplicatorTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void dropsProcessedEventsAndDuplicatesWithinTheBatch() {
+        NotificationDeduplicator deduplicator = deduplicator(Duration.ofMinutes(30), 100, false);
+        deduplicator.markProcessed(List.of(event("a")));
+
+        List<NotificationEvent> accepted = deduplicator.filterNew(List.of(event("a"), event("b"), event("b"), event(null)));
+
+        assertEquals(Arrays.asList("b", null), eventIds(accepted));
+    }
+
+    @Test
+    void acceptsEventsAgainOnceTheirWindowHasPassed() {
+        NotificationDeduplicator deduplicator = deduplicator(Duration.ZERO, 100, false);
+        deduplicator.markProcessed(List.of(event("a")));
+
+        assertEquals(List.of("a"), eventIds(deduplicator.filterNew(List.of(event("a")))));
+    }
+
+    @Test
+    void forgetsTheOldestEventsBeyondTheMaximumEntries() {
+        NotificationDeduplicator deduplicator = deduplicator(Duration.ofMinutes(30), 2, false);
+        deduplicator.markProcessed(List.of(event("a"), event("b"), event("c")));
+
+        assertEquals(List.of("a"), eventIds(deduplicator.filterNew(List.of(event("a"), event("b"), event("c")))));
+    }
+
+    @Test
+    void checksEventsMissingFromMemoryAgainstPersistedNotifications() {
+        NotificationDeduplicator deduplicator = deduplicator(Duration.ofMinutes(30), 100, true);
+        when(notificationRepository.findExistingEventIds(Set.of("a", "b"))).thenReturn(Set.of("a"));
+
+        assertEquals(List.of("b"), eventIds(deduplicator.filterNew(List.of(event("a"), event("b")))));
+
+        // The persisted id is remembered, so it is not looked up again
+        assertTrue(deduplicator.filterNew(List.of(event("a"))).isEmpty());
+        verify(notificationRepository, times(1)).findExistingEventIds(any());
+    }
+
+    @Test
+    void skipsThePersistentCheckWhenDisabled() {
+        NotificationDeduplicator deduplicator = deduplicator(Duration.ofMinutes(30), 100, false);
+
+        assertEquals(List.of("a"), eventIds(deduplicator.filterNew(List.of(event("a")))));
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    void remembersEventsOnlyAfterTheTransactionCommits() {
+        NotificationDeduplicator deduplicator = deduplicator(Duration.ofMinutes(30), 100, false);
+        TransactionSynchronizationManager.initSynchronization();
+
+        deduplicator.markProcessed(List.of(event("a")));
+        assertEquals(List.of("a"), eventIds(deduplicator.filterNew(List.of(event("a")))));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertTrue(deduplicator.filterNew(List.of(event("a"))).isEmpty());
+    }
+
+    @Test
+    void forgetsEventsWhoseTransactionRollsBack() {
+        NotificationDeduplicator deduplicator = deduplicator(Duration.ofMinutes(30), 100, false);
+        TransactionSynchronizationManager.initSynchronization();
+
+        deduplicator.markProcessed(List.of(event("a")));
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertEquals(List.of("a"), eventIds(deduplicator.filterNew(List.of(event("a")))));
+    }
+
+    private NotificationDeduplicator deduplicator(Duration window, int maxEntries, boolean persistentCheck) {
+        return new NotificationDeduplicator(notificationRepository, new SimpleMeterRegistry(), window, maxEntries,
+            persistentCheck);
+    }
+
+    private static NotificationEvent event(String eventId) {
+        return NotificationEvent.builder().eventId(eventId).build();
+    }
+
+    private static List<String> eventIds(List<NotificationEvent> events) {
+        return events.stream().map(NotificationEvent::getEventId).toList();
+    }
+}
@@ -0,0 +1,55 @@
+package com.digitinarytask.notification.service;
+
+import com.digitinarytask.notification.domain.Notification;
+import com.digitinarytask.notification.domain.enumeration.NotificationStatus;
+import com.digitinarytask.shared.enumeration.NotificationType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class NotificationFrameEncoderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void encodesTheNotificationAsJson() throws Exception {
+        Notification notification = Notification.builder()
+            .id(1L)
+            .title("Account updated")
+            .type(NotificationType.ACCOUNT_UPDATED)
+            .entityType("ACCOUNT")
+            .entityId(42L)
+            .status(NotificationStatus.PROCESSED)
+            .processedAt(LocalDateTime.now())
+            .build();
+
+        JsonNode frame = objectMapper.readTree(new NotificationFrameEncoder(objectMapper).encode(notification));
+
+        assertEquals(1L, frame.get("id").asLong());
+        assertEquals("Account updated", frame.get("title").asText());
+        assertEquals("ACCOUNT", frame.get("entityType").asText());
+        assertEquals(42L, frame.get("entityId").asLong());
+    }
+
+    @Test
+    void reportsNotificationsThatCannotBeEncoded() throws Exception {
+        ObjectMapper failingMapper = mock(ObjectMapper.class);
+        ObjectWriter failingWriter = mock(ObjectWriter.class);
+        when(failingMapper.writerFor(Notification.class)).thenReturn(failingWriter);
+        when(failingWriter.writeValueAsBytes(any())).thenThrow(new JsonProcessingException("broken") {});
+
+        NotificationFrameEncoder encoder = new NotificationFrameEncoder(failingMapper);
+        Notification notification = Notification.builder().id(7L).build();
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> encoder.encode(notification));
+        assertTrue(e.getMessage().contains("7"));
+    }
+}
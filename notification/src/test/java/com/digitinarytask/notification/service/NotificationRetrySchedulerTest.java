@@ -0,0 +1,153 @@
+package com.digitinarytask.notification.service;
+
+import com.digitinarytask.notification.domain.Notification;
+import com.digitinarytask.notification.domain.enumeration.NotificationStatus;
+import com.digitinarytask.notification.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationRetrySchedulerTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private AsyncNotificationDispatcher asyncDispatcher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private NotificationRetryScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        scheduler = new NotificationRetryScheduler(notificationRepository, asyncDispatcher,
+            new TransactionTemplate(transactionManager), Runnable::run);
+        ReflectionTestUtils.setField(scheduler, "maxAttempts", 3);
+        ReflectionTestUtils.setField(scheduler, "baseDelay", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(scheduler, "maxDelay", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(scheduler, "lease", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(scheduler, "batchSize", 2);
+    }
+
+    @Test
+    void scheduleRetryBacksOffExponentiallyWithJitterInTheUpperHalf() {
+        for (int retryCount = 0; retryCount < 3; retryCount++) {
+            long maxMillis = Math.min(10_000, 1_000L << retryCount);
+            for (int i = 0; i < 50; i++) {
+                Notification notification = notification(retryCount);
+                LocalDateTime before = LocalDateTime.now();
+
+                scheduler.scheduleRetry(notification, new IllegalStateException("down"));
+
+                assertEquals(NotificationStatus.RETRY, notification.getStatus());
+                assertEquals(retryCount + 1, notification.getRetryCount());
+                assertEquals("down", notification.getErrorMessage());
+                assertFalse(notification.getNextAttemptAt().isBefore(before.plus(Duration.ofMillis(maxMillis / 2))));
+                assertFalse(notification.getNextAttemptAt().isAfter(LocalDateTime.now().plus(Duration.ofMillis(maxMillis))));
+            }
+        }
+    }
+
+    @Test
+    void scheduleRetryCapsTheDelayAtTheMaximum() {
+        ReflectionTestUtils.setField(scheduler, "maxAttempts", 20);
+        Notification notification = notification(15);
+
+        scheduler.scheduleRetry(notification, new IllegalStateException("down"));
+
+        assertFalse(notification.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(10)));
+    }
+
+    @Test
+    void scheduleRetryFailsTheNotificationAfterTheMaximumAttempts() {
+        Notification notification = notification(3);
+
+        scheduler.scheduleRetry(notification, new IllegalStateException("down"));
+
+        assertEquals(NotificationStatus.FAILED, notification.getStatus());
+        assertEquals(3, notification.getRetryCount());
+        assertNull(notification.getNextAttemptAt());
+    }
+
+    @Test
+    void retryClaimsDueNotificationsWithALeaseAndStoresTheOutcome() {
+        Notification delivered = notification(1);
+        Notification failing = notification(1);
+        List<NotificationStatus> savedStatuses = new ArrayList<>();
+        List<LocalDateTime> savedLeases = new ArrayList<>();
+        when(notificationRepository.findDueNotifications(anyCollection(), any(), eq(PageRequest.of(0, 2))))
+            .thenReturn(List.of(delivered))
+            .thenReturn(List.of(failing));
+        when(notificationRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Notification> saved = invocation.getArgument(0);
+            saved.forEach(notification -> {
+                savedStatuses.add(notification.getStatus());
+                savedLeases.add(notification.getNextAttemptAt());
+            });
+            return saved;
+        });
+        doAnswer(invocation -> {
+            if (invocation.getArgument(0) == failing) {
+                throw new IllegalStateException("down");
+            }
+            return null;
+        }).when(asyncDispatcher).dispatchNotification(any());
+        LocalDateTime before = LocalDateTime.now();
+
+        scheduler.retryDueNotifications();
+        // A short batch ends the run
+        verify(notificationRepository, times(1)).findDueNotifications(anyCollection(), any(), any());
+
+        scheduler.retryDueNotifications();
+
+        // Each notification is saved once when claimed and once with its outcome
+        assertEquals(List.of(NotificationStatus.IN_PROGRESS, NotificationStatus.PROCESSED,
+            NotificationStatus.IN_PROGRESS, NotificationStatus.RETRY), savedStatuses);
+        assertFalse(savedLeases.get(0).isBefore(before.plusMinutes(1)));
+        assertNull(savedLeases.get(1));
+        assertNotNull(delivered.getProcessedAt());
+        assertEquals(2, failing.getRetryCount());
+        assertEquals("down", failing.getErrorMessage());
+    }
+
+    @Test
+    void retryKeepsClaimingWhileBatchesComeBackFull() {
+        when(notificationRepository.findDueNotifications(anyCollection(), any(), any()))
+            .thenReturn(List.of(notification(1), notification(1)))
+            .thenReturn(List.of());
+        when(notificationRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        scheduler.retryDueNotifications();
+
+        verify(notificationRepository, times(2)).findDueNotifications(anyCollection(), any(), any());
+        verify(asyncDispatcher, times(2)).dispatchNotification(any());
+    }
+
+    private static Notification notification(int retryCount) {
+        return Notification.builder()
+            .status(NotificationStatus.RETRY)
+            .retryCount(retryCount)
+            .nextAttemptAt(LocalDateTime.now())
+            .build();
+    }
+}
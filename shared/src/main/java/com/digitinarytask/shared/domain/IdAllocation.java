@@ -0,0 +1,21 @@
+package com.digitinarytask.shared.domain;
+
+/**
+ * Shared sequence allocation settings for entity identifiers.
+ * <p>
+ * Every {@code @SequenceGenerator} should use {@link #ALLOCATION_SIZE}, so Hibernate reserves a block
+ * of identifiers per sequence call instead of making one round trip per insert. The optimizer
+ * that hands out the block ({@code pooled} or {@code pooled-lo}) is chosen at runtime with the
+ * {@code hibernate.id.optimizer.pooled.preferred} property.
+ */
+public final class IdAllocation {
+
+    /**
+     * Number of identifiers reserved per sequence call. It matches the JDBC batch size so that
+     * a full insert batch needs at most one sequence call.
+     */
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdAllocation() {
+    }
+}
@@ -1,5 +1,9 @@
 package com.digitinarytask.shared.enumeration;
 
+/**
+ * Binary notification events carry the ordinal of the type, so new constants go at the end and
+ * existing ones are never reordered or removed.
+ */
 public enum NotificationType {
     CUSTOMER_CREATED("Customer created", "A new customer has been created"),
     CUSTOMER_UPDATED("Customer updated", "Customer information has been updated"),
@@ -7,7 +11,8 @@ public enum NotificationType {
     ACCOUNT_CREATED("Account created", "A new account has been created"),
     ACCOUNT_UPDATED("Account updated", "Account information has been updated"),
     ACCOUNT_DELETED("Account deleted", "Account has been deleted"),
-    ACCOUNT_BALANCE_UPDATED("Account balance updated", "Account balance has been updated");
+    ACCOUNT_BALANCE_UPDATED("Account balance updated", "Account balance has been updated"),
+    ACCOUNT_BALANCES_POSTED("Account balances posted", "A batch of balance postings has been applied");
 
     private String message;
     private String title;
@@ -38,4 +38,12 @@ public class NotificationEvent implements Serializable {
         this.title = title;
         this.timestamp = timestamp;
     }
+
+    /**
+     * Kafka record key, {@code entityType:entityId}. Events about the same entity share a partition,
+     * so they are consumed in the order they were published.
+     */
+    public String partitionKey() {
+        return entityType + ":" + entityId;
+    }
 }
@@ -0,0 +1,198 @@
+package com.digitinarytask.shared.event.codec;
+
+import com.digitinarytask.shared.enumeration.NotificationType;
+import com.digitinarytask.shared.event.NotificationEvent;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Compact binary encoding of {@link NotificationEvent}.
+ * <p>
+ * Version 1 layout:
+ * <ol>
+ *     <li>format version, one byte</li>
+ *     <li>presence bits, one byte: bit {@code i} is set when the {@code i}th field below is not null</li>
+ *     <li>{@code eventId}, {@code type}, {@code entityType}, {@code entityId}, {@code title},
+ *     {@code payload}, {@code timestamp}, the present ones only</li>
+ * </ol>
+ * Strings are a varint byte length followed by UTF-8. {@code type} is the varint ordinal of the
+ * enum, so constants may only be appended to {@link NotificationType}. {@code entityId} is a zigzag
+ * varint. {@code timestamp} is a zigzag varint of microseconds since the epoch, reading the local
+ * date-time as UTC; anything finer than a microsecond is dropped.
+ */
+public final class NotificationEventCodec {
+    public static final byte VERSION = 1;
+
+    private static final NotificationType[] TYPES = NotificationType.values();
+
+    private static final int EVENT_ID = 1;
+    private static final int TYPE = 1 << 1;
+    private static final int ENTITY_TYPE = 1 << 2;
+    private static final int ENTITY_ID = 1 << 3;
+    private static final int TITLE = 1 << 4;
+    private static final int PAYLOAD = 1 << 5;
+    private static final int TIMESTAMP = 1 << 6;
+
+    private NotificationEventCodec() {
+    }
+
+    public static byte[] encode(NotificationEvent event) {
+        int present = (event.getEventId() != null ? EVENT_ID : 0)
+            | (event.getType() != null ? TYPE : 0)
+            | (event.getEntityType() != null ? ENTITY_TYPE : 0)
+            | (event.getEntityId() != null ? ENTITY_ID : 0)
+            | (event.getTitle() != null ? TITLE : 0)
+            | (event.getPayload() != null ? PAYLOAD : 0)
+            | (event.getTimestamp() != null ? TIMESTAMP : 0);
+
+        Writer out = new Writer(64 + length(event.getPayload()));
+        out.write(VERSION);
+        out.write(present);
+        if ((present & EVENT_ID) != 0) {
+            out.writeString(event.getEventId());
+        }
+        if ((present & TYPE) != 0) {
+            out.writeVarLong(event.getType().ordinal());
+        }
+        if ((present & ENTITY_TYPE) != 0) {
+            out.writeString(event.getEntityType());
+        }
+        if ((present & ENTITY_ID) != 0) {
+            out.writeVarLong(zigzag(event.getEntityId()));
+        }
+        if ((present & TITLE) != 0) {
+            out.writeString(event.getTitle());
+        }
+        if ((present & PAYLOAD) != 0) {
+            out.writeString(event.getPayload());
+        }
+        if ((present & TIMESTAMP) != 0) {
+            out.writeVarLong(zigzag(epochMicros(event.getTimestamp())));
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the data is truncated, malformed or of an unknown version
+     */
+    public static NotificationEvent decode(byte[] data) {
+        Reader in = new Reader(data);
+        int version = in.read();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported notification event format version: " + version);
+        }
+
+        int present = in.read();
+        NotificationEvent event = new NotificationEvent();
+        if ((present & EVENT_ID) != 0) {
+            event.setEventId(in.readString());
+        }
+        if ((present & TYPE) != 0) {
+            long ordinal = in.readVarLong();
+            if (ordinal < 0 || ordinal >= TYPES.length) {
+                throw new IllegalArgumentException("Unknown notification type ordinal: " + ordinal);
+            }
+            event.setType(TYPES[(int) ordinal]);
+        }
+        if ((present & ENTITY_TYPE) != 0) {
+            event.setEntityType(in.readString());
+        }
+        if ((present & ENTITY_ID) != 0) {
+            event.setEntityId(unzigzag(in.readVarLong()));
+        }
+        if ((present & TITLE) != 0) {
+            event.setTitle(in.readString());
+        }
+        if ((present & PAYLOAD) != 0) {
+            event.setPayload(in.readString());
+        }
+        if ((present & TIMESTAMP) != 0) {
+            event.setTimestamp(fromEpochMicros(unzigzag(in.readVarLong())));
+        }
+        return event;
+    }
+
+    private static long epochMicros(LocalDateTime timestamp) {
+        return Math.addExact(Math.multiplyExact(timestamp.toEpochSecond(ZoneOffset.UTC), 1_000_000L),
+            timestamp.getNano() / 1_000);
+    }
+
+    private static LocalDateTime fromEpochMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+            (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    private static final class Writer extends ByteArrayOutputStream {
+
+        Writer(int size) {
+            super(size);
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            write(bytes, 0, bytes.length);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] data;
+        private int position;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        int read() {
+            if (position >= data.length) {
+                throw new IllegalArgumentException("Truncated notification event");
+            }
+            return data[position++] & 0xFF;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = read();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in notification event");
+        }
+
+        String readString() {
+            long length = readVarLong();
+            if (length < 0 || length > data.length - position) {
+                throw new IllegalArgumentException("Truncated notification event");
+            }
+            String value = new String(data, position, (int) length, StandardCharsets.UTF_8);
+            position += (int) length;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.digitinarytask.shared.event.codec;
+
+import com.digitinarytask.shared.event.NotificationEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Reads {@link NotificationEvent}s in whichever format the record's content type header names.
+ * Records without the header are read as JSON, so events from producers that predate the binary
+ * format are still accepted.
+ */
+public class NotificationEventDeserializer implements Deserializer<NotificationEvent> {
+    private final JsonDeserializer<NotificationEvent> json = new JsonDeserializer<>(NotificationEvent.class);
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        json.configure(configs, isKey);
+    }
+
+    @Override
+    public NotificationEvent deserialize(String topic, byte[] data) {
+        return json.deserialize(topic, data);
+    }
+
+    @Override
+    public NotificationEvent deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        Header header = headers.lastHeader(NotificationEventWireFormat.CONTENT_TYPE_HEADER);
+        NotificationEventWireFormat format = header == null
+            ? NotificationEventWireFormat.JSON
+            : NotificationEventWireFormat.fromContentType(header.value());
+        if (format == null) {
+            throw new SerializationException("Unsupported notification event content type: "
+                + new String(header.value(), StandardCharsets.UTF_8));
+        }
+
+        if (format == NotificationEventWireFormat.JSON) {
+            return json.deserialize(topic, headers, data);
+        }
+        try {
+            return NotificationEventCodec.decode(data);
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException("Malformed binary notification event on " + topic, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        json.close();
+    }
+}
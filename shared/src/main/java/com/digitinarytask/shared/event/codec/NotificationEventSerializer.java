@@ -0,0 +1,54 @@
+package com.digitinarytask.shared.event.codec;
+
+import com.digitinarytask.shared.event.NotificationEvent;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.Map;
+
+/**
+ * Writes {@link NotificationEvent}s in the format set by {@link #WIRE_FORMAT_CONFIG} ({@code binary}
+ * unless configured otherwise) and names it in the record's content type header.
+ * <p>
+ * Without headers to name the format, events are always written as JSON.
+ */
+public class NotificationEventSerializer implements Serializer<NotificationEvent> {
+    public static final String WIRE_FORMAT_CONFIG = "notification.event.wire-format";
+
+    private final JsonSerializer<NotificationEvent> json = new JsonSerializer<>();
+    private NotificationEventWireFormat wireFormat = NotificationEventWireFormat.BINARY;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        Object configured = configs.get(WIRE_FORMAT_CONFIG);
+        if (configured instanceof NotificationEventWireFormat format) {
+            wireFormat = format;
+        } else if (configured != null) {
+            wireFormat = NotificationEventWireFormat.of(configured.toString());
+        }
+        json.configure(configs, isKey);
+    }
+
+    @Override
+    public byte[] serialize(String topic, NotificationEvent data) {
+        return json.serialize(topic, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, NotificationEvent data) {
+        if (data == null) {
+            return null;
+        }
+        headers.remove(NotificationEventWireFormat.CONTENT_TYPE_HEADER);
+        headers.add(NotificationEventWireFormat.CONTENT_TYPE_HEADER, wireFormat.headerValue());
+        return wireFormat == NotificationEventWireFormat.BINARY
+            ? NotificationEventCodec.encode(data)
+            : json.serialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        json.close();
+    }
+}
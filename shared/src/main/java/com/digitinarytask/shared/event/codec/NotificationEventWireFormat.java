@@ -0,0 +1,51 @@
+package com.digitinarytask.shared.event.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Encodings of {@link com.digitinarytask.shared.event.NotificationEvent} on Kafka. The encoding of
+ * each record is named by its {@link #CONTENT_TYPE_HEADER} header.
+ */
+public enum NotificationEventWireFormat {
+    JSON("application/json"),
+    BINARY("application/vnd.notification-event.v" + NotificationEventCodec.VERSION + "+binary");
+
+    public static final String CONTENT_TYPE_HEADER = "contentType";
+
+    private final String contentType;
+    private final byte[] headerValue;
+
+    NotificationEventWireFormat(String contentType) {
+        this.contentType = contentType;
+        this.headerValue = contentType.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    byte[] headerValue() {
+        return headerValue.clone();
+    }
+
+    /**
+     * Looks a format up by name, ignoring case, as written in configuration.
+     */
+    public static NotificationEventWireFormat of(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * The format with the given content type, or {@code null} if there is none.
+     */
+    static NotificationEventWireFormat fromContentType(byte[] headerValue) {
+        String contentType = new String(headerValue, StandardCharsets.UTF_8);
+        for (NotificationEventWireFormat format : values()) {
+            if (format.contentType.equalsIgnoreCase(contentType)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
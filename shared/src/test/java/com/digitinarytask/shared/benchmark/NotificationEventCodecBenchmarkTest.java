@@ -0,0 +1,120 @@
+package com.digitinarytask.shared.benchmark;
+
+import com.digitinarytask.shared.enumeration.NotificationType;
+import com.digitinarytask.shared.event.NotificationEvent;
+import com.digitinarytask.shared.event.codec.NotificationEventDeserializer;
+import com.digitinarytask.shared.event.codec.NotificationEventSerializer;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the JSON and binary encodings of {@link NotificationEvent}: bytes per event, and the cost of
+ * encoding and decoding one through the Kafka serializer and deserializer.
+ * <p>
+ * Run with {@code mvn test -Pbenchmark}. JMH runs in the test JVM rather than in forks, so treat the
+ * timings as relative to each other.
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NotificationEventCodecBenchmarkTest {
+    private static final String TOPIC = "notification-topic";
+
+    private NotificationEventSerializer binarySerializer;
+    private NotificationEventSerializer jsonSerializer;
+    private NotificationEventDeserializer deserializer;
+    private NotificationEvent event;
+    private Headers binaryHeaders;
+    private Headers jsonHeaders;
+    private byte[] binary;
+    private byte[] json;
+
+    @Setup
+    public void setUp() {
+        binarySerializer = serializer("binary");
+        jsonSerializer = serializer("json");
+        deserializer = new NotificationEventDeserializer();
+        event = NotificationEvent.builder()
+            .eventId("3f2b7c1e-9a4d-4e8b-b1f0-6c5d2a7e8f90")
+            .type(NotificationType.ACCOUNT_BALANCE_UPDATED)
+            .entityType("ACCOUNT")
+            .entityId(1_048_576L)
+            .title(NotificationType.ACCOUNT_BALANCE_UPDATED.getTitle())
+            .payload("{\"id\":1048576,\"accountNumber\":\"1234567890\",\"balance\":1500.25}")
+            .timestamp(LocalDateTime.of(2024, 10, 5, 13, 45, 12, 123_456_000))
+            .build();
+
+        binaryHeaders = new RecordHeaders();
+        binary = binarySerializer.serialize(TOPIC, binaryHeaders, event);
+        jsonHeaders = new RecordHeaders();
+        json = jsonSerializer.serialize(TOPIC, jsonHeaders, event);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return binarySerializer.serialize(TOPIC, new RecordHeaders(), event);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() {
+        return jsonSerializer.serialize(TOPIC, new RecordHeaders(), event);
+    }
+
+    @Benchmark
+    public NotificationEvent decodeBinary() {
+        return deserializer.deserialize(TOPIC, binaryHeaders, binary);
+    }
+
+    @Benchmark
+    public NotificationEvent decodeJson() {
+        return deserializer.deserialize(TOPIC, jsonHeaders, json);
+    }
+
+    @Test
+    void compareEncodings() throws RunnerException {
+        setUp();
+        System.out.printf("Notification event size: binary %d bytes, JSON %d bytes (%.0f%%)%n",
+            binary.length, json.length, 100.0 * binary.length / json.length);
+        assertTrue(binary.length < json.length);
+
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + "\\.")
+            .forks(0)
+            .warmupIterations(3)
+            .warmupTime(TimeValue.seconds(1))
+            .measurementIterations(5)
+            .measurementTime(TimeValue.seconds(1))
+            .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        assertFalse(results.isEmpty());
+        for (RunResult result : results) {
+            System.out.printf("%-14s %10.1f ns/op%n", result.getParams().getBenchmark()
+                .substring(getClass().getName().length() + 1), result.getPrimaryResult().getScore());
+        }
+    }
+
+    private static NotificationEventSerializer serializer(String wireFormat) {
+        NotificationEventSerializer serializer = new NotificationEventSerializer();
+        serializer.configure(Map.of(NotificationEventSerializer.WIRE_FORMAT_CONFIG, wireFormat), false);
+        return serializer;
+    }
+}
@@ -0,0 +1,83 @@
+package com.digitinarytask.shared.event.codec;
+
+import com.digitinarytask.shared.enumeration.NotificationType;
+import com.digitinarytask.shared.event.NotificationEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationEventCodecTest {
+
+    @Test
+    void roundTripsEveryField() {
+        NotificationEvent event = event(42L, LocalDateTime.of(2024, 10, 5, 13, 45, 12, 123_456_000));
+
+        assertEquals(event, NotificationEventCodec.decode(NotificationEventCodec.encode(event)));
+    }
+
+    @Test
+    void roundTripsNullFields() {
+        NotificationEvent event = new NotificationEvent();
+        event.setTitle("only a title");
+
+        byte[] encoded = NotificationEventCodec.encode(event);
+
+        assertEquals(event, NotificationEventCodec.decode(encoded));
+        assertEquals(2 + 1 + "only a title".length(), encoded.length);
+    }
+
+    @Test
+    void roundTripsNegativeIdsAndTimestampsBeforeTheEpoch() {
+        NotificationEvent event = event(-7L, LocalDateTime.of(1960, 1, 1, 0, 0, 0, 1_000));
+
+        assertEquals(event, NotificationEventCodec.decode(NotificationEventCodec.encode(event)));
+    }
+
+    @Test
+    void roundTripsNonAsciiText() {
+        NotificationEvent event = event(1L, LocalDateTime.of(2024, 1, 1, 0, 0));
+        event.setPayload("{\"name\":\"Zoë – مرحبا – 😀\"}");
+
+        assertEquals(event, NotificationEventCodec.decode(NotificationEventCodec.encode(event)));
+    }
+
+    @Test
+    void truncatesTimestampsToMicroseconds() {
+        NotificationEvent event = event(1L, LocalDateTime.of(2024, 1, 1, 0, 0, 0, 123_456_789));
+
+        NotificationEvent decoded = NotificationEventCodec.decode(NotificationEventCodec.encode(event));
+
+        assertEquals(LocalDateTime.of(2024, 1, 1, 0, 0, 0, 123_456_000), decoded.getTimestamp());
+    }
+
+    @Test
+    void rejectsUnknownVersion() {
+        byte[] encoded = NotificationEventCodec.encode(event(1L, LocalDateTime.now()));
+        encoded[0] = 2;
+
+        assertThrows(IllegalArgumentException.class, () -> NotificationEventCodec.decode(encoded));
+    }
+
+    @Test
+    void rejectsTruncatedData() {
+        byte[] encoded = NotificationEventCodec.encode(event(1L, LocalDateTime.now()));
+
+        assertThrows(IllegalArgumentException.class,
+            () -> NotificationEventCodec.decode(Arrays.copyOf(encoded, encoded.length - 1)));
+    }
+
+    static NotificationEvent event(Long entityId, LocalDateTime timestamp) {
+        return NotificationEvent.builder()
+            .eventId("3f2b7c1e-9a4d-4e8b-b1f0-6c5d2a7e8f90")
+            .type(NotificationType.ACCOUNT_BALANCE_UPDATED)
+            .entityType("ACCOUNT")
+            .entityId(entityId)
+            .title(NotificationType.ACCOUNT_BALANCE_UPDATED.getTitle())
+            .payload("{\"id\":" + entityId + ",\"accountNumber\":\"1234567890\",\"balance\":1500.25}")
+            .timestamp(timestamp)
+            .build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.digitinarytask.shared.event.codec;
+
+import com.digitinarytask.shared.event.NotificationEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationEventSerializerTest {
+    private static final String TOPIC = "notification-topic";
+
+    private final NotificationEventDeserializer deserializer = new NotificationEventDeserializer();
+    private final NotificationEvent event = NotificationEventCodecTest.event(42L, LocalDateTime.of(2024, 10, 5, 13, 45, 12));
+
+    @Test
+    void writesBinaryByDefault() {
+        NotificationEventSerializer serializer = serializer(Map.of());
+        Headers headers = new RecordHeaders();
+
+        byte[] data = serializer.serialize(TOPIC, headers, event);
+
+        assertEquals(NotificationEventWireFormat.BINARY.getContentType(), contentType(headers));
+        assertEquals(NotificationEventCodec.VERSION, data[0]);
+        assertEquals(event, deserializer.deserialize(TOPIC, headers, data));
+    }
+
+    @Test
+    void writesJsonWhenConfigured() {
+        NotificationEventSerializer serializer = serializer(Map.of(NotificationEventSerializer.WIRE_FORMAT_CONFIG, "json"));
+        Headers headers = new RecordHeaders();
+
+        byte[] data = serializer.serialize(TOPIC, headers, event);
+
+        assertEquals(NotificationEventWireFormat.JSON.getContentType(), contentType(headers));
+        assertEquals('{', data[0]);
+        assertEquals(event, deserializer.deserialize(TOPIC, headers, data));
+    }
+
+    @Test
+    void readsJsonWithoutContentType() {
+        byte[] data = serializer(Map.of(NotificationEventSerializer.WIRE_FORMAT_CONFIG, "json"))
+            .serialize(TOPIC, new RecordHeaders(), event);
+
+        assertEquals(event, deserializer.deserialize(TOPIC, new RecordHeaders(), data));
+    }
+
+    @Test
+    void rejectsUnknownContentType() {
+        Headers headers = new RecordHeaders();
+        headers.add(NotificationEventWireFormat.CONTENT_TYPE_HEADER, "text/plain".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(SerializationException.class, () -> deserializer.deserialize(TOPIC, headers, new byte[]{1}));
+    }
+
+    @Test
+    void binaryIsSmallerThanJson() {
+        byte[] binary = serializer(Map.of()).serialize(TOPIC, new RecordHeaders(), event);
+        byte[] json = serializer(Map.of(NotificationEventSerializer.WIRE_FORMAT_CONFIG, "json"))
+            .serialize(TOPIC, new RecordHeaders(), event);
+
+        assertTrue(binary.length < json.length, binary.length + " bytes binary, " + json.length + " bytes JSON");
+    }
+
+    private static NotificationEventSerializer serializer(Map<String, ?> configs) {
+        NotificationEventSerializer serializer = new NotificationEventSerializer();
+        serializer.configure(configs, false);
+        return serializer;
+    }
+
+    private static String contentType(Headers headers) {
+        return new String(headers.lastHeader(NotificationEventWireFormat.CONTENT_TYPE_HEADER).value(), StandardCharsets.UTF_8);
+    }
+}